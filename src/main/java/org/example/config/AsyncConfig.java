@@ -1,26 +1,83 @@
 package org.example.config;
 
 import java.util.concurrent.Executor;
+import org.example.datasource.Workload;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 /**
  * Configuration for asynchronous task execution. Enables @Async annotation support for
- * non-blocking operations like AI summary generation.
+ * non-blocking operations like AI summary generation. With {@code spring.threads.virtual.enabled}
+ * (the virtual-threads profile) @Async work runs on virtual threads.
  */
 @Configuration
 @EnableAsync
 public class AsyncConfig {
 
     @Bean(name = "taskExecutor")
-    public Executor taskExecutor() {
+    public Executor taskExecutor(@Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        if (virtualThreads) {
+            // a virtual thread per task: blocking on OpenAI costs no platform thread. The limit keeps a
+            // burst of summaries off the batch connection pool; beyond it tasks are rejected, like the
+            // platform pool does once its queue is full.
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("async-");
+            executor.setVirtualThreads(true);
+            executor.setTaskDecorator(Workload.BATCH::wrap);
+            return new RejectingConcurrencyLimitExecutor(executor, 100);
+        }
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
         executor.setCorePoolSize(2);
         executor.setMaxPoolSize(5);
         executor.setQueueCapacity(100);
         executor.setThreadNamePrefix("async-");
+        executor.setTaskDecorator(Workload.BATCH::wrap); // AI summaries use the batch pool
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Runs the LLM round trips of the AI endpoints, so a slow OpenAI call holds one of these threads instead
+     * of a servlet thread. When it is saturated the AI endpoints answer 503 rather than queue without bound.
+     * On virtual threads the only bound is {@code task.ai.virtual-threads.max-concurrent-calls}.
+     */
+    @Bean(name = "aiExecutor")
+    public AsyncTaskExecutor aiExecutor(
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads,
+            @Value("${task.ai.virtual-threads.max-concurrent-calls:1000}") int maxConcurrentCalls) {
+        if (virtualThreads) {
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("ai-");
+            executor.setVirtualThreads(true);
+            // rejects (503) at the limit; setConcurrencyLimit would block the request thread instead
+            return new RejectingConcurrencyLimitExecutor(executor, maxConcurrentCalls);
+        }
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(32);
+        executor.setMaxPoolSize(32);
+        executor.setAllowCoreThreadTimeOut(true);
+        executor.setQueueCapacity(200);
+        executor.setThreadNamePrefix("ai-");
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Runs Spring MVC async work such as StreamingResponseBody task exports. Bounded, so a burst of
+     * exports cannot spawn a thread (and hold a DB connection) per request without limit. The batch pool
+     * ({@code task.datasource.pools.batch.maximum-pool-size}) must hold a connection for each of these threads.
+     */
+    @Bean(name = "mvcAsyncExecutor")
+    public ThreadPoolTaskExecutor mvcAsyncExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(2);
+        executor.setMaxPoolSize(4);
+        executor.setQueueCapacity(50);
+        executor.setThreadNamePrefix("mvc-async-");
+        executor.setTaskDecorator(Workload.BATCH::wrap); // exports use the batch pool
         executor.initialize();
         return executor;
     }
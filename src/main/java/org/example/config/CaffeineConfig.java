@@ -4,6 +4,8 @@ import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
 import java.util.concurrent.TimeUnit;
 import org.example.model.AppUser;
+import org.example.model.Task;
+import org.example.model.TaskCacheKey;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -17,4 +19,13 @@ public class CaffeineConfig {
                 .expireAfterWrite(10, TimeUnit.MINUTES) // TTL for user entries
                 .build();
     }
+
+    @Bean
+    public Cache<TaskCacheKey, Task> taskByOwnerAndIdCache() {
+        return Caffeine.newBuilder()
+                .maximumSize(50_000) // bounded; LRU-ish eviction beyond this
+                .expireAfterWrite(5, TimeUnit.MINUTES) // safety net, writes evict explicitly
+                .recordStats() // hit/miss counters for /api/admin/cache/tasks
+                .build();
+    }
 }
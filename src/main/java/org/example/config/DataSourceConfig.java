@@ -0,0 +1,124 @@
+package org.example.config;
+
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import javax.sql.DataSource;
+import org.example.datasource.ReadYourWritesTracker;
+import org.example.datasource.RoutingDataSource;
+import org.example.datasource.TaskDataSourceProperties;
+import org.example.datasource.Workload;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+/**
+ * One primary pool per {@link Workload} plus optional read replicas from {@code task.datasource.replicas}.
+ *
+ * <p>The interactive pool is configured by {@code spring.datasource.hikari}; the other pools
+ * start from the same settings and override them under {@code task.datasource.pools.<workload>}. Each pool
+ * reports its connection wait time as {@code hikaricp.connections.acquire{pool=tms-<workload>}}.
+ *
+ * <p>The application-wide {@link DataSource} (Jdbi, JPA, Flyway) is a lazy proxy over the routing datasource:
+ * a physical connection is only taken on the first statement, after the transaction's read-only flag is set.
+ */
+@Configuration
+@EnableConfigurationProperties(TaskDataSourceProperties.class)
+public class DataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties(prefix = "spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource pool = properties
+                .initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        pool.setPoolName(Workload.INTERACTIVE.poolName());
+        return pool;
+    }
+
+    @Bean
+    @ConfigurationProperties(prefix = "task.datasource.pools.consumer")
+    public HikariDataSource consumerDataSource(@Qualifier("primaryDataSource") HikariDataSource primaryDataSource) {
+        return workloadPool(primaryDataSource, Workload.CONSUMER);
+    }
+
+    @Bean
+    @ConfigurationProperties(prefix = "task.datasource.pools.batch")
+    public HikariDataSource batchDataSource(@Qualifier("primaryDataSource") HikariDataSource primaryDataSource) {
+        return workloadPool(primaryDataSource, Workload.BATCH);
+    }
+
+    @Bean
+    @ConfigurationProperties(prefix = "task.datasource.pools.relay")
+    public HikariDataSource relayDataSource(@Qualifier("primaryDataSource") HikariDataSource primaryDataSource) {
+        return workloadPool(primaryDataSource, Workload.RELAY);
+    }
+
+    @Bean
+    public ReadYourWritesTracker readYourWritesTracker(TaskDataSourceProperties properties) {
+        return new ReadYourWritesTracker(properties.readYourWritesWindow(), Ticker.systemTicker());
+    }
+
+    @Bean(destroyMethod = "close")
+    public RoutingDataSource routingDataSource(
+            @Qualifier("primaryDataSource") HikariDataSource primaryDataSource,
+            @Qualifier("consumerDataSource") HikariDataSource consumerDataSource,
+            @Qualifier("batchDataSource") HikariDataSource batchDataSource,
+            @Qualifier("relayDataSource") HikariDataSource relayDataSource,
+            TaskDataSourceProperties properties,
+            ReadYourWritesTracker readYourWritesTracker,
+            ObjectProvider<MeterRegistry> meterRegistry) {
+        List<HikariDataSource> replicas = new ArrayList<>();
+        for (int i = 0; i < properties.replicas().size(); i++) {
+            TaskDataSourceProperties.Replica replica = properties.replicas().get(i);
+
+            // same pool sizing and driver settings as the primary
+            HikariConfig config = new HikariConfig();
+            primaryDataSource.copyStateTo(config);
+            config.setJdbcUrl(replica.url());
+            if (replica.username() != null) {
+                config.setUsername(replica.username());
+            }
+            if (replica.password() != null) {
+                config.setPassword(replica.password());
+            }
+            config.setPoolName("tms-replica-" + i);
+            config.setReadOnly(true);
+            // not beans, so Boot does not bind their metrics for us
+            meterRegistry.ifAvailable(
+                    registry -> config.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry)));
+            replicas.add(new HikariDataSource(config));
+        }
+        Map<Workload, HikariDataSource> primaries = Map.of(
+                Workload.INTERACTIVE, primaryDataSource,
+                Workload.CONSUMER, consumerDataSource,
+                Workload.BATCH, batchDataSource,
+                Workload.RELAY, relayDataSource);
+        return new RoutingDataSource(primaries, replicas, readYourWritesTracker);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(RoutingDataSource routingDataSource) {
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+
+    private static HikariDataSource workloadPool(HikariDataSource primaryDataSource, Workload workload) {
+        HikariDataSource pool = new HikariDataSource();
+        primaryDataSource.copyStateTo(pool);
+        pool.setPoolName(workload.poolName());
+        return pool;
+    }
+}
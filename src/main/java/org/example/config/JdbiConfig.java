@@ -1,18 +1,49 @@
 package org.example.config;
 
+import com.github.benmanes.caffeine.cache.Caffeine;
 import javax.sql.DataSource;
+import org.example.dao.TaskEnumCodesPlugin;
+import org.jdbi.v3.cache.caffeine.CaffeineCacheBuilder;
 import org.jdbi.v3.core.Jdbi;
+import org.jdbi.v3.core.cache.JdbiCacheBuilder;
+import org.jdbi.v3.core.statement.ColonPrefixSqlParser;
+import org.jdbi.v3.core.statement.SqlStatements;
+import org.jdbi.v3.spring5.SpringConnectionFactory;
 import org.jdbi.v3.sqlobject.SqlObjectPlugin;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
-/** Jdbi bootstrap: installs SqlObject plugin for @SqlQuery/@SqlUpdate. */
+/**
+ * Jdbi bootstrap: installs SqlObject plugin for @SqlQuery/@SqlUpdate and the task enum codes.
+ *
+ * <p>Handles borrow their connection through Spring, so inside a {@code @Transactional} method they use the
+ * transaction's connection: a task change and its outbox event commit (or roll back) together. All Jdbi
+ * calls of one transaction share a single Handle (see {@link SpringTransactionHandleScope}), so a service
+ * call checks out exactly one pooled connection.
+ *
+ * <p>Rendered templates and parsed statements are kept in Caffeine caches sized for the dynamic filter and
+ * patch SQL as well as the fixed DAO queries, so a hot query is rendered and parsed once per process; the
+ * server-side plan reuse that follows is pgjdbc's {@code prepareThreshold} (see application-*.yml).
+ */
 @Configuration
 public class JdbiConfig {
+
+    /** Distinct SQL strings we expect: DAO statements plus filter / patch / search combinations. */
+    static final int STATEMENT_CACHE_SIZE = 2_000;
+
     @Bean
     public Jdbi jdbi(DataSource dataSource) {
-        Jdbi jdbi = Jdbi.create(dataSource);
+        Jdbi jdbi = Jdbi.create(new SpringConnectionFactory(dataSource));
+        jdbi.setHandleScope(new SpringTransactionHandleScope(jdbi));
+        SqlStatements statements = jdbi.getConfig(SqlStatements.class);
+        statements.setTemplateCache(statementCache());
+        statements.setSqlParser(new ColonPrefixSqlParser(statementCache()));
         jdbi.installPlugin(new SqlObjectPlugin());
+        jdbi.installPlugin(new TaskEnumCodesPlugin());
         return jdbi;
     }
+
+    private static JdbiCacheBuilder statementCache() {
+        return new CaffeineCacheBuilder(Caffeine.newBuilder()).maxSize(STATEMENT_CACHE_SIZE);
+    }
 }
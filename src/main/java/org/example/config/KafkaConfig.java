@@ -1,20 +1,33 @@
 package org.example.config;
 
+import java.time.Duration;
 import java.util.HashMap;
 import java.util.Map;
+import org.apache.kafka.clients.consumer.Consumer;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.apache.kafka.clients.producer.ProducerConfig;
 import org.apache.kafka.common.serialization.StringDeserializer;
 import org.apache.kafka.common.serialization.StringSerializer;
+import org.example.datasource.Workload;
 import org.example.kafka.event.TaskEvent;
+import org.example.kafka.producer.TaskEventProducerProperties;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.kafka.annotation.EnableKafka;
 import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.config.ContainerPostProcessor;
 import org.springframework.kafka.core.*;
+import org.springframework.kafka.listener.AbstractMessageListenerContainer;
+import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.kafka.listener.DefaultErrorHandler;
+import org.springframework.kafka.listener.RecordInterceptor;
 import org.springframework.kafka.support.serializer.JsonDeserializer;
 import org.springframework.kafka.support.serializer.JsonSerializer;
+import org.springframework.util.backoff.ExponentialBackOff;
 
 /**
  * Kafka configuration for producing and consuming TaskEvent messages. Uses JsonSerializer /
@@ -22,6 +35,7 @@ import org.springframework.kafka.support.serializer.JsonSerializer;
  */
 @Configuration
 @EnableKafka
+@EnableConfigurationProperties(TaskEventProducerProperties.class)
 public class KafkaConfig {
 
     @Value("${spring.kafka.bootstrap-servers}")
@@ -31,15 +45,20 @@ public class KafkaConfig {
     // Producer Configuration (String key, TaskEvent value)
     // =======================================================
     @Bean
-    public ProducerFactory<String, TaskEvent> taskEventProducerFactory() {
+    public ProducerFactory<String, TaskEvent> taskEventProducerFactory(TaskEventProducerProperties producer) {
         Map<String, Object> props = new HashMap<>();
         props.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
         props.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
         props.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, JsonSerializer.class);
 
-        // Optional: enable idempotent producers for stronger delivery guarantees
-        // props.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
-        // props.put(ProducerConfig.ACKS_CONFIG, "all");
+        // throughput / durability profile, see task.kafka.producer in application.yml
+        props.put(ProducerConfig.ACKS_CONFIG, producer.acks());
+        props.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, producer.enableIdempotence());
+        props.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, producer.compressionType());
+        props.put(ProducerConfig.BATCH_SIZE_CONFIG, producer.batchSize());
+        props.put(ProducerConfig.LINGER_MS_CONFIG, (int) producer.linger().toMillis());
+        // an unreachable cluster fails the relay's send quickly instead of holding its thread for a minute
+        props.put(ProducerConfig.MAX_BLOCK_MS_CONFIG, producer.maxBlock().toMillis());
 
         return new DefaultKafkaProducerFactory<>(props);
     }
@@ -49,8 +68,9 @@ public class KafkaConfig {
      * Kafka topics.
      */
     @Bean
-    public KafkaTemplate<String, TaskEvent> taskEventKafkaTemplate() {
-        return new KafkaTemplate<>(taskEventProducerFactory());
+    public KafkaTemplate<String, TaskEvent> taskEventKafkaTemplate(
+            ProducerFactory<String, TaskEvent> taskEventProducerFactory) {
+        return new KafkaTemplate<>(taskEventProducerFactory);
     }
 
     // =======================================================
@@ -78,15 +98,86 @@ public class KafkaConfig {
      */
     @Bean
     public ConcurrentKafkaListenerContainerFactory<String, TaskEvent> taskEventListenerFactory(
-            ConsumerFactory<String, TaskEvent> taskEventConsumerFactory) {
+            ConsumerFactory<String, TaskEvent> taskEventConsumerFactory,
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
         ConcurrentKafkaListenerContainerFactory<String, TaskEvent> factory =
                 new ConcurrentKafkaListenerContainerFactory<>();
 
         factory.setConsumerFactory(taskEventConsumerFactory);
 
+        // listeners run their statements on the consumer pool, away from interactive requests
+        factory.setRecordInterceptor(new RecordInterceptor<>() {
+            @Override
+            public ConsumerRecord<String, TaskEvent> intercept(
+                    ConsumerRecord<String, TaskEvent> record, Consumer<String, TaskEvent> consumer) {
+                Workload.CONSUMER.enter();
+                return record;
+            }
+
+            @Override
+            public void afterRecord(ConsumerRecord<String, TaskEvent> record, Consumer<String, TaskEvent> consumer) {
+                Workload.exit();
+            }
+        });
+
+        useVirtualThreads(factory, virtualThreads);
+
         // To use MANUAL ack mode in the future:
         // factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL);
 
         return factory;
     }
+
+    /**
+     * Batch listener factory for @KafkaListener(containerFactory = "taskEventBatchListenerFactory"): the
+     * listener receives a whole poll (up to {@code task.analytics.consumer.max-poll-records} events).
+     *
+     * <p>Offsets are committed after the listener returns (AckMode.BATCH). If it throws, the same batch is
+     * redelivered with exponential back-off until it succeeds, so a database outage delays analytics instead
+     * of skipping events. Batch listeners tag their own {@link Workload}; a record interceptor does not apply.
+     */
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, TaskEvent> taskEventBatchListenerFactory(
+            ConsumerFactory<String, TaskEvent> taskEventConsumerFactory,
+            @Value("${task.analytics.consumer.max-poll-records:500}") int maxPollRecords,
+            @Value("${task.analytics.consumer.max-retry-interval:PT30S}") Duration maxRetryInterval,
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        ConcurrentKafkaListenerContainerFactory<String, TaskEvent> factory =
+                new ConcurrentKafkaListenerContainerFactory<>();
+
+        factory.setConsumerFactory(taskEventConsumerFactory);
+        factory.setBatchListener(true);
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.BATCH);
+        factory.getContainerProperties()
+                .getKafkaConsumerProperties()
+                .setProperty(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, String.valueOf(maxPollRecords));
+
+        ExponentialBackOff backOff = new ExponentialBackOff(200, 2.0);
+        backOff.setMaxInterval(maxRetryInterval.toMillis());
+        factory.setCommonErrorHandler(new DefaultErrorHandler(backOff));
+
+        useVirtualThreads(factory, virtualThreads);
+        return factory;
+    }
+
+    /**
+     * For @KafkaListener(containerPostProcessor = "noOffsetCommits"): listeners in a per-instance consumer group
+     * that always starts at the latest offset. MANUAL acks that are never given mean the container commits
+     * nothing, so the group stores no offsets and the broker drops it as soon as the instance leaves.
+     */
+    @Bean
+    public ContainerPostProcessor<String, TaskEvent, AbstractMessageListenerContainer<String, TaskEvent>>
+            noOffsetCommits() {
+        return container -> container.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL);
+    }
+
+    private static void useVirtualThreads(
+            ConcurrentKafkaListenerContainerFactory<String, TaskEvent> factory, boolean virtualThreads) {
+        if (virtualThreads) {
+            // Boot only does this for its own listener factory
+            SimpleAsyncTaskExecutor listenerExecutor = new SimpleAsyncTaskExecutor("kafka-listener-");
+            listenerExecutor.setVirtualThreads(true);
+            factory.getContainerProperties().setListenerTaskExecutor(listenerExecutor);
+        }
+    }
 }
@@ -2,6 +2,8 @@ package org.example.config;
 
 import com.openai.client.OpenAIClient;
 import com.openai.client.okhttp.OpenAIOkHttpClient;
+import java.time.Duration;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -9,7 +11,7 @@ import org.springframework.context.annotation.Configuration;
 public class OpenAIConfig {
 
     @Bean
-    public OpenAIClient openAIClient() {
+    public OpenAIClient openAIClient(@Value("${task.ai.request-timeout:PT20S}") Duration requestTimeout) {
         // Read API key from environment explicitly
         String apiKey = System.getenv("OPENAI_API_KEY");
 
@@ -20,6 +22,8 @@ public class OpenAIConfig {
         // You can also set organization or project here if needed.
         return OpenAIOkHttpClient.builder()
                 .apiKey(apiKey)
+                // a hung call ends in AiTaskService's fallback instead of holding an AI thread
+                .timeout(requestTimeout)
                 .build();
     }
 }
@@ -0,0 +1,42 @@
+package org.example.config;
+
+import java.util.concurrent.Semaphore;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+
+/**
+ * Caps the number of tasks running at once on a thread-per-task executor (virtual threads) and rejects
+ * the task beyond the cap. {@code SimpleAsyncTaskExecutor#setConcurrencyLimit} would instead block the
+ * submitting thread until a slot frees up, so callers could neither shed load nor time out.
+ */
+final class RejectingConcurrencyLimitExecutor implements AsyncTaskExecutor {
+
+    private final AsyncTaskExecutor delegate;
+    private final int limit;
+    private final Semaphore permits;
+
+    RejectingConcurrencyLimitExecutor(AsyncTaskExecutor delegate, int limit) {
+        this.delegate = delegate;
+        this.limit = limit;
+        this.permits = new Semaphore(limit);
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        if (!permits.tryAcquire()) {
+            throw new TaskRejectedException("Executor is at its concurrency limit of " + limit);
+        }
+        try {
+            delegate.execute(() -> {
+                try {
+                    task.run();
+                } finally {
+                    permits.release();
+                }
+            });
+        } catch (RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+}
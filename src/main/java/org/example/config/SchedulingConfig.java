@@ -0,0 +1,9 @@
+package org.example.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/** Enables @Scheduled background jobs such as the task archive mover. */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {}
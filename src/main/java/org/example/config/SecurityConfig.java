@@ -72,6 +72,8 @@ public class SecurityConfig {
                 .authorizeHttpRequests(reg -> {
                     reg.requestMatchers("/api/auth/**", "/h2-console/**").permitAll();
                     reg.requestMatchers("/api/auth/logout").authenticated();
+                    reg.requestMatchers("/actuator/health").permitAll();
+                    reg.requestMatchers("/actuator/**").hasRole("ADMIN");
                     // Make debug endpoints public in dev only:
                     if (env.matchesProfiles("dev")) {
                         reg.requestMatchers("/api/debug/**", "/api/notes/**").permitAll();
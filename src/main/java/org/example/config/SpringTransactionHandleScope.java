@@ -0,0 +1,101 @@
+package org.example.config;
+
+import org.jdbi.v3.core.Handle;
+import org.jdbi.v3.core.HandleScope;
+import org.jdbi.v3.core.Jdbi;
+import org.jdbi.v3.core.extension.HandleSupplier;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Jdbi {@link HandleScope} bound to the Spring transaction: the first Jdbi call in a transaction opens a
+ * Handle, every later {@code withHandle} / {@code withExtension} / {@code inTransaction} / on-demand call
+ * in that transaction reuses it, and it is closed when the transaction completes. Outside a transaction
+ * Jdbi behaves as usual (one short-lived Handle per call).
+ */
+final class SpringTransactionHandleScope implements HandleScope {
+
+    private final Jdbi jdbi;
+    private final HandleScope outsideTransactions = HandleScope.threadLocal();
+
+    SpringTransactionHandleScope(Jdbi jdbi) {
+        this.jdbi = jdbi;
+    }
+
+    @Override
+    public HandleSupplier get() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return outsideTransactions.get();
+        }
+        HandleSupplier bound = (HandleSupplier) TransactionSynchronizationManager.getResource(this);
+        if (bound == null) {
+            TransactionHandle transactionHandle = new TransactionHandle(jdbi.open());
+            TransactionSynchronizationManager.bindResource(this, transactionHandle.supplier);
+            TransactionSynchronizationManager.registerSynchronization(transactionHandle);
+            bound = transactionHandle.supplier;
+        }
+        return bound;
+    }
+
+    @Override
+    public void set(HandleSupplier handleSupplier) {
+        outsideTransactions.set(handleSupplier);
+    }
+
+    @Override
+    public void clear() {
+        outsideTransactions.clear();
+    }
+
+    /** The transaction's Handle; released before the connection it runs on. */
+    private final class TransactionHandle implements TransactionSynchronization {
+
+        private final Handle handle;
+        private final HandleSupplier supplier;
+
+        TransactionHandle(Handle handle) {
+            this.handle = handle;
+            // Jdbi keeps its HandleSupplier implementations internal; HandleScope.set(Handle) wraps one
+            HandleScope wrapper = HandleScope.threadLocal();
+            wrapper.set(handle);
+            this.supplier = wrapper.get();
+            wrapper.clear();
+        }
+
+        @Override
+        public int getOrder() {
+            return DataSourceUtils.CONNECTION_SYNCHRONIZATION_ORDER - 1;
+        }
+
+        @Override
+        public void suspend() {
+            TransactionSynchronizationManager.unbindResourceIfPossible(SpringTransactionHandleScope.this);
+        }
+
+        @Override
+        public void resume() {
+            if (!handle.isClosed()) {
+                TransactionSynchronizationManager.bindResource(SpringTransactionHandleScope.this, supplier);
+            }
+        }
+
+        @Override
+        public void beforeCompletion() {
+            release();
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            // registered during beforeCompletion, or beforeCompletion was skipped
+            release();
+        }
+
+        private void release() {
+            if (!handle.isClosed()) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(SpringTransactionHandleScope.this);
+                handle.close();
+            }
+        }
+    }
+}
@@ -1,11 +1,40 @@
 package org.example.config;
 
+import org.example.datasource.ReadYourWritesInterceptor;
+import org.example.datasource.ReadYourWritesTracker;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.ViewControllerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 @Configuration
 public class WebConfig implements WebMvcConfigurer {
+
+    private final ThreadPoolTaskExecutor mvcAsyncExecutor;
+    private final ReadYourWritesTracker readYourWritesTracker;
+
+    public WebConfig(
+            @Qualifier("mvcAsyncExecutor") ThreadPoolTaskExecutor mvcAsyncExecutor,
+            ReadYourWritesTracker readYourWritesTracker) {
+        this.mvcAsyncExecutor = mvcAsyncExecutor;
+        this.readYourWritesTracker = readYourWritesTracker;
+    }
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        // the timeout comes from spring.mvc.async.request-timeout
+        configurer.setTaskExecutor(mvcAsyncExecutor);
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        // writes pin the user's reads to the primary for task.datasource.read-your-writes-window
+        registry.addInterceptor(new ReadYourWritesInterceptor(readYourWritesTracker));
+    }
+
     @Override
     public void addViewControllers(ViewControllerRegistry registry) {
         // no-op
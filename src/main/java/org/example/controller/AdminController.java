@@ -1,10 +1,16 @@
 package org.example.controller;
 
+import java.io.InputStream;
 import java.util.List;
+import org.example.dto.CacheStatsResponse;
+import org.example.dto.TaskFileFormat;
+import org.example.dto.TaskImportResponse;
 import org.example.model.AppUser;
 import org.example.model.Note;
 import org.example.model.Role;
 import org.example.service.NoteService;
+import org.example.service.TaskImportService;
+import org.example.service.TaskLookupService;
 import org.example.service.UserService;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
@@ -24,10 +30,18 @@ public class AdminController {
 
     private final UserService userService;
     private final NoteService noteService;
+    private final TaskLookupService taskLookupService;
+    private final TaskImportService taskImportService;
 
-    public AdminController(UserService userService, NoteService noteService) {
+    public AdminController(
+            UserService userService,
+            NoteService noteService,
+            TaskLookupService taskLookupService,
+            TaskImportService taskImportService) {
         this.userService = userService;
         this.noteService = noteService;
+        this.taskLookupService = taskLookupService;
+        this.taskImportService = taskImportService;
     }
 
     public record UpdateRoleRequest(Role role, Long id) {}
@@ -57,4 +71,18 @@ public class AdminController {
     public Page<Note> listAll(@RequestParam(defaultValue = "0") int page, @RequestParam(defaultValue = "10") int size) {
         return noteService.listNotes(PageRequest.of(page, size));
     }
+
+    // Hit/miss counters of the single-task read cache
+    @GetMapping("/cache/tasks")
+    public CacheStatsResponse taskCacheStats() {
+        return taskLookupService.stats();
+    }
+
+    // Bulk import of tasks for any owners, streamed from the raw request body.
+    // csv: header line, then ownerId,title,description,status,priority,dueDate
+    // ndjson: one TaskImportRow object per line
+    @PostMapping("/tasks/import")
+    public TaskImportResponse importTasks(@RequestParam(defaultValue = "csv") String format, InputStream body) {
+        return taskImportService.importTasks(TaskFileFormat.from(format), body);
+    }
 }
@@ -2,11 +2,13 @@ package org.example.controller;
 
 import org.example.model.Note;
 import org.example.service.NoteService;
+import org.example.utils.ETagUtils;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController
 @RequestMapping("/api/notes")
@@ -20,12 +22,22 @@ public class NoteController {
 
     public record UpsertNote(String title, String content) {}
 
+    // ETags come from the owner's note version, so If-None-Match is answered with 304
+    // before any note row of the page is read.
     @GetMapping
     public Page<Note> list(
             @AuthenticationPrincipal UserDetails principal,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size) {
-        return noteService.listMyNotes(principal.getUsername(), PageRequest.of(page, size));
+            @RequestParam(defaultValue = "10") int size,
+            WebRequest webRequest) {
+        String username = principal.getUsername();
+        return noteService
+                .listMyNotesIfModified(
+                        username,
+                        PageRequest.of(page, size),
+                        version -> ETagUtils.checkNotModified(
+                                webRequest, ETagUtils.list("notes", version, username, page, size)))
+                .orElse(null); // 304
     }
 
     @PostMapping
@@ -34,8 +46,14 @@ public class NoteController {
     }
 
     @GetMapping("/{id}")
-    public Note one(@AuthenticationPrincipal UserDetails principal, @PathVariable Long id) {
-        return noteService.getOne(principal.getUsername(), id);
+    public Note one(@AuthenticationPrincipal UserDetails principal, @PathVariable Long id, WebRequest webRequest) {
+        // a missing or foreign note is a 404 even with a matching If-None-Match
+        return noteService
+                .getOneIfModified(
+                        principal.getUsername(),
+                        id,
+                        version -> ETagUtils.checkNotModified(webRequest, ETagUtils.entity("note", id, version)))
+                .orElse(null); // 304
     }
 
     @PutMapping("/{id}")
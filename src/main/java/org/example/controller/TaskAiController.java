@@ -1,10 +1,18 @@
 package org.example.controller;
 
 import java.security.Principal;
+import java.time.Duration;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
-import lombok.RequiredArgsConstructor;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import org.example.dto.*;
 import org.example.model.AppUser;
 import org.example.model.Task;
@@ -14,27 +22,50 @@ import org.example.service.AnalyticsService;
 import org.example.service.TaskService;
 import org.example.service.UserService;
 import org.example.utils.TaskMapper;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
 
+/**
+ * AI endpoints. Database reads run on the request thread; the LLM round trip runs on the dedicated AI
+ * executor, so the servlet thread is released while OpenAI answers. A call that outlives {@code task.ai.timeout}
+ * fails with 504 and is cancelled, so it gives its AI thread back; a saturated AI executor answers 503.
+ */
 @RestController
 @RequestMapping("/api/tasks/ai")
-@RequiredArgsConstructor
 public class TaskAiController {
 
     private final AiTaskService aiTaskService;
     private final TaskService taskService;
     private final UserService userService;
     private final AnalyticsService analyticsService;
+    private final Executor aiExecutor;
+    private final Duration aiTimeout;
+
+    public TaskAiController(
+            AiTaskService aiTaskService,
+            TaskService taskService,
+            UserService userService,
+            AnalyticsService analyticsService,
+            @Qualifier("aiExecutor") Executor aiExecutor,
+            @Value("${task.ai.timeout:PT30S}") Duration aiTimeout) {
+        this.aiTaskService = aiTaskService;
+        this.taskService = taskService;
+        this.userService = userService;
+        this.analyticsService = analyticsService;
+        this.aiExecutor = aiExecutor;
+        this.aiTimeout = aiTimeout;
+    }
 
     // ===================================================
     // Option A: AI Productivity Summary
     // ===================================================
     @GetMapping("/summary")
-    public ResponseEntity<ProductivitySummaryResponse> getDailySummary(
+    public CompletableFuture<ResponseEntity<ProductivitySummaryResponse>> getDailySummary(
             Principal principal,
             @RequestParam(value = "date", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
                     LocalDate date) {
@@ -46,74 +77,81 @@ public class TaskAiController {
         // Get daily stats
         var stats = analyticsService
                 .getDailyStats(targetDate)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "No stats found for date: " + targetDate));
+                .orElseThrow(() ->
+                        new ResponseStatusException(HttpStatus.NOT_FOUND, "No stats found for date: " + targetDate));
 
         // Generate AI summary
-        String summary = aiTaskService.generateDailySummary(user, stats);
-
-        return ResponseEntity.ok(new ProductivitySummaryResponse(summary));
+        return callAi(() -> {
+            String summary = aiTaskService.generateDailySummary(user, stats);
+            return ResponseEntity.ok(new ProductivitySummaryResponse(summary));
+        });
     }
 
     // ===================================================
     // Option B: AI Predict Overdue Risk
     // ===================================================
     @GetMapping("/overdue-risk")
-    public ResponseEntity<List<OverdueRiskResponse>> getOverdueRisks(Principal principal) {
+    public CompletableFuture<ResponseEntity<List<OverdueRiskResponse>>> getOverdueRisks(Principal principal) {
         AppUser user = userService.loadByUsername(principal.getName());
 
         // Get all open tasks
         List<Task> openTasks = taskService.findOpenTasks(user.getId());
 
-        // Predict risk for each task
-        List<OverdueRiskResponse> risks = openTasks.stream()
-                .map(task -> {
-                    double riskScore = aiTaskService.predictOverdueRisk(user, task);
-                    return OverdueRiskResponse.fromTask(task.getId(), task.getTitle(), riskScore);
-                })
-                .sorted((a, b) -> Double.compare(b.riskScore(), a.riskScore())) // Sort by risk descending
-                .collect(Collectors.toList());
-
-        return ResponseEntity.ok(risks);
+        // Predict risk for each task: one OpenAI call per task, so stop once the response has timed out
+        long deadline = aiDeadline();
+        return callAi(() -> {
+            List<OverdueRiskResponse> risks = new ArrayList<>(openTasks.size());
+            for (Task task : openTasks) {
+                checkNotAbandoned(deadline);
+                double riskScore = aiTaskService.predictOverdueRisk(user, task);
+                risks.add(OverdueRiskResponse.fromTask(task.getId(), task.getTitle(), riskScore));
+            }
+            risks.sort((a, b) -> Double.compare(b.riskScore(), a.riskScore())); // Sort by risk descending
+            return ResponseEntity.ok(risks);
+        });
     }
 
     @GetMapping("/overdue-risk/{taskId}")
-    public ResponseEntity<OverdueRiskResponse> getOverdueRiskForTask(Principal principal, @PathVariable Long taskId) {
+    public CompletableFuture<ResponseEntity<OverdueRiskResponse>> getOverdueRiskForTask(
+            Principal principal, @PathVariable Long taskId) {
         AppUser user = userService.loadByUsername(principal.getName());
 
         // Get the task entity directly from repository
         var task = taskService.getTaskEntity(user.getId(), taskId);
 
         // Predict risk
-        double riskScore = aiTaskService.predictOverdueRisk(user, task);
-
-        return ResponseEntity.ok(OverdueRiskResponse.fromTask(taskId, task.getTitle(), riskScore));
+        return callAi(() -> {
+            double riskScore = aiTaskService.predictOverdueRisk(user, task);
+            return ResponseEntity.ok(OverdueRiskResponse.fromTask(taskId, task.getTitle(), riskScore));
+        });
     }
 
     // ===================================================
     // Option C: AI Recommend Task Priority (Re-ranking)
     // ===================================================
     @GetMapping("/recommendation")
-    public ResponseEntity<List<TaskResponse>> getAiRecommendedTasks(Principal principal) {
+    public CompletableFuture<ResponseEntity<List<TaskResponse>>> getAiRecommendedTasks(Principal principal) {
         AppUser user = userService.loadByUsername(principal.getName());
 
         // Load candidate tasks (tasks for tomorrow)
         List<Task> candidateTasks = taskService.findTasksForTomorrow(user);
 
         // Let AI rerank
-        List<Task> ordered = aiTaskService.rerankTasks(user, candidateTasks);
-
-        // Map to response DTOs
-        List<TaskResponse> responses =
-                ordered.stream().map(TaskMapper::toResponse).toList();
-
-        return ResponseEntity.ok(responses);
+        return callAi(() -> {
+            List<Task> ordered = aiTaskService.rerankTasks(user, candidateTasks);
+
+            // Map to response DTOs
+            List<TaskResponse> responses =
+                    ordered.stream().map(TaskMapper::toResponse).toList();
+            return ResponseEntity.ok(responses);
+        });
     }
 
     // ===================================================
     // Option D: AI Work Pattern Mining
     // ===================================================
     @GetMapping("/patterns")
-    public ResponseEntity<List<WorkPatternInsightResponse>> getWorkPatterns(
+    public CompletableFuture<ResponseEntity<List<WorkPatternInsightResponse>>> getWorkPatterns(
             Principal principal, @RequestParam(value = "days", defaultValue = "30") int days) {
         AppUser user = userService.loadByUsername(principal.getName());
 
@@ -124,16 +162,64 @@ public class TaskAiController {
         List<org.example.model.TaskDailyStats> history = analyticsService.getStatsByDateRange(startDate, endDate);
 
         if (history.isEmpty()) {
-            return ResponseEntity.ok(List.of());
+            return CompletableFuture.completedFuture(ResponseEntity.ok(List.of()));
         }
 
         // Analyze patterns
-        List<WorkPatternInsight> insights = aiTaskService.analyzePatterns(user, history);
+        return callAi(() -> {
+            List<WorkPatternInsight> insights = aiTaskService.analyzePatterns(user, history);
+
+            // Map to response DTOs
+            List<WorkPatternInsightResponse> responses =
+                    insights.stream().map(WorkPatternInsightResponse::fromModel).toList();
+            return ResponseEntity.ok(responses);
+        });
+    }
 
-        // Map to response DTOs
-        List<WorkPatternInsightResponse> responses =
-                insights.stream().map(WorkPatternInsightResponse::fromModel).toList();
+    /**
+     * Runs the LLM part of a request on the AI executor. After task.ai.timeout the response fails with
+     * TimeoutException (504) and the call is cancelled: a call still waiting in the queue never starts, a
+     * running one is interrupted. A saturated executor throws RejectedExecutionException (503) right here.
+     */
+    private <T> CompletableFuture<T> callAi(Callable<T> call) {
+        CompletableFuture<T> response = new CompletableFuture<>();
+        FutureTask<T> task = new FutureTask<>(call) {
+            @Override
+            protected void done() {
+                if (isCancelled()) {
+                    return; // the response has already timed out
+                }
+                try {
+                    response.complete(get());
+                } catch (ExecutionException e) {
+                    response.completeExceptionally(e.getCause());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    response.completeExceptionally(e);
+                }
+            }
+        };
+        aiExecutor.execute(task);
+        response.orTimeout(aiTimeout.toMillis(), TimeUnit.MILLISECONDS).whenComplete((result, failure) -> {
+            if (failure instanceof TimeoutException) {
+                task.cancel(true);
+            }
+        });
+        return response;
+    }
 
-        return ResponseEntity.ok(responses);
+    /** Deadline of an AI request that makes several OpenAI calls, see {@link #checkNotAbandoned}. */
+    private long aiDeadline() {
+        return System.nanoTime() + aiTimeout.toNanos();
+    }
+
+    /**
+     * Stops a multi-call AI request whose response has already timed out. AiTaskService swallows the
+     * exceptions of an interrupted OpenAI call, so the interrupt flag alone is not reliable; the deadline is.
+     */
+    private static void checkNotAbandoned(long deadline) {
+        if (Thread.currentThread().isInterrupted() || System.nanoTime() - deadline > 0) {
+            throw new CancellationException("AI request timed out");
+        }
     }
 }
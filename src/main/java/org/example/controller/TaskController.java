@@ -1,17 +1,36 @@
 // src/main/java/org/example/controller/TaskController.java
 package org.example.controller;
 
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
 import org.example.auth.CustomUserPrincipal;
+import org.example.dto.BatchResponse;
+import org.example.dto.BatchUpdateTaskStatusRequest;
 import org.example.dto.CreateTaskRequest;
+import org.example.dto.CursorPage;
 import org.example.dto.PagedResponse;
+import org.example.dto.PatchTaskRequest;
+import org.example.dto.TaskFileFormat;
 import org.example.dto.TaskResponse;
 import org.example.dto.UpdateTaskRequest;
 import org.example.dto.UpdateTaskStatusRequest;
+import org.example.model.TaskListFilter;
+import org.example.model.TaskPriority;
+import org.example.model.TaskSortField;
+import org.example.model.TaskStatus;
+import org.example.service.TaskExportService;
 import org.example.service.TaskService;
+import org.example.utils.ETagUtils;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 /** REST controller for Task-related endpoints. */
 @RestController
@@ -19,9 +38,11 @@ import org.springframework.web.bind.annotation.*;
 public class TaskController {
 
     private final TaskService taskService;
+    private final TaskExportService taskExportService;
 
-    public TaskController(TaskService taskService) {
+    public TaskController(TaskService taskService, TaskExportService taskExportService) {
         this.taskService = taskService;
+        this.taskExportService = taskExportService;
     }
 
     // ======================================
@@ -35,25 +56,170 @@ public class TaskController {
     }
 
     // ======================================
-    // List all Tasks for current user
+    // Batch endpoints (max 1000 items per call)
+    // Each returns per-item results in request order.
+    // ======================================
+    @PostMapping("/batch")
+    public BatchResponse createTasks(
+            @AuthenticationPrincipal CustomUserPrincipal user, @RequestBody List<CreateTaskRequest> requests) {
+        return taskService.createTasks(user.getId(), requests);
+    }
+
+    @PatchMapping("/batch/status")
+    public BatchResponse updateTaskStatuses(
+            @AuthenticationPrincipal CustomUserPrincipal user,
+            @RequestBody List<BatchUpdateTaskStatusRequest> requests) {
+        return taskService.updateTaskStatuses(user.getId(), requests);
+    }
+
+    @PostMapping("/batch/delete")
+    public BatchResponse deleteTasks(
+            @AuthenticationPrincipal CustomUserPrincipal user, @RequestBody List<Long> taskIds) {
+        return taskService.deleteTasks(user.getId(), taskIds);
+    }
+
+    // ======================================
+    // List Tasks for current user
+    // Optional filters: status=OPEN,IN_PROGRESS  priority=HIGH
+    //   dueFrom/dueTo (ISO-8601 instants, [from, to))
+    // Optional order: sort=createdAt|dueDate|priority|updatedAt, direction=asc|desc
+    // Conditional: If-None-Match with the last ETag gets 304 without running the list query.
+    // ETag'd responses are Cache-Control: private, no-cache.
     // ======================================
     @GetMapping
     public PagedResponse<TaskResponse> listMyTasks(
             @AuthenticationPrincipal CustomUserPrincipal user,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size) {
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) Set<TaskStatus> status,
+            @RequestParam(required = false) Set<TaskPriority> priority,
+            @RequestParam(required = false) Instant dueFrom,
+            @RequestParam(required = false) Instant dueTo,
+            @RequestParam(defaultValue = "createdAt") String sort,
+            @RequestParam(defaultValue = "desc") String direction,
+            WebRequest webRequest) {
         // todo: add validations
         Pageable pageable = PageRequest.of(page, size);
-        return taskService.listTasksForUser(user.getId(), pageable);
+        TaskListFilter filter = new TaskListFilter(
+                status, priority, dueFrom, dueTo, TaskSortField.from(sort), parseAscending(direction));
+
+        long ownerId = user.getId();
+        return taskService
+                .listTasksForUserIfModified(
+                        ownerId,
+                        filter,
+                        pageable,
+                        version -> ETagUtils.checkNotModified(
+                                webRequest,
+                                ETagUtils.list(
+                                        "tasks",
+                                        version,
+                                        ownerId,
+                                        page,
+                                        size,
+                                        filter.statuses(),
+                                        filter.priorities(),
+                                        filter.dueFrom(),
+                                        filter.dueTo(),
+                                        filter.sort(),
+                                        filter.ascending())))
+                .orElse(null); // 304
+    }
+
+    private static boolean parseAscending(String direction) {
+        if ("asc".equalsIgnoreCase(direction)) {
+            return true;
+        }
+        if ("desc".equalsIgnoreCase(direction)) {
+            return false;
+        }
+        throw new IllegalArgumentException("direction must be asc or desc");
+    }
+
+    // ======================================
+    // List Tasks with keyset (cursor) pagination
+    // Selected whenever the "cursor" param is present; pass an empty
+    // cursor for the first page, then the returned nextCursor.
+    // ======================================
+    @GetMapping(params = "cursor")
+    public CursorPage<TaskResponse> listMyTasksByCursor(
+            @AuthenticationPrincipal CustomUserPrincipal user,
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "false") boolean includeTotal,
+            WebRequest webRequest) {
+        long ownerId = user.getId();
+        return taskService
+                .listTasksForUserByCursorIfModified(
+                        ownerId,
+                        cursor,
+                        size,
+                        includeTotal,
+                        version -> ETagUtils.checkNotModified(
+                                webRequest,
+                                ETagUtils.list("tasks", version, ownerId, "cursor", cursor, size, includeTotal)))
+                .orElse(null); // 304
+    }
+
+    // ======================================
+    // Full-text search over title and description
+    // q uses web-search syntax: words, "quoted phrase", -excluded, or
+    // Pass the returned nextCursor to get the next page.
+    // At most 500 matches are ranked and paged; a broader q returns the best of those.
+    // ======================================
+    @GetMapping("/search")
+    public CursorPage<TaskResponse> searchMyTasks(
+            @AuthenticationPrincipal CustomUserPrincipal user,
+            @RequestParam String q,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size) {
+        return taskService.searchTasksForUser(user.getId(), q, cursor, size);
+    }
+
+    // ======================================
+    // Export all Tasks of the current user (ndjson | csv)
+    // Streamed while rows are read from the database.
+    // ======================================
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportMyTasks(
+            @AuthenticationPrincipal CustomUserPrincipal user, @RequestParam(defaultValue = "ndjson") String format) {
+        long ownerId = user.getId();
+        TaskFileFormat exportFormat = TaskFileFormat.from(format);
+
+        StreamingResponseBody body = out -> taskExportService.export(ownerId, exportFormat, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.contentType()))
+                .header(
+                        HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"tasks." + exportFormat.fileExtension() + "\"")
+                .body(body);
+    }
+
+    // ======================================
+    // List archived (finished, moved to cold storage) Tasks
+    // Archived tasks are read-only; GET /{id} still returns them.
+    // ======================================
+    @GetMapping("/archive")
+    public PagedResponse<TaskResponse> listMyArchivedTasks(
+            @AuthenticationPrincipal CustomUserPrincipal user,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size) {
+        return taskService.listArchivedTasksForUser(user.getId(), PageRequest.of(page, size));
     }
 
     // ======================================
     // Get a single Task
+    // ETag follows the task version; If-None-Match gets 304 with no body.
     // ======================================
     @GetMapping("/{id}")
-    public TaskResponse getTask(@AuthenticationPrincipal CustomUserPrincipal user, @PathVariable long id) {
+    public TaskResponse getTask(
+            @AuthenticationPrincipal CustomUserPrincipal user, @PathVariable long id, WebRequest webRequest) {
         long ownerId = user.getId();
-        return taskService.getTask(ownerId, id);
+        TaskResponse task = taskService.getTask(ownerId, id);
+        if (ETagUtils.checkNotModified(webRequest, ETagUtils.entity("task", task.id(), task.version()))) {
+            return null; // 304
+        }
+        return task;
     }
 
     // ======================================
@@ -68,6 +234,19 @@ public class TaskController {
         return taskService.updateTask(ownerId, id, request);
     }
 
+    // ======================================
+    // Sparse update: only supplied fields are written.
+    // The body must carry the version last read; a stale version gets 409.
+    // ======================================
+    @PatchMapping("/{id}")
+    public TaskResponse patchTask(
+            @AuthenticationPrincipal CustomUserPrincipal user,
+            @PathVariable long id,
+            @RequestBody PatchTaskRequest request) {
+        long ownerId = user.getId();
+        return taskService.patchTask(ownerId, id, request);
+    }
+
     // ======================================
     // Update only Task status
     // ======================================
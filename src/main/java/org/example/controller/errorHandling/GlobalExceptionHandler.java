@@ -1,12 +1,15 @@
 package org.example.controller.errorHandling;
 
 import jakarta.servlet.http.HttpServletRequest;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeoutException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 import org.springframework.web.server.ResponseStatusException;
 
 /**
@@ -30,12 +33,36 @@ public class GlobalExceptionHandler {
         return ResponseEntity.badRequest().body(body);
     }
 
+    // e.g. ?status=DONE or ?dueFrom=tomorrow: a malformed query parameter is the client's fault
+    @ExceptionHandler(MethodArgumentTypeMismatchException.class)
+    public ResponseEntity<ApiError> handleTypeMismatch(
+            MethodArgumentTypeMismatchException ex, HttpServletRequest request) {
+        String message = "Invalid value for parameter '" + ex.getName() + "'";
+        ApiError body = ApiError.from(HttpStatus.BAD_REQUEST, message, request.getRequestURI());
+        return ResponseEntity.badRequest().body(body);
+    }
+
     @ExceptionHandler(IllegalStateException.class)
     public ResponseEntity<ApiError> handleConflict(IllegalStateException ex, HttpServletRequest request) {
         ApiError body = ApiError.from(HttpStatus.CONFLICT, ex.getMessage(), request.getRequestURI());
         return ResponseEntity.status(HttpStatus.CONFLICT).body(body);
     }
 
+    // an AI call outlived task.ai.timeout
+    @ExceptionHandler(TimeoutException.class)
+    public ResponseEntity<ApiError> handleTimeout(TimeoutException ex, HttpServletRequest request) {
+        ApiError body = ApiError.from(HttpStatus.GATEWAY_TIMEOUT, "Upstream call timed out", request.getRequestURI());
+        return ResponseEntity.status(HttpStatus.GATEWAY_TIMEOUT).body(body);
+    }
+
+    // a bounded executor (e.g. the AI executor) is saturated: shed load, the client may retry later
+    @ExceptionHandler(RejectedExecutionException.class)
+    public ResponseEntity<ApiError> handleRejected(RejectedExecutionException ex, HttpServletRequest request) {
+        ApiError body =
+                ApiError.from(HttpStatus.SERVICE_UNAVAILABLE, "Server busy, retry later", request.getRequestURI());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(body);
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ApiError> handleGeneric(Exception ex, HttpServletRequest request) {
         log.error("Unhandled exception", ex);
@@ -1,9 +1,15 @@
 package org.example.dao;
 
+import java.time.Instant;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Set;
 import org.example.model.TaskDailyStats;
+import org.example.model.TaskDailyStatsDelta;
 import org.jdbi.v3.sqlobject.config.RegisterBeanMapper;
+import org.jdbi.v3.sqlobject.customizer.BindMethods;
+import org.jdbi.v3.sqlobject.statement.SqlBatch;
 import org.jdbi.v3.sqlobject.statement.SqlQuery;
 import org.jdbi.v3.sqlobject.statement.SqlUpdate;
 
@@ -14,51 +20,42 @@ import org.jdbi.v3.sqlobject.statement.SqlUpdate;
 @RegisterBeanMapper(TaskDailyStats.class)
 public interface AnalyticsDao {
 
-    @SqlUpdate(
+    /** One upsert per date, sent as a single JDBC batch in one transaction. */
+    @SqlBatch(
             """
                           INSERT INTO task_daily_stats (
                               stat_date,
-                              created_count
+                              created_count,
+                              completed_count,
+                              removed_total_count,
+                              removed_deleted_count,
+                              removed_canceled_count
                           )
-                          VALUES (:date, 1)
+                          VALUES (:statDate, :createdCount, :completedCount,
+                                  :removedTotalCount, :removedDeletedCount, :removedCanceledCount)
                           ON CONFLICT (stat_date)
                           DO UPDATE SET
-                              created_count = task_daily_stats.created_count + 1,
+                              created_count = task_daily_stats.created_count + EXCLUDED.created_count,
+                              completed_count = task_daily_stats.completed_count + EXCLUDED.completed_count,
+                              removed_total_count = task_daily_stats.removed_total_count + EXCLUDED.removed_total_count,
+                              removed_deleted_count = task_daily_stats.removed_deleted_count + EXCLUDED.removed_deleted_count,
+                              removed_canceled_count = task_daily_stats.removed_canceled_count + EXCLUDED.removed_canceled_count,
                               updated_at = now()
                           """)
-    void incrementDailyCreatedCount(LocalDate date);
+    void applyDailyDeltas(@BindMethods Collection<TaskDailyStatsDelta> deltas);
 
-    @SqlUpdate(
+    /** Records the event ids and returns those that were not recorded before (first deliveries). */
+    @SqlQuery(
             """
-                          INSERT INTO task_daily_stats (
-                              stat_date,
-                              completed_count
-                          )
-                          VALUES (:date, 1)
-                          ON CONFLICT (stat_date)
-                          DO UPDATE SET
-                              completed_count = task_daily_stats.completed_count + 1,
-                              updated_at = now()
+                          INSERT INTO task_analytics_applied_event (event_id)
+                          SELECT unnest(:eventIds)
+                          ON CONFLICT (event_id) DO NOTHING
+                          RETURNING event_id
                           """)
-    void incrementDailyCompletedCount(LocalDate date);
+    Set<String> insertAppliedEventIds(String[] eventIds);
 
-    @SqlUpdate(
-            """
-                          INSERT INTO task_daily_stats (
-                              stat_date,
-                              removed_total_count,
-                              removed_deleted_count,
-                              removed_canceled_count
-                          )
-                          VALUES (:date, 1, :deletedInc, :canceledInc)
-                          ON CONFLICT (stat_date)
-                          DO UPDATE SET
-                              removed_total_count = task_daily_stats.removed_total_count + 1,
-                              removed_deleted_count = task_daily_stats.removed_deleted_count + :deletedInc,
-                              removed_canceled_count = task_daily_stats.removed_canceled_count + :canceledInc,
-                              updated_at = now()
-                          """)
-    void incrementDailyRemovedCount(LocalDate date, int deletedInc, int canceledInc);
+    @SqlUpdate("DELETE FROM task_analytics_applied_event WHERE applied_at < :appliedBefore")
+    int deleteAppliedEventsBefore(Instant appliedBefore);
 
     @SqlQuery(
             """
@@ -27,11 +27,22 @@ public interface NoteDao {
                     """)
     List<Note> findByOwnerIdPaged(@Bind("ownerId") Long ownerId, @Bind("limit") int limit, @Bind("offset") int offset);
 
-    @SqlQuery("""
-                      SELECT COUNT(*) FROM note WHERE owner_id = :ownerId
+    // O(1): reads the trigger-maintained counter instead of COUNT(*) over the owner's rows
+    @SqlQuery(
+            """
+                      SELECT COALESCE(
+                          (SELECT note_count FROM owner_item_count WHERE owner_id = :ownerId), 0)
                     """)
     long countByOwnerId(@Bind("ownerId") Long ownerId);
 
+    // ETag source: bumped by the V14 triggers on every write to the owner's notes
+    @SqlQuery(
+            """
+                      SELECT COALESCE(
+                          (SELECT note_version FROM owner_item_count WHERE owner_id = :ownerId), 0)
+                    """)
+    long findChangeVersionByOwnerId(@Bind("ownerId") Long ownerId);
+
     @SqlQuery(
             """
                       SELECT * FROM note WHERE id = :id AND owner_id = :ownerId
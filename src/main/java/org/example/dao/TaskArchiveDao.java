@@ -0,0 +1,70 @@
+package org.example.dao;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import org.example.model.Task;
+import org.jdbi.v3.sqlobject.config.RegisterBeanMapper;
+import org.jdbi.v3.sqlobject.customizer.Bind;
+import org.jdbi.v3.sqlobject.statement.SqlQuery;
+import org.jdbi.v3.sqlobject.statement.SqlUpdate;
+
+/** DAO for the task_archive cold tier (see V12). */
+@RegisterBeanMapper(Task.class)
+public interface TaskArchiveDao {
+
+    // Moves one batch of finished tasks in a single statement. SKIP LOCKED leaves rows that a user
+    // is updating right now (and rows another mover already claimed) for a later run. The DELETE joins
+    // on owner_id too, so each row is looked up in its own HASH(owner_id) partition only (run-time
+    // pruning, which needs the nested loop, see preferNestedLoopJoin).
+    @SqlUpdate(
+            """
+            WITH batch AS (
+                SELECT id, owner_id
+                FROM task
+                WHERE status IN (2, 3) -- COMPLETED, CANCELLED
+                  AND updated_at < :finishedBefore
+                ORDER BY updated_at
+                LIMIT :limit
+                FOR UPDATE SKIP LOCKED
+            ), moved AS (
+                DELETE FROM task t
+                USING batch b
+                WHERE t.id = b.id AND t.owner_id = b.owner_id
+                RETURNING t.id, t.owner_id, t.title, t.description, t.status, t.priority, t.due_date, t.created_at,
+                          t.updated_at, t.version
+            )
+            INSERT INTO task_archive
+                (id, owner_id, title, description, status, priority, due_date, created_at, updated_at, version)
+            SELECT id, owner_id, title, description, status, priority, due_date, created_at, updated_at, version
+            FROM moved
+            """)
+    int archiveFinishedTasks(@Bind("finishedBefore") Instant finishedBefore, @Bind("limit") int limit);
+
+    // The planner costs a batch row as a probe into every partition and picks a hash join over
+    // all of task; the nested loop probes one partition per row. Until the transaction ends.
+    @SqlUpdate("SET LOCAL enable_hashjoin = off")
+    void preferNestedLoopJoin();
+
+    @SqlQuery(
+            """
+            SELECT id, owner_id, title, description, status, priority, due_date, created_at, updated_at, version
+            FROM task_archive
+            WHERE id = :taskId AND owner_id = :ownerId
+            """)
+    Optional<Task> findArchivedTaskByIdAndOwner(@Bind("taskId") long taskId, @Bind("ownerId") long ownerId);
+
+    @SqlQuery(
+            """
+            SELECT id, owner_id, title, description, status, priority, due_date, created_at, updated_at, version
+            FROM task_archive
+            WHERE owner_id = :ownerId
+            ORDER BY created_at DESC, id DESC
+            LIMIT :limit OFFSET :offset
+            """)
+    List<Task> findArchivedTasksByOwnerPaged(
+            @Bind("ownerId") long ownerId, @Bind("limit") int limit, @Bind("offset") int offset);
+
+    @SqlQuery("SELECT COUNT(*) FROM task_archive WHERE owner_id = :ownerId")
+    long countArchivedTasksByOwner(@Bind("ownerId") long ownerId);
+}
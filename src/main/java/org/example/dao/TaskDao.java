@@ -1,16 +1,26 @@
 package org.example.dao;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 import org.example.model.Task;
+import org.example.model.TaskSearchHit;
+import org.example.model.TaskStatus;
+import org.jdbi.v3.core.result.ResultIterable;
 import org.jdbi.v3.sqlobject.config.RegisterBeanMapper;
+import org.jdbi.v3.sqlobject.config.RegisterRowMapper;
 import org.jdbi.v3.sqlobject.customizer.Bind;
 import org.jdbi.v3.sqlobject.customizer.BindBean;
+import org.jdbi.v3.sqlobject.customizer.FetchSize;
 import org.jdbi.v3.sqlobject.statement.GetGeneratedKeys;
+import org.jdbi.v3.sqlobject.statement.SqlBatch;
 import org.jdbi.v3.sqlobject.statement.SqlQuery;
 import org.jdbi.v3.sqlobject.statement.SqlUpdate;
 
-/** DAO layer for raw SQL operations on the task table. */
+/**
+ * DAO layer for raw SQL operations on the task table. Statements list the Task columns instead of
+ * {@code *}, so the search_vector column (V8) is never sent to the application.
+ */
 @RegisterBeanMapper(Task.class)
 public interface TaskDao {
 
@@ -22,36 +32,149 @@ public interface TaskDao {
     @GetGeneratedKeys("id")
     long insertTask(@BindBean Task task);
 
+    // Batch insert: one JDBC batch for the whole list, ids returned in input order
+    @SqlBatch(
+            """
+            INSERT INTO task (owner_id, title, description, status, priority, due_date, created_at, updated_at)
+            VALUES (:ownerId, :title, :description, :status, :priority, :dueDate, :createdAt, :updatedAt)
+            """)
+    @GetGeneratedKeys("id")
+    long[] insertTasks(@BindBean List<Task> tasks);
+
     // 1. find the current page for user
     @SqlQuery(
             """
-            SELECT *
+            SELECT id, owner_id, title, description, status, priority, due_date, created_at, updated_at, version
             FROM task
             WHERE owner_id = :ownerId
-            ORDER BY created_at DESC
+            ORDER BY created_at DESC, id DESC
             LIMIT :limit OFFSET :offset
             """)
     List<Task> findTasksByOwnerPaged(
             @Bind("ownerId") long ownerId, @Bind("limit") int limit, @Bind("offset") int offset);
 
-    // ✅ 2. find the total number of task for the user
+    // Keyset pagination: first page (no cursor yet)
+    @SqlQuery(
+            """
+            SELECT id, owner_id, title, description, status, priority, due_date, created_at, updated_at, version
+            FROM task
+            WHERE owner_id = :ownerId
+            ORDER BY created_at DESC, id DESC
+            LIMIT :limit
+            """)
+    List<Task> findTasksByOwnerFirstPage(@Bind("ownerId") long ownerId, @Bind("limit") int limit);
+
+    // Keyset pagination: rows strictly after the cursor, served by idx_task_owner_created_id
+    @SqlQuery(
+            """
+            SELECT id, owner_id, title, description, status, priority, due_date, created_at, updated_at, version
+            FROM task
+            WHERE owner_id = :ownerId
+              AND (created_at, id) < (:createdAt, :id)
+            ORDER BY created_at DESC, id DESC
+            LIMIT :limit
+            """)
+    List<Task> findTasksByOwnerAfter(
+            @Bind("ownerId") long ownerId,
+            @Bind("createdAt") Instant createdAt,
+            @Bind("id") long id,
+            @Bind("limit") int limit);
+
+    // Full-text search, ranked; idx_task_owner_search (owner_id, search_vector) finds the matches.
+    // Only the first :maxMatches matches are fetched and ranked: ranking reads every candidate row,
+    // which is what made common terms slow for owners with many tasks.
+    @SqlQuery(
+            """
+            SELECT id, owner_id, title, description, status, priority, due_date, created_at, updated_at, version,
+                   ts_rank(search_vector, q) AS rank
+            FROM websearch_to_tsquery('english', :query) q,
+                 LATERAL (
+                     SELECT t.id, t.owner_id, t.title, t.description, t.status, t.priority, t.due_date,
+                            t.created_at, t.updated_at, t.version, t.search_vector
+                     FROM task t
+                     WHERE t.owner_id = :ownerId
+                       AND t.search_vector @@ q
+                     LIMIT :maxMatches
+                 ) hits
+            ORDER BY rank DESC, id DESC
+            LIMIT :limit
+            """)
+    @RegisterRowMapper(TaskSearchHitMapper.class)
+    List<TaskSearchHit> searchTasksFirstPage(
+            @Bind("ownerId") long ownerId,
+            @Bind("query") String query,
+            @Bind("maxMatches") int maxMatches,
+            @Bind("limit") int limit);
+
+    // Full-text search: hits strictly after the (rank, id) cursor, among the same candidates
     @SqlQuery(
             """
-            SELECT COUNT(*)
+            SELECT id, owner_id, title, description, status, priority, due_date, created_at, updated_at, version, rank
+            FROM (
+                SELECT id, owner_id, title, description, status, priority, due_date, created_at, updated_at, version,
+                       ts_rank(search_vector, q) AS rank
+                FROM websearch_to_tsquery('english', :query) q,
+                     LATERAL (
+                         SELECT t.id, t.owner_id, t.title, t.description, t.status, t.priority, t.due_date,
+                                t.created_at, t.updated_at, t.version, t.search_vector
+                         FROM task t
+                         WHERE t.owner_id = :ownerId
+                           AND t.search_vector @@ q
+                         LIMIT :maxMatches
+                     ) hits
+            ) ranked
+            WHERE (rank, id) < (CAST(:rank AS real), :id)
+            ORDER BY rank DESC, id DESC
+            LIMIT :limit
+            """)
+    @RegisterRowMapper(TaskSearchHitMapper.class)
+    List<TaskSearchHit> searchTasksAfter(
+            @Bind("ownerId") long ownerId,
+            @Bind("query") String query,
+            @Bind("maxMatches") int maxMatches,
+            @Bind("rank") float rank,
+            @Bind("id") long id,
+            @Bind("limit") int limit);
+
+    // Export: streamed row by row. The fetch size only takes effect inside a transaction
+    // (autocommit off), otherwise the PostgreSQL driver buffers the whole result.
+    @SqlQuery(
+            """
+            SELECT id, owner_id, title, description, status, priority, due_date, created_at, updated_at, version
             FROM task
             WHERE owner_id = :ownerId
+            ORDER BY created_at DESC, id DESC
+            """)
+    @FetchSize(500)
+    ResultIterable<Task> streamTasksByOwner(@Bind("ownerId") long ownerId);
+
+    // ✅ 2. find the total number of task for the user
+    // O(1): reads the trigger-maintained counter instead of COUNT(*) over the owner's rows
+    @SqlQuery(
+            """
+            SELECT COALESCE(
+                (SELECT task_count FROM owner_item_count WHERE owner_id = :ownerId), 0)
             """)
     long countTasksByOwner(@Bind("ownerId") long ownerId);
 
+    // List ETag source: bumped by the V14 triggers on every write to the owner's tasks
     @SqlQuery(
             """
-            SELECT *
+            SELECT COALESCE(
+                (SELECT task_version FROM owner_item_count WHERE owner_id = :ownerId), 0)
+            """)
+    long findTaskChangeVersion(@Bind("ownerId") long ownerId);
+
+    @SqlQuery(
+            """
+            SELECT id, owner_id, title, description, status, priority, due_date, created_at, updated_at, version
             FROM task
             WHERE id = :taskId AND owner_id = :ownerId
             """)
     Optional<Task> findTaskByIdAndOwner(@Bind("taskId") long taskId, @Bind("ownerId") long ownerId);
 
-    @SqlUpdate(
+    // Mutate-and-read in one statement: RETURNING yields the row for the event and the response
+    @SqlQuery(
             """
             UPDATE task
             SET title       = :title,
@@ -59,37 +182,88 @@ public interface TaskDao {
                 status      = :status,
                 priority    = :priority,
                 due_date    = :dueDate,
-                updated_at  = :updatedAt
+                updated_at  = :updatedAt,
+                version     = version + 1
             WHERE id = :id AND owner_id = :ownerId
+            RETURNING id, owner_id, title, description, status, priority, due_date, created_at, updated_at, version
             """)
-    int updateTask(@BindBean Task task);
+    Optional<Task> updateTask(@BindBean Task task);
 
-    @SqlUpdate("""
+    @SqlQuery(
+            """
+            UPDATE task
+            SET status     = :status,
+                updated_at = :updatedAt,
+                version    = version + 1
+            WHERE id = :taskId AND owner_id = :ownerId
+            RETURNING id, owner_id, title, description, status, priority, due_date, created_at, updated_at, version
+            """)
+    Optional<Task> updateTaskStatus(
+            @Bind("taskId") long taskId,
+            @Bind("ownerId") long ownerId,
+            @Bind("status") TaskStatus status,
+            @Bind("updatedAt") Instant updatedAt);
+
+    // Batch status update: ids and statuses are iterated in lockstep, one count per element
+    @SqlBatch(
+            """
+            UPDATE task
+            SET status     = :status,
+                updated_at = :updatedAt,
+                version    = version + 1
+            WHERE id = :id AND owner_id = :ownerId
+            """)
+    int[] updateTaskStatuses(
+            @Bind("ownerId") long ownerId,
+            @Bind("id") List<Long> ids,
+            @Bind("status") List<TaskStatus> statuses,
+            @Bind("updatedAt") Instant updatedAt);
+
+    @SqlQuery(
+            """
+            SELECT id, owner_id, title, description, status, priority, due_date, created_at, updated_at, version
+            FROM task
+            WHERE owner_id = :ownerId AND id = ANY(:ids)
+            """)
+    List<Task> findTasksByIdsAndOwner(@Bind("ownerId") long ownerId, @Bind("ids") long[] ids);
+
+    @SqlQuery(
+            """
             DELETE FROM task
             WHERE id = :taskId AND owner_id = :ownerId
+            RETURNING id, owner_id, title, description, status, priority, due_date, created_at, updated_at, version
+            """)
+    Optional<Task> deleteTaskByIdAndOwner(@Bind("taskId") long taskId, @Bind("ownerId") long ownerId);
+
+    // Batch delete in one statement; RETURNING gives the removed rows for the removal events
+    @SqlQuery(
+            """
+            DELETE FROM task
+            WHERE owner_id = :ownerId AND id = ANY(:ids)
+            RETURNING id, owner_id, title, description, status, priority, due_date, created_at, updated_at, version
             """)
-    int deleteTaskByIdAndOwner(@Bind("taskId") long taskId, @Bind("ownerId") long ownerId);
+    List<Task> deleteTasksByIdsAndOwner(@Bind("ownerId") long ownerId, @Bind("ids") long[] ids);
 
-    // Find tasks for tomorrow (due date is tomorrow or earlier, and status is not COMPLETED or
-    // CANCELLED)
+    // Find tasks for tomorrow (due date is tomorrow or earlier, and status is OPEN or IN_PROGRESS).
+    // The status predicate must match idx_task_owner_open_due (V11) exactly.
     @SqlQuery(
             """
-            SELECT *
+            SELECT id, owner_id, title, description, status, priority, due_date, created_at, updated_at, version
             FROM task
             WHERE owner_id = :ownerId
-              AND status NOT IN ('COMPLETED', 'CANCELLED')
+              AND status IN (0, 1) -- OPEN, IN_PROGRESS
               AND (due_date IS NULL OR due_date <= :tomorrowEnd)
             ORDER BY priority DESC, due_date ASC NULLS LAST, created_at ASC
             """)
     List<Task> findTasksForTomorrow(@Bind("ownerId") long ownerId, @Bind("tomorrowEnd") java.time.Instant tomorrowEnd);
 
-    // Find all open tasks for a user (for overdue risk prediction)
+    // Find all open tasks for a user (for overdue risk prediction); read in idx_task_owner_open_due order
     @SqlQuery(
             """
-            SELECT *
+            SELECT id, owner_id, title, description, status, priority, due_date, created_at, updated_at, version
             FROM task
             WHERE owner_id = :ownerId
-              AND status NOT IN ('COMPLETED', 'CANCELLED')
+              AND status IN (0, 1) -- OPEN, IN_PROGRESS
             ORDER BY due_date ASC NULLS LAST, created_at ASC
             """)
     List<Task> findOpenTasksByOwner(@Bind("ownerId") long ownerId);
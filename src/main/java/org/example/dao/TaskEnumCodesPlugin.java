@@ -0,0 +1,57 @@
+package org.example.dao;
+
+import java.sql.Types;
+import org.example.model.TaskPriority;
+import org.example.model.TaskStatus;
+import org.jdbi.v3.core.Jdbi;
+import org.jdbi.v3.core.argument.AbstractArgumentFactory;
+import org.jdbi.v3.core.argument.Argument;
+import org.jdbi.v3.core.config.ConfigRegistry;
+import org.jdbi.v3.core.spi.JdbiPlugin;
+
+/**
+ * Binds and maps {@link TaskStatus} / {@link TaskPriority} as their smallint codes instead of
+ * Jdbi's default enum name, matching the smallint task.status / task.priority columns.
+ */
+public class TaskEnumCodesPlugin implements JdbiPlugin {
+
+    @Override
+    public void customizeJdbi(Jdbi jdbi) {
+        jdbi.registerArgument(new StatusArgumentFactory());
+        jdbi.registerArgument(new PriorityArgumentFactory());
+        jdbi.registerColumnMapper(TaskStatus.class, (rs, column, ctx) -> {
+            short code = rs.getShort(column);
+            return rs.wasNull() ? null : TaskStatus.fromCode(code);
+        });
+        jdbi.registerColumnMapper(TaskPriority.class, (rs, column, ctx) -> {
+            short code = rs.getShort(column);
+            return rs.wasNull() ? null : TaskPriority.fromCode(code);
+        });
+    }
+
+    private static Argument smallint(short code) {
+        return (position, statement, ctx) -> statement.setShort(position, code);
+    }
+
+    private static final class StatusArgumentFactory extends AbstractArgumentFactory<TaskStatus> {
+        StatusArgumentFactory() {
+            super(Types.SMALLINT);
+        }
+
+        @Override
+        protected Argument build(TaskStatus value, ConfigRegistry config) {
+            return smallint(value.code());
+        }
+    }
+
+    private static final class PriorityArgumentFactory extends AbstractArgumentFactory<TaskPriority> {
+        PriorityArgumentFactory() {
+            super(Types.SMALLINT);
+        }
+
+        @Override
+        protected Argument build(TaskPriority value, ConfigRegistry config) {
+            return smallint(value.code());
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package org.example.dao;
+
+import java.util.List;
+import org.example.model.TaskOutboxEvent;
+import org.jdbi.v3.sqlobject.config.RegisterConstructorMapper;
+import org.jdbi.v3.sqlobject.customizer.Bind;
+import org.jdbi.v3.sqlobject.customizer.BindMethods;
+import org.jdbi.v3.sqlobject.statement.SqlBatch;
+import org.jdbi.v3.sqlobject.statement.SqlQuery;
+import org.jdbi.v3.sqlobject.statement.SqlUpdate;
+
+/** DAO for the task_event_outbox queue (see V15). */
+@RegisterConstructorMapper(TaskOutboxEvent.class)
+public interface TaskEventOutboxDao {
+
+    // One JDBC batch for all events of a write
+    @SqlBatch(
+            """
+            INSERT INTO task_event_outbox (event_key, event_type, payload)
+            VALUES (:eventKey, :eventType, CAST(:payload AS jsonb))
+            """)
+    void insertEvents(@BindMethods List<TaskOutboxEvent> events);
+
+    // One relay at a time, cluster-wide: the lock is held until the relay transaction ends, and a
+    // node that does not get it skips its run instead of queueing behind the holder.
+    @SqlQuery("SELECT pg_try_advisory_xact_lock(hashtext('task_event_outbox_relay'))")
+    boolean tryLockRelay();
+
+    // Oldest events first
+    @SqlQuery(
+            """
+            SELECT id, event_key, event_type, payload::text AS payload
+            FROM task_event_outbox
+            ORDER BY id
+            LIMIT :limit
+            FOR UPDATE
+            """)
+    List<TaskOutboxEvent> lockOldestEvents(@Bind("limit") int limit);
+
+    @SqlUpdate("DELETE FROM task_event_outbox WHERE id = ANY(:ids)")
+    int deleteEvents(@Bind("ids") long[] ids);
+}
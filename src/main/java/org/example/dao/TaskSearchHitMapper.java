@@ -0,0 +1,20 @@
+package org.example.dao;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import org.example.model.Task;
+import org.example.model.TaskSearchHit;
+import org.jdbi.v3.core.mapper.RowMapper;
+import org.jdbi.v3.core.mapper.reflect.BeanMapper;
+import org.jdbi.v3.core.statement.StatementContext;
+
+/** Maps a task row plus its "rank" column; the task columns use the regular bean mapping. */
+public class TaskSearchHitMapper implements RowMapper<TaskSearchHit> {
+
+    private final RowMapper<Task> taskMapper = BeanMapper.of(Task.class);
+
+    @Override
+    public TaskSearchHit map(ResultSet rs, StatementContext ctx) throws SQLException {
+        return new TaskSearchHit(taskMapper.map(rs, ctx), rs.getFloat("rank"));
+    }
+}
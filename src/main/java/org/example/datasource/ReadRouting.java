@@ -0,0 +1,99 @@
+package org.example.datasource;
+
+import java.util.function.Supplier;
+import org.example.auth.CustomUserPrincipal;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Decides whether the statements on the current thread may go to a read replica.
+ *
+ * <p>A read is replica-eligible inside a {@code @Transactional(readOnly = true)} method, or inside
+ * {@link #onReplica(Long, Supplier)} for repository reads that run outside any Spring transaction (exports,
+ * analytics). A read issued from within a read-write transaction always stays on the primary so it sees
+ * that transaction's own writes. {@link #onPrimary(Supplier)} keeps a read on the primary even inside a
+ * read-only transaction, for results that outlive the request (caches).
+ */
+public final class ReadRouting {
+
+    private static final ThreadLocal<ReplicaRead> REPLICA_READ = new ThreadLocal<>();
+    private static final ThreadLocal<Boolean> PRIMARY_READ = new ThreadLocal<>();
+
+    private ReadRouting() {}
+
+    /**
+     * Runs {@code read} with replica routing allowed.
+     *
+     * @param userId user whose recent writes pin the read to the primary; null to use the authenticated user
+     */
+    public static <T> T onReplica(Long userId, Supplier<T> read) {
+        ReplicaRead previous = REPLICA_READ.get();
+        REPLICA_READ.set(new ReplicaRead(userId));
+        try {
+            return read.get();
+        } finally {
+            if (previous == null) {
+                REPLICA_READ.remove();
+            } else {
+                REPLICA_READ.set(previous);
+            }
+        }
+    }
+
+    /** Runs {@code read} with replica routing allowed, on behalf of {@code userId}. */
+    public static void onReplica(Long userId, Runnable read) {
+        onReplica(userId, () -> {
+            read.run();
+            return null;
+        });
+    }
+
+    /**
+     * Runs {@code read} on the primary, whatever the surrounding transaction or {@link #onReplica} marker says.
+     * Routing happens when the connection is fetched, so this only steers the first statement of a
+     * transaction; a transaction that already holds a replica connection keeps it.
+     */
+    public static <T> T onPrimary(Supplier<T> read) {
+        Boolean previous = PRIMARY_READ.get();
+        PRIMARY_READ.set(Boolean.TRUE);
+        try {
+            return read.get();
+        } finally {
+            if (previous == null) {
+                PRIMARY_READ.remove();
+            }
+        }
+    }
+
+    static boolean isReplicaRead() {
+        if (PRIMARY_READ.get() != null) {
+            return false;
+        }
+        boolean inTransaction = TransactionSynchronizationManager.isActualTransactionActive();
+        boolean readOnly = TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+        if (REPLICA_READ.get() != null) {
+            return !inTransaction || readOnly;
+        }
+        return inTransaction && readOnly;
+    }
+
+    /** The user the current read is made for, or null when unknown (background jobs). */
+    static Long currentUserId() {
+        ReplicaRead marker = REPLICA_READ.get();
+        if (marker != null && marker.userId() != null) {
+            return marker.userId();
+        }
+        return authenticatedUserId();
+    }
+
+    static Long authenticatedUserId() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth != null && auth.getPrincipal() instanceof CustomUserPrincipal principal) {
+            return principal.getId();
+        }
+        return null;
+    }
+
+    private record ReplicaRead(Long userId) {}
+}
@@ -0,0 +1,42 @@
+package org.example.datasource;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Records every non-safe request (POST, PUT, PATCH, DELETE) as a write by the authenticated user, both when
+ * it starts and when it completes, so the read-your-writes window covers the write's commit.
+ */
+public class ReadYourWritesInterceptor implements HandlerInterceptor {
+
+    private final ReadYourWritesTracker tracker;
+
+    public ReadYourWritesInterceptor(ReadYourWritesTracker tracker) {
+        this.tracker = tracker;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        recordIfWrite(request);
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(
+            HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        recordIfWrite(request);
+    }
+
+    private void recordIfWrite(HttpServletRequest request) {
+        switch (request.getMethod()) {
+            case "GET", "HEAD", "OPTIONS", "TRACE" -> {}
+            default -> {
+                Long userId = ReadRouting.authenticatedUserId();
+                if (userId != null) {
+                    tracker.recordWrite(userId);
+                }
+            }
+        }
+    }
+}
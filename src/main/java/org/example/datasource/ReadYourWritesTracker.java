@@ -0,0 +1,34 @@
+package org.example.datasource;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import java.time.Duration;
+
+/**
+ * Remembers which users wrote within the last {@code window}, so their reads stay on the primary until the
+ * replicas have caught up with their own changes.
+ *
+ * <p>State is per node: behind a load balancer without sticky sessions a read that lands on another node
+ * right after a write can still see replica lag.
+ */
+public class ReadYourWritesTracker {
+
+    private final Cache<Long, Boolean> recentWriters;
+
+    public ReadYourWritesTracker(Duration window, Ticker ticker) {
+        this.recentWriters = Caffeine.newBuilder()
+                .maximumSize(100_000) // writers within one window; far above any realistic burst
+                .expireAfterWrite(window)
+                .ticker(ticker)
+                .build();
+    }
+
+    public void recordWrite(long userId) {
+        recentWriters.put(userId, Boolean.TRUE);
+    }
+
+    public boolean wroteRecently(long userId) {
+        return recentWriters.getIfPresent(userId) != null;
+    }
+}
@@ -0,0 +1,76 @@
+package org.example.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.sql.DataSource;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+/**
+ * Picks the pool for each physical connection. Replica-eligible reads (see {@link ReadRouting}) go
+ * round-robin to the replicas, unless they are made for a user who wrote within the read-your-writes window;
+ * everything else goes to the primary pool of the thread's {@link Workload}.
+ *
+ * <p>The lookup happens when a physical connection is fetched, so this must sit behind a
+ * {@code LazyConnectionDataSourceProxy}: a transaction's read-only flag is only known after it has begun.
+ */
+public class RoutingDataSource extends AbstractRoutingDataSource implements Closeable {
+
+    private final List<DataSource> replicas;
+    private final List<String> replicaKeys = new ArrayList<>();
+    private final ReadYourWritesTracker readYourWrites;
+    private final AtomicInteger next = new AtomicInteger();
+
+    /**
+     * @param primaries primary pool per workload; workloads without their own pool share the interactive one
+     */
+    public RoutingDataSource(
+            Map<Workload, ? extends DataSource> primaries,
+            List<? extends DataSource> replicas,
+            ReadYourWritesTracker readYourWrites) {
+        DataSource interactive = primaries.get(Workload.INTERACTIVE);
+        if (interactive == null) {
+            throw new IllegalArgumentException("an INTERACTIVE pool is required");
+        }
+        this.replicas = List.copyOf(replicas);
+        this.readYourWrites = readYourWrites;
+
+        Map<Object, Object> targets = new HashMap<>();
+        for (Workload workload : Workload.values()) {
+            targets.put(workload, primaries.containsKey(workload) ? primaries.get(workload) : interactive);
+        }
+        for (int i = 0; i < this.replicas.size(); i++) {
+            String key = "replica-" + i;
+            replicaKeys.add(key);
+            targets.put(key, this.replicas.get(i));
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(interactive);
+        setLenientFallback(false);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!replicaKeys.isEmpty() && ReadRouting.isReplicaRead()) {
+            Long userId = ReadRouting.currentUserId();
+            if (userId == null || !readYourWrites.wroteRecently(userId)) {
+                return replicaKeys.get(Math.floorMod(next.getAndIncrement(), replicaKeys.size()));
+            }
+        }
+        return Workload.current();
+    }
+
+    /** Closes the replica pools; the primary pools are beans of their own and closed by the container. */
+    @Override
+    public void close() {
+        for (DataSource replica : replicas) {
+            if (replica instanceof HikariDataSource hikari) {
+                hikari.close();
+            }
+        }
+    }
+}
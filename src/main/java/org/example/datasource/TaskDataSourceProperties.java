@@ -0,0 +1,24 @@
+package org.example.datasource;
+
+import java.time.Duration;
+import java.util.List;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Read replicas behind the primary datasource ({@code task.datasource.*}).
+ *
+ * <p>Replica pools inherit every {@code spring.datasource.hikari} setting of the primary; only the url and,
+ * optionally, the credentials differ. With no replicas configured every statement runs on the primary. The
+ * per-workload pools ({@code task.datasource.pools.*}) are bound directly onto their Hikari beans.
+ */
+@ConfigurationProperties(prefix = "task.datasource")
+public record TaskDataSourceProperties(List<Replica> replicas, @DefaultValue("PT5S") Duration readYourWritesWindow) {
+
+    public TaskDataSourceProperties {
+        replicas = replicas == null ? List.of() : List.copyOf(replicas);
+    }
+
+    /** One replica; a null username or password falls back to the primary's. */
+    public record Replica(String url, String username, String password) {}
+}
@@ -0,0 +1,70 @@
+package org.example.datasource;
+
+import java.util.Locale;
+import java.util.function.Supplier;
+
+/**
+ * Which connection pool the current thread's statements use. Interactive requests, Kafka consumers,
+ * batch/AI work and the outbox relay each get their own pool, so a burst in one cannot starve the others.
+ *
+ * <p>Threads default to {@link #INTERACTIVE}; consumer and background threads are tagged by the Kafka record
+ * interceptor, the task decorators of the async executors, and the scheduled jobs themselves.
+ */
+public enum Workload {
+    INTERACTIVE,
+    CONSUMER,
+    BATCH,
+    /** The outbox relay: short, frequent transactions that must not queue behind exports or imports. */
+    RELAY;
+
+    private static final ThreadLocal<Workload> CURRENT = new ThreadLocal<>();
+
+    public static Workload current() {
+        Workload workload = CURRENT.get();
+        return workload == null ? INTERACTIVE : workload;
+    }
+
+    /** Hikari pool name; shows up as the {@code pool} tag of the {@code hikaricp.*} metrics. */
+    public String poolName() {
+        return "tms-" + name().toLowerCase(Locale.ROOT);
+    }
+
+    public <T> T call(Supplier<T> work) {
+        Workload previous = CURRENT.get();
+        CURRENT.set(this);
+        try {
+            return work.get();
+        } finally {
+            restore(previous);
+        }
+    }
+
+    public void run(Runnable work) {
+        call(() -> {
+            work.run();
+            return null;
+        });
+    }
+
+    /** Task decorator form of {@link #run(Runnable)}. */
+    public Runnable wrap(Runnable task) {
+        return () -> run(task);
+    }
+
+    /** Tags the current thread until {@link #exit()}; for callbacks that cannot wrap the work. */
+    public void enter() {
+        CURRENT.set(this);
+    }
+
+    public static void exit() {
+        CURRENT.remove();
+    }
+
+    private static void restore(Workload previous) {
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+}
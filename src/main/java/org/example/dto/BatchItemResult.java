@@ -0,0 +1,16 @@
+package org.example.dto;
+
+/**
+ * Outcome of one element of a batch request. {@code index} is the element's position in the request
+ * body, so clients can match results back without relying on ids they may not have yet.
+ */
+public record BatchItemResult(int index, Long taskId, boolean success, String error) {
+
+    public static BatchItemResult ok(int index, Long taskId) {
+        return new BatchItemResult(index, taskId, true, null);
+    }
+
+    public static BatchItemResult failed(int index, Long taskId, String error) {
+        return new BatchItemResult(index, taskId, false, error);
+    }
+}
@@ -0,0 +1,12 @@
+package org.example.dto;
+
+import java.util.List;
+
+/** Per-item results of a batch task request, in request order. */
+public record BatchResponse(int requested, int succeeded, int failed, List<BatchItemResult> results) {
+
+    public static BatchResponse of(List<BatchItemResult> results) {
+        int succeeded = (int) results.stream().filter(BatchItemResult::success).count();
+        return new BatchResponse(results.size(), succeeded, results.size() - succeeded, results);
+    }
+}
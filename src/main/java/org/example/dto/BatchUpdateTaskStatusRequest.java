@@ -0,0 +1,6 @@
+package org.example.dto;
+
+import org.example.model.TaskStatus;
+
+/** One element of a batch status update: which task, and its new status. */
+public record BatchUpdateTaskStatusRequest(Long id, TaskStatus status) {}
@@ -0,0 +1,5 @@
+package org.example.dto;
+
+/** Hit/miss counters of an in-process cache, as reported by Caffeine. */
+public record CacheStatsResponse(
+        long size, long hitCount, long missCount, double hitRate, long loadCount, long evictionCount) {}
@@ -0,0 +1,9 @@
+package org.example.dto;
+
+import java.util.List;
+
+/**
+ * Page returned by keyset (cursor) pagination. {@code nextCursor} is null on the last page, and
+ * {@code totalElements} is only populated when the client explicitly asks for it.
+ */
+public record CursorPage<T>(List<T> content, int size, String nextCursor, boolean hasNext, Long totalElements) {}
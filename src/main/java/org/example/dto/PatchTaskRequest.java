@@ -0,0 +1,12 @@
+package org.example.dto;
+
+import java.time.Instant;
+import org.example.model.TaskPriority;
+import org.example.model.TaskStatus;
+
+/**
+ * DTO for a sparse Task update. {@code version} is the version the client last read and is required;
+ * every other field is optional and a null (or absent) field is left unchanged.
+ */
+public record PatchTaskRequest(
+        Long version, String title, String description, TaskStatus status, TaskPriority priority, Instant dueDate) {}
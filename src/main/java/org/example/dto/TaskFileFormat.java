@@ -0,0 +1,34 @@
+package org.example.dto;
+
+import java.util.Locale;
+
+/** File formats of the task export (GET /api/tasks/export) and the admin bulk import. */
+public enum TaskFileFormat {
+    NDJSON("application/x-ndjson", "ndjson"),
+    CSV("text/csv", "csv");
+
+    private final String contentType;
+    private final String fileExtension;
+
+    TaskFileFormat(String contentType, String fileExtension) {
+        this.contentType = contentType;
+        this.fileExtension = fileExtension;
+    }
+
+    public String contentType() {
+        return contentType;
+    }
+
+    public String fileExtension() {
+        return fileExtension;
+    }
+
+    /** Case-insensitive lookup; unknown values are a client error. */
+    public static TaskFileFormat from(String value) {
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("format must be one of: ndjson, csv");
+        }
+    }
+}
@@ -0,0 +1,4 @@
+package org.example.dto;
+
+/** Result of an admin bulk import: rows inserted and end-to-end throughput (COPY + insert + events). */
+public record TaskImportResponse(long rows, long elapsedMillis, long rowsPerSecond) {}
@@ -0,0 +1,10 @@
+package org.example.dto;
+
+import java.time.Instant;
+
+/**
+ * One task of an NDJSON bulk import. Status defaults to OPEN when absent; status and priority use
+ * the enum names (OPEN, HIGH, ...).
+ */
+public record TaskImportRow(
+        Long ownerId, String title, String description, String status, String priority, Instant dueDate) {}
@@ -12,4 +12,5 @@ public record TaskResponse(
         TaskPriority priority,
         Instant dueDate,
         Instant createdAt,
-        Instant updatedAt) {}
+        Instant updatedAt,
+        Long version) {}
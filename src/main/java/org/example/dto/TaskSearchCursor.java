@@ -0,0 +1,37 @@
+package org.example.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import org.example.model.TaskSearchHit;
+
+/**
+ * Opaque keyset cursor for task search. Encodes the (rank, id) of the last hit of a page; results are
+ * ordered by rank descending, then id descending.
+ */
+public record TaskSearchCursor(float rank, long id) {
+
+    public static TaskSearchCursor of(TaskSearchHit hit) {
+        return new TaskSearchCursor(hit.rank(), hit.task().getId());
+    }
+
+    public String encode() {
+        // Float.toString round-trips exactly, so the next page resumes at the same float4 rank
+        String raw = Float.toString(rank) + "," + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /** Decode a cursor produced by {@link #encode()}; malformed input is rejected as a bad request. */
+    public static TaskSearchCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int comma = raw.lastIndexOf(',');
+            if (comma < 0) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return new TaskSearchCursor(
+                    Float.parseFloat(raw.substring(0, comma)), Long.parseLong(raw.substring(comma + 1)));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+}
@@ -1,16 +1,30 @@
 package org.example.kafka.consumer;
 
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import lombok.extern.slf4j.Slf4j;
+import org.example.datasource.Workload;
 import org.example.kafka.event.TaskEvent;
+import org.example.kafka.event.TaskEventPayload;
 import org.example.kafka.event.TaskEventType;
-import org.example.kafka.event.TaskRemovalReason;
+import org.example.model.TaskDailyStatsDelta;
 import org.example.service.AnalyticsService;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.stereotype.Service;
 
 /**
  * Consumer responsible for analytics, metrics, and reporting. This consumer processes events and
  * aggregates business statistics.
+ *
+ * <p>Each poll batch is folded into one {@link TaskDailyStatsDelta} per date and written with one upsert per
+ * date, so throughput is no longer capped at one database round trip per event. Offsets are committed only
+ * after the upserts succeed (see KafkaConfig.taskEventBatchListenerFactory). Delivery is at-least-once, so
+ * events are de-duplicated on eventId in the upsert transaction; a redelivered batch is not counted twice.
  */
 @Service
 @Slf4j
@@ -25,84 +39,81 @@ public class TaskAnalyticsConsumer {
     @KafkaListener(
             topics = "tms.task.events.v1",
             groupId = "tms-analytics-service",
-            containerFactory = "taskEventListenerFactory")
-    public void onMessage(TaskEvent event) {
-
-        if (event == null || event.getPayload() == null) {
-            log.warn("[Analytics] Received null TaskEvent or payload");
-            return;
-        }
-
-        TaskEventType type = event.getType();
-
-        switch (type) {
-            case TASK_CREATED -> handleTaskCreated(event);
-            case TASK_COMPLETED -> handleTaskCompleted(event);
-            case TASK_REMOVED -> handleTaskRemoved(event);
-            case TASK_UPDATED -> handleTaskUpdated(event); // optional tracking
-            default -> log.warn("[Analytics] Unknown event type: {}", type);
+            containerFactory = "taskEventBatchListenerFactory")
+    public void onBatch(List<TaskEvent> events) {
+        // throws on failure: the container redelivers the batch and does not commit its offsets
+        List<TaskEvent> applied = Workload.CONSUMER.call(
+                () -> analyticsService.applyDailyDeltasOnce(events, TaskAnalyticsConsumer::foldDailyDeltas));
+        log.info(
+                "[Analytics] Applied {} events ({} already applied before)",
+                applied.size(),
+                events.size() - applied.size());
+
+        // after the upsert, so the summaries see the completions of this batch
+        for (TaskEvent completion : lastCompletionPerOwner(applied).values()) {
+            try {
+                analyticsService.generateDailySummary(completion);
+            } catch (TaskRejectedException e) {
+                // the counts are committed; failing here would only redeliver the batch
+                log.warn("[Analytics] Skipping AI summary, executor is saturated: {}", e.getMessage());
+            }
         }
     }
 
     // ==========================================================
-    // Handler functions with logging + analyticsService calls
+    // Batch folding
     // ==========================================================
 
-    private void handleTaskCreated(TaskEvent event) {
-        var p = event.getPayload();
-        log.info(
-                "[Analytics] Handling TASK_CREATED — date={}, taskId={}, ownerId={}",
-                p.getCreatedAt(),
-                p.getTaskId(),
-                p.getOwnerId());
-
-        // Existing analytics aggregation
-        analyticsService.recordTaskCreated();
-
-        // If you want, you could also update daily stats here in the future.
-        // analyticsService.updateDailyStats(event);
-    }
-
-    private void handleTaskCompleted(TaskEvent event) {
-        var p = event.getPayload();
-        log.info(
-                "[Analytics] Handling TASK_COMPLETED — date={}, taskId={}, ownerId={}",
-                p.getUpdatedAt(),
-                p.getTaskId(),
-                p.getOwnerId());
-
-        // Existing analytics aggregation
-        analyticsService.recordTaskCompleted();
-
-        // New: update daily stats and trigger AI daily summary generation
-        // This method will use AiTaskService internally.
-        analyticsService.recordDailyStatsAndGenerateSummary(event);
+    /** Sums the batch per stat date (the day the event occurred), in first-seen date order. */
+    static Collection<TaskDailyStatsDelta> foldDailyDeltas(List<TaskEvent> events) {
+        Map<LocalDate, TaskDailyStatsDelta> byDate = new LinkedHashMap<>();
+        for (TaskEvent event : events) {
+            if (event == null || event.getType() == null || event.getPayload() == null) {
+                log.warn("[Analytics] Received null TaskEvent or payload");
+                continue;
+            }
+            LocalDate date = statDate(event);
+            TaskEventPayload p = event.getPayload();
+
+            TaskDailyStatsDelta delta =
+                    switch (event.getType()) {
+                        case TASK_CREATED -> TaskDailyStatsDelta.created(date);
+                        case TASK_COMPLETED -> TaskDailyStatsDelta.completed(date);
+                        case TASK_REMOVED -> TaskDailyStatsDelta.removed(date, p.getRemovalReason());
+                            // no aggregation for updates yet
+                        case TASK_UPDATED -> null;
+                    };
+            log.debug(
+                    "[Analytics] Folding {} — date={}, taskId={}, ownerId={}",
+                    event.getType(),
+                    date,
+                    p.getTaskId(),
+                    p.getOwnerId());
+            if (delta != null) {
+                byDate.merge(date, delta, TaskDailyStatsDelta::plus);
+            }
+        }
+        return byDate.values();
     }
 
-    private void handleTaskRemoved(TaskEvent event) {
-        var p = event.getPayload();
-        TaskRemovalReason reason = p.getRemovalReason();
-
-        log.info(
-                "[Analytics] Handling TASK_REMOVED — date={}, taskId={}, ownerId={}, reason={}",
-                p.getUpdatedAt(),
-                p.getTaskId(),
-                p.getOwnerId(),
-                reason);
-
-        analyticsService.recordTaskRemoved(reason);
+    private static LocalDate statDate(TaskEvent event) {
+        // replayed or relayed-late events still count toward the day they happened
+        return event.getOccurredAt() == null
+                ? LocalDate.now()
+                : LocalDate.ofInstant(event.getOccurredAt(), ZoneId.systemDefault());
     }
 
-    private void handleTaskUpdated(TaskEvent event) {
-        var p = event.getPayload();
-        log.info(
-                "[Analytics] Handling TASK_UPDATED (no aggregation yet) — taskId={}, ownerId={}, status={}",
-                p.getTaskId(),
-                p.getOwnerId(),
-                p.getStatus());
-
-        // If you want to track update stats in the future,
-        // you can add a method like:
-        // analyticsService.recordTaskUpdated();
+    /** One AI summary per owner and batch is enough: it reads the owner's day, not the single event. */
+    private static Map<Long, TaskEvent> lastCompletionPerOwner(List<TaskEvent> events) {
+        Map<Long, TaskEvent> completions = new LinkedHashMap<>();
+        for (TaskEvent event : events) {
+            if (event != null
+                    && event.getType() == TaskEventType.TASK_COMPLETED
+                    && event.getPayload() != null
+                    && event.getPayload().getOwnerId() != null) {
+                completions.put(event.getPayload().getOwnerId(), event);
+            }
+        }
+        return completions;
     }
 }
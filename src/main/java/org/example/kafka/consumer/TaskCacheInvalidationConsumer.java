@@ -0,0 +1,45 @@
+package org.example.kafka.consumer;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.kafka.event.TaskEvent;
+import org.example.kafka.event.TaskEventPayload;
+import org.example.service.TaskLookupService;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Service;
+
+/**
+ * Keeps this node's task cache coherent with writes made on other nodes. Every instance joins its own
+ * consumer group (random suffix), so each one receives every task event and evicts the matching
+ * (ownerId, taskId) entry. It starts at the latest offset: a fresh instance has an empty cache and
+ * has nothing to catch up on. For the same reason it never commits offsets (no auto-commit, and MANUAL
+ * acks that are never given), so a stopped instance leaves no consumer group behind. A short
+ * fetch.max.wait.ms keeps the eviction lag in milliseconds.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class TaskCacheInvalidationConsumer {
+
+    private final TaskLookupService taskLookupService;
+
+    @KafkaListener(
+            topics = "tms.task.events.v1",
+            groupId = "tms-task-cache-#{T(java.util.UUID).randomUUID().toString()}",
+            containerFactory = "taskEventListenerFactory",
+            containerPostProcessor = "noOffsetCommits",
+            properties = {"auto.offset.reset=latest", "enable.auto.commit=false", "fetch.max.wait.ms=50"})
+    public void onMessage(TaskEvent event) {
+        if (event == null || event.getPayload() == null) {
+            return;
+        }
+        TaskEventPayload payload = event.getPayload();
+        if (payload.getTaskId() == null || payload.getOwnerId() == null) {
+            log.warn("TaskEvent {} without taskId/ownerId, nothing to evict", event.getEventId());
+            return;
+        }
+
+        // Local writes already evicted synchronously; evicting again is harmless.
+        taskLookupService.evict(payload.getOwnerId(), payload.getTaskId());
+    }
+}
@@ -0,0 +1,70 @@
+package org.example.kafka.producer;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.springframework.kafka.KafkaException;
+import org.springframework.stereotype.Component;
+
+/**
+ * Delivery outcome and latency of every TaskEvent sent to Kafka, recorded from the send future's callback
+ * (on the producer's I/O thread), i.e. from {@code send} until the broker acknowledged or the producer gave up.
+ *
+ * <p>{@code /actuator/metrics/tms.task.events.delivery?tag=outcome:failure} counts failed deliveries;
+ * the {@code exception} tag names the cause.
+ */
+@Component
+public class TaskEventDeliveryMetrics {
+
+    static final String METER_NAME = "tms.task.events.delivery";
+
+    private final MeterRegistry meterRegistry;
+    private final Timer delivered;
+
+    public TaskEventDeliveryMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.delivered = deliveryTimer("success", "none");
+    }
+
+    /**
+     * Runs {@code send} and records the delivery once its future completes; returns that future. A send that
+     * fails before it is queued (e.g. no metadata within max.block.ms) is recorded as a failure and rethrown.
+     */
+    public <T> CompletableFuture<T> track(Supplier<CompletableFuture<T>> send) {
+        long start = System.nanoTime();
+        CompletableFuture<T> ack;
+        try {
+            ack = send.get();
+        } catch (RuntimeException e) {
+            record(start, e);
+            throw e;
+        }
+        ack.whenComplete((result, failure) -> record(start, failure));
+        return ack;
+    }
+
+    private void record(long start, Throwable failure) {
+        Timer timer = failure == null ? delivered : deliveryTimer("failure", cause(failure));
+        timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    private Timer deliveryTimer(String outcome, String exception) {
+        return Timer.builder(METER_NAME)
+                .description("Time from send until Kafka acknowledged (or rejected) a TaskEvent")
+                .tag("outcome", outcome)
+                .tag("exception", exception)
+                .register(meterRegistry);
+    }
+
+    private static String cause(Throwable failure) {
+        // KafkaTemplate wraps the producer's exception (KafkaProducerException is a KafkaException)
+        Throwable cause = failure;
+        while ((cause instanceof CompletionException || cause instanceof KafkaException) && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause.getClass().getSimpleName();
+    }
+}
@@ -0,0 +1,135 @@
+package org.example.kafka.producer;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import lombok.extern.slf4j.Slf4j;
+import org.example.datasource.Workload;
+import org.example.kafka.event.TaskEvent;
+import org.example.model.TaskOutboxEvent;
+import org.example.repository.TaskEventOutboxRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.KafkaException;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Moves task events from task_event_outbox to Kafka. Each batch is locked, sent, and deleted once Kafka
+ * has acknowledged every record, in one transaction; a failed or timed-out batch is rolled back and sent
+ * again on the next run, so delivery is at-least-once (consumers can de-duplicate on eventId).
+ *
+ * <p>Every node schedules it, but only one relays at a time (an advisory lock held by the batch transaction;
+ * the other nodes skip their run). Events of one task are queued in commit order (the task row lock
+ * serializes its writers) and sent in that order. A retried batch is sent again from its first event, so
+ * after a partial failure a consumer can see an older event of a task again after a newer one.
+ *
+ * <p>Every send reports its outcome and latency to {@link TaskEventDeliveryMetrics}; batching, compression
+ * and acks come from {@code task.kafka.producer.*}.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "task.outbox.relay.enabled", havingValue = "true", matchIfMissing = true)
+public class TaskEventOutboxRelay {
+
+    private static final String TASK_EVENTS_TOPIC = "tms.task.events.v1";
+
+    private final TaskEventOutboxRepository outboxRepository;
+    private final KafkaTemplate<String, TaskEvent> kafkaTemplate;
+    private final ObjectMapper objectMapper;
+    private final TaskEventDeliveryMetrics deliveryMetrics;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+    private final Duration sendTimeout;
+
+    public TaskEventOutboxRelay(
+            TaskEventOutboxRepository outboxRepository,
+            KafkaTemplate<String, TaskEvent> kafkaTemplate,
+            ObjectMapper objectMapper,
+            TaskEventDeliveryMetrics deliveryMetrics,
+            @Value("${task.outbox.relay.batch-size:1000}") int batchSize,
+            @Value("${task.outbox.relay.max-batches-per-run:50}") int maxBatchesPerRun,
+            @Value("${task.outbox.relay.send-timeout:PT30S}") Duration sendTimeout) {
+        this.outboxRepository = outboxRepository;
+        this.kafkaTemplate = kafkaTemplate;
+        this.objectMapper = objectMapper;
+        this.deliveryMetrics = deliveryMetrics;
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+        this.sendTimeout = sendTimeout;
+    }
+
+    @Scheduled(
+            initialDelayString = "${task.outbox.relay.initial-delay:PT5S}",
+            fixedDelayString = "${task.outbox.relay.interval:PT0.2S}")
+    public void relayPendingEvents() {
+        try {
+            // own pool: exports and imports hold batch connections for minutes
+            int sent = Workload.RELAY.call(this::drainOutbox);
+            if (sent > 0) {
+                log.debug("Relayed {} TaskEvents to Kafka", sent);
+            }
+        } catch (KafkaException e) {
+            // the batch stays in the outbox; the next run retries it
+            log.warn("TaskEvent relay failed, retrying on the next run: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Relays batch by batch until a short batch shows the outbox is drained or the per-run cap is reached.
+     * Returns the number of events sent.
+     */
+    public int drainOutbox() {
+        int total = 0;
+        for (int i = 0; i < maxBatchesPerRun; i++) {
+            int sent = outboxRepository.relay(batchSize, this::publish);
+            total += sent;
+            if (sent < batchSize) {
+                break;
+            }
+        }
+        return total;
+    }
+
+    private void publish(List<TaskOutboxEvent> events) {
+        // KafkaTemplate.send is asynchronous, so the whole batch is accumulated into producer
+        // batches per partition before we wait for the acknowledgements
+        List<CompletableFuture<?>> acks = new ArrayList<>(events.size());
+        for (TaskOutboxEvent event : events) {
+            TaskEvent taskEvent = toTaskEvent(event);
+            if (taskEvent != null) {
+                acks.add(deliveryMetrics.track(
+                        () -> kafkaTemplate.send(TASK_EVENTS_TOPIC, event.eventKey(), taskEvent)));
+            }
+        }
+
+        try {
+            CompletableFuture.allOf(acks.toArray(CompletableFuture[]::new))
+                    .get(sendTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new KafkaException("Interrupted while waiting for Kafka acknowledgements", e);
+        } catch (ExecutionException e) {
+            throw new KafkaException("Kafka rejected a TaskEvent batch", e.getCause());
+        } catch (TimeoutException e) {
+            throw new KafkaException("Kafka did not acknowledge a TaskEvent batch within " + sendTimeout, e);
+        }
+    }
+
+    private TaskEvent toTaskEvent(TaskOutboxEvent event) {
+        try {
+            return objectMapper.readValue(event.payload(), TaskEvent.class);
+        } catch (JsonProcessingException e) {
+            // retrying cannot fix it, and it must not block the events behind it
+            log.error("Dropping unreadable outbox event id={} type={}", event.id(), event.eventType(), e);
+            return null;
+        }
+    }
+}
@@ -1,22 +1,31 @@
 package org.example.kafka.producer;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.UncheckedIOException;
+import java.util.List;
 import lombok.extern.slf4j.Slf4j;
 import org.example.kafka.event.*;
 import org.example.model.Task;
-import org.springframework.kafka.core.KafkaTemplate;
+import org.example.model.TaskOutboxEvent;
+import org.example.repository.TaskEventOutboxRepository;
 import org.springframework.stereotype.Component;
 
-/** Publishes TaskEvent messages to Kafka. Encapsulates event building and sending logic. */
+/**
+ * Publishes TaskEvent messages. Encapsulates event building; the events are written to the
+ * task_event_outbox in the caller's transaction and {@link TaskEventOutboxRelay} sends them to Kafka
+ * after commit, so the request never waits on the broker.
+ */
 @Component
 @Slf4j
 public class TaskEventProducer {
 
-    private static final String TASK_EVENTS_TOPIC = "tms.task.events.v1";
+    private final TaskEventOutboxRepository outboxRepository;
+    private final ObjectMapper objectMapper;
 
-    private final KafkaTemplate<String, TaskEvent> kafkaTemplate;
-
-    public TaskEventProducer(KafkaTemplate<String, TaskEvent> kafkaTemplate) {
-        this.kafkaTemplate = kafkaTemplate;
+    public TaskEventProducer(TaskEventOutboxRepository outboxRepository, ObjectMapper objectMapper) {
+        this.outboxRepository = outboxRepository;
+        this.objectMapper = objectMapper;
     }
 
     public void publishTaskCreated(Task task) {
@@ -39,10 +48,63 @@ public class TaskEventProducer {
         send(task.getId(), event);
     }
 
+    /** Publishes the event that matches the task's (new) status: completed, removed or updated. */
+    public void publishTaskStatusChanged(Task task) {
+        TaskEvent event = buildStatusChangedEvent(task);
+        send(task.getId(), event);
+    }
+
+    // =======================================================
+    // Batch variants: one outbox batch insert and a single log line per batch
+    // =======================================================
+    public void publishTaskCreatedBatch(List<Task> tasks) {
+        sendBatch(tasks.stream()
+                .map(task -> buildEvent(task, TaskEventType.TASK_CREATED, null))
+                .toList());
+    }
+
+    public void publishTaskStatusChangedBatch(List<Task> tasks) {
+        sendBatch(tasks.stream().map(this::buildStatusChangedEvent).toList());
+    }
+
+    public void publishTaskRemovedBatch(List<Task> tasks, TaskRemovalReason reason) {
+        sendBatch(tasks.stream()
+                .map(task -> buildEvent(task, TaskEventType.TASK_REMOVED, reason))
+                .toList());
+    }
+
+    private void sendBatch(List<TaskEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        outboxRepository.append(events.stream().map(this::toOutboxEvent).toList());
+        log.info("Queued TaskEvent batch: size={}", events.size());
+    }
+
     private void send(Long taskId, TaskEvent event) {
-        String key = taskId == null ? null : taskId.toString();
-        kafkaTemplate.send(TASK_EVENTS_TOPIC, key, event);
-        log.info("Published TaskEvent: type={}, taskId={}", event.getType(), taskId);
+        outboxRepository.append(List.of(toOutboxEvent(event)));
+        log.info("Queued TaskEvent: type={}, taskId={}", event.getType(), taskId);
+    }
+
+    private TaskOutboxEvent toOutboxEvent(TaskEvent event) {
+        Long taskId = event.getPayload().getTaskId();
+        try {
+            return new TaskOutboxEvent(
+                    null,
+                    taskId == null ? null : taskId.toString(),
+                    event.getType().name(),
+                    objectMapper.writeValueAsString(event));
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException("Cannot serialize TaskEvent " + event.getEventId(), e);
+        }
+    }
+
+    private TaskEvent buildStatusChangedEvent(Task task) {
+        return switch (task.getStatus()) {
+            case COMPLETED -> buildEvent(task, TaskEventType.TASK_COMPLETED, null);
+            case CANCELLED -> buildEvent(task, TaskEventType.TASK_REMOVED, TaskRemovalReason.CANCELED);
+            default -> buildEvent(task, TaskEventType.TASK_UPDATED, null);
+        };
     }
 
     private TaskEvent buildEvent(Task task, TaskEventType type, TaskRemovalReason removalReason) {
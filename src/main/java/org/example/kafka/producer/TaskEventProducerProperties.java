@@ -0,0 +1,21 @@
+package org.example.kafka.producer;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Throughput and durability profile of the TaskEvent producer ({@code task.kafka.producer.*}).
+ *
+ * <p>The relay hands Kafka a whole outbox batch before waiting, so a few milliseconds of linger and a
+ * larger batch size turn it into a handful of compressed requests per partition. Idempotence with
+ * {@code acks=all} keeps broker retries from duplicating or reordering events of one task.
+ */
+@ConfigurationProperties(prefix = "task.kafka.producer")
+public record TaskEventProducerProperties(
+        @DefaultValue("all") String acks,
+        @DefaultValue("true") boolean enableIdempotence,
+        @DefaultValue("lz4") String compressionType,
+        @DefaultValue("65536") int batchSize,
+        @DefaultValue("PT0.005S") Duration linger,
+        @DefaultValue("PT5S") Duration maxBlock) {}
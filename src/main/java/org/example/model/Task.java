@@ -22,4 +22,6 @@ public class Task {
     private Instant dueDate;
     private Instant createdAt;
     private Instant updatedAt;
+
+    private Long version; // bumped by every UPDATE, used for optimistic concurrency
 }
@@ -0,0 +1,4 @@
+package org.example.model;
+
+/** Cache key for a single task; owner-scoped so a cached task is never served to another user. */
+public record TaskCacheKey(long ownerId, long taskId) {}
@@ -0,0 +1,46 @@
+package org.example.model;
+
+import java.time.LocalDate;
+import org.example.kafka.event.TaskRemovalReason;
+
+/**
+ * Counts to add to one task_daily_stats row, folded from a batch of task events so the row is upserted once
+ * per batch instead of once per event.
+ */
+public record TaskDailyStatsDelta(
+        LocalDate statDate,
+        long createdCount,
+        long completedCount,
+        long removedTotalCount,
+        long removedDeletedCount,
+        long removedCanceledCount) {
+
+    public static TaskDailyStatsDelta created(LocalDate date) {
+        return new TaskDailyStatsDelta(date, 1, 0, 0, 0, 0);
+    }
+
+    public static TaskDailyStatsDelta completed(LocalDate date) {
+        return new TaskDailyStatsDelta(date, 0, 1, 0, 0, 0);
+    }
+
+    /** Counts toward the total; a null reason counts toward neither the deleted nor the canceled column. */
+    public static TaskDailyStatsDelta removed(LocalDate date, TaskRemovalReason reason) {
+        return new TaskDailyStatsDelta(
+                date,
+                0,
+                0,
+                1,
+                reason == TaskRemovalReason.DELETED ? 1 : 0,
+                reason == TaskRemovalReason.CANCELED ? 1 : 0);
+    }
+
+    public TaskDailyStatsDelta plus(TaskDailyStatsDelta other) {
+        return new TaskDailyStatsDelta(
+                statDate,
+                createdCount + other.createdCount,
+                completedCount + other.completedCount,
+                removedTotalCount + other.removedTotalCount,
+                removedDeletedCount + other.removedDeletedCount,
+                removedCanceledCount + other.removedCanceledCount);
+    }
+}
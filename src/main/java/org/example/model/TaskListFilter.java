@@ -0,0 +1,36 @@
+package org.example.model;
+
+import java.time.Instant;
+import java.util.Set;
+
+/**
+ * Filters and ordering for the task listing. Empty sets mean "any"; the due window is
+ * [dueFrom, dueTo) and excludes tasks without a due date when either bound is set.
+ */
+public record TaskListFilter(
+        Set<TaskStatus> statuses,
+        Set<TaskPriority> priorities,
+        Instant dueFrom,
+        Instant dueTo,
+        TaskSortField sort,
+        boolean ascending) {
+
+    public TaskListFilter {
+        statuses = statuses == null ? Set.of() : Set.copyOf(statuses);
+        priorities = priorities == null ? Set.of() : Set.copyOf(priorities);
+        sort = sort == null ? TaskSortField.CREATED_AT : sort;
+    }
+
+    /** The historical listing: everything, newest first. */
+    public static TaskListFilter none() {
+        return new TaskListFilter(Set.of(), Set.of(), null, null, TaskSortField.CREATED_AT, false);
+    }
+
+    public boolean hasConditions() {
+        return !statuses.isEmpty() || !priorities.isEmpty() || dueFrom != null || dueTo != null;
+    }
+
+    public boolean isDefault() {
+        return !hasConditions() && sort == TaskSortField.CREATED_AT && !ascending;
+    }
+}
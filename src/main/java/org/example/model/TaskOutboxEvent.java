@@ -0,0 +1,7 @@
+package org.example.model;
+
+/**
+ * A task event waiting in task_event_outbox (see V15): the Kafka key and the serialized TaskEvent.
+ * {@code id} is null until the row is inserted.
+ */
+public record TaskOutboxEvent(Long id, String eventKey, String eventType, String payload) {}
@@ -0,0 +1,11 @@
+package org.example.model;
+
+import java.time.Instant;
+
+/** The subset of editable Task fields to change; null fields are not written. */
+public record TaskPatch(String title, String description, TaskStatus status, TaskPriority priority, Instant dueDate) {
+
+    public boolean isEmpty() {
+        return title == null && description == null && status == null && priority == null && dueDate == null;
+    }
+}
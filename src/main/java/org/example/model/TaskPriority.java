@@ -1,7 +1,31 @@
 package org.example.model;
 
+/**
+ * Task priority; stored as the smallint {@link #code()} in task.priority. Codes follow the
+ * priority order, so ORDER BY priority sorts LOW &lt; MEDIUM &lt; HIGH.
+ */
 public enum TaskPriority {
-    LOW,
-    MEDIUM,
-    HIGH
+    LOW(1),
+    MEDIUM(2),
+    HIGH(3);
+
+    private final short code;
+
+    TaskPriority(int code) {
+        this.code = (short) code;
+    }
+
+    /** Database code; never reuse or renumber a code once it has been stored. */
+    public short code() {
+        return code;
+    }
+
+    public static TaskPriority fromCode(int code) {
+        for (TaskPriority priority : values()) {
+            if (priority.code == code) {
+                return priority;
+            }
+        }
+        throw new IllegalArgumentException("Unknown task priority code: " + code);
+    }
 }
@@ -0,0 +1,4 @@
+package org.example.model;
+
+/** A task matched by full-text search, with its ts_rank relevance score. */
+public record TaskSearchHit(Task task, float rank) {}
@@ -0,0 +1,24 @@
+package org.example.model;
+
+import java.util.Locale;
+
+/** Sort keys supported by the task listing; ties are always broken by id. */
+public enum TaskSortField {
+    CREATED_AT,
+    DUE_DATE,
+    PRIORITY,
+    UPDATED_AT;
+
+    /** Accepts the API names (createdAt, dueDate, priority, updatedAt), case-insensitive. */
+    public static TaskSortField from(String value) {
+        String normalized = value.trim().replace("_", "").toLowerCase(Locale.ROOT);
+        return switch (normalized) {
+            case "createdat", "created" -> CREATED_AT;
+            case "duedate", "due" -> DUE_DATE;
+            case "priority" -> PRIORITY;
+            case "updatedat", "updated" -> UPDATED_AT;
+            default -> throw new IllegalArgumentException(
+                    "sort must be one of: createdAt, dueDate, priority, updatedAt");
+        };
+    }
+}
@@ -1,8 +1,29 @@
 package org.example.model;
 
+/** Task lifecycle state; stored as the smallint {@link #code()} in task.status. */
 public enum TaskStatus {
-    OPEN,
-    IN_PROGRESS,
-    COMPLETED,
-    CANCELLED
+    OPEN(0),
+    IN_PROGRESS(1),
+    COMPLETED(2),
+    CANCELLED(3);
+
+    private final short code;
+
+    TaskStatus(int code) {
+        this.code = (short) code;
+    }
+
+    /** Database code; never reuse or renumber a code once it has been stored. */
+    public short code() {
+        return code;
+    }
+
+    public static TaskStatus fromCode(int code) {
+        for (TaskStatus status : values()) {
+            if (status.code == code) {
+                return status;
+            }
+        }
+        throw new IllegalArgumentException("Unknown task status code: " + code);
+    }
 }
@@ -1,10 +1,14 @@
 package org.example.repository;
 
+import java.time.Instant;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
-import org.example.kafka.event.TaskRemovalReason;
+import java.util.Set;
+import java.util.function.Function;
 import org.example.model.TaskDailyStats;
+import org.example.model.TaskDailyStatsDelta;
 
 /**
  * Repository for writing aggregated analytics data. This layer defines business-level persistence
@@ -12,11 +16,18 @@ import org.example.model.TaskDailyStats;
  */
 public interface AnalyticsRepository {
 
-    void incrementDailyCreatedCount(LocalDate date);
+    /** Adds all deltas atomically: either every date's row is updated or none is. */
+    void applyDailyDeltas(Collection<TaskDailyStatsDelta> deltas);
 
-    void incrementDailyCompletedCount(LocalDate date);
+    /**
+     * Records {@code eventIds} as applied and, in the same transaction, adds the deltas that
+     * {@code deltasOfNewEvents} computes from the ids not recorded before. A redelivered event is counted once.
+     */
+    void applyDailyDeltasOnce(
+            Collection<String> eventIds, Function<Set<String>, Collection<TaskDailyStatsDelta>> deltasOfNewEvents);
 
-    void incrementDailyRemovedCount(LocalDate date, TaskRemovalReason reason);
+    /** Forgets applied event ids recorded before {@code appliedBefore}; returns how many. */
+    int deleteAppliedEventsBefore(Instant appliedBefore);
 
     Optional<TaskDailyStats> findDailyStats(LocalDate date);
 
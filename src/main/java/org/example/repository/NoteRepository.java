@@ -10,6 +10,9 @@ public interface NoteRepository {
 
     Optional<Note> findByIdAndOwnerId(Long id, Long ownerId);
 
+    // Grows on every insert / update / delete of the owner's notes
+    long findChangeVersionByOwnerId(Long ownerId);
+
     Note save(Note note);
 
     void delete(Note note);
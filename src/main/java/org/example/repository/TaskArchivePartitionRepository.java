@@ -0,0 +1,20 @@
+package org.example.repository;
+
+import java.time.YearMonth;
+import java.util.List;
+
+/**
+ * DDL for the monthly partitions of task_archive (see V13). Months are UTC; a partition covers
+ * [first instant of the month, first instant of the next month).
+ */
+public interface TaskArchivePartitionRepository {
+
+    /** Months that currently have a partition, oldest first. */
+    List<YearMonth> findPartitionMonths();
+
+    /** Creates the missing partitions for {@code from}..{@code to} (inclusive); returns the months created. */
+    List<YearMonth> createPartitions(YearMonth from, YearMonth to);
+
+    /** Drops every partition for a month before {@code month}, with its rows; returns the months dropped. */
+    List<YearMonth> dropPartitionsBefore(YearMonth month);
+}
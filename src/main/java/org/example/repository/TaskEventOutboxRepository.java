@@ -0,0 +1,19 @@
+package org.example.repository;
+
+import java.util.List;
+import java.util.function.Consumer;
+import org.example.model.TaskOutboxEvent;
+
+/** The task_event_outbox queue (see V15) between task writes and Kafka. */
+public interface TaskEventOutboxRepository {
+
+    /** Inserts the events; joins the caller's transaction, so they commit or roll back with the task change. */
+    void append(List<TaskOutboxEvent> events);
+
+    /**
+     * Locks up to {@code limit} of the oldest unlocked events, hands them to {@code publisher} and deletes
+     * them, all in one transaction. If {@code publisher} throws, the events stay queued for the next
+     * attempt. Returns the number of events published.
+     */
+    int relay(int limit, Consumer<List<TaskOutboxEvent>> publisher);
+}
@@ -0,0 +1,26 @@
+package org.example.repository;
+
+import java.io.Reader;
+import java.util.List;
+import java.util.function.Consumer;
+import org.example.model.Task;
+
+/** Bulk task loading through PostgreSQL COPY. */
+public interface TaskImportRepository {
+
+    /**
+     * Column order of the CSV accepted by {@link #importCsv}; the first line is a header and is
+     * skipped.
+     */
+    String CSV_COLUMNS = "ownerId,title,description,status,priority,dueDate";
+
+    /**
+     * COPYs {@code csv} into a staging table, validates every row and owner in bulk, and inserts all
+     * rows into task in one transaction (all or nothing). Before that transaction commits, the inserted
+     * tasks are handed to {@code onImported} in chunks of {@code batchSize}, so work done there commits
+     * with them. Invalid input is an IllegalArgumentException.
+     *
+     * @return number of tasks inserted
+     */
+    long importCsv(Reader csv, int batchSize, Consumer<List<Task>> onImported);
+}
@@ -1,9 +1,17 @@
 package org.example.repository;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
+import org.example.dto.CursorPage;
 import org.example.dto.PagedResponse;
+import org.example.dto.TaskCursor;
+import org.example.dto.TaskSearchCursor;
 import org.example.model.Task;
+import org.example.model.TaskListFilter;
+import org.example.model.TaskPatch;
+import org.example.model.TaskStatus;
 import org.springframework.data.domain.Pageable;
 
 /** Repository abstraction on top of TaskDao. */
@@ -11,13 +19,71 @@ public interface TaskRepository {
 
     Task createTask(Task task);
 
+    /** Inserts all tasks in one transaction and one JDBC batch; generated ids are set on the inputs. */
+    List<Task> createTasks(List<Task> tasks);
+
     PagedResponse<Task> findTasksByOwner(long ownerId, Pageable pageable);
 
+    /** Offset page of the owner's tasks matching {@code filter}, in the filter's order. */
+    PagedResponse<Task> findTasksByOwner(long ownerId, TaskListFilter filter, Pageable pageable);
+
+    /** Grows on every insert / update / delete of the owner's tasks; 0 if the owner never had one. */
+    long findTaskChangeVersion(long ownerId);
+
+    /** Keyset page ordered by (created_at, id) descending; a null cursor starts from the newest task. */
+    CursorPage<Task> findTasksByOwnerAfter(long ownerId, TaskCursor cursor, int size, boolean includeTotal);
+
+    /**
+     * Streams every task of the owner (newest first) into {@code sink}, one row at a time, inside a
+     * read-only transaction so the driver fetches in chunks instead of buffering the full result.
+     */
+    void forEachTaskByOwner(long ownerId, Consumer<Task> sink);
+
+    /**
+     * Full-text search over title and description, best match first; a null cursor starts from the
+     * top hit. {@code totalElements} is never populated.
+     */
+    CursorPage<Task> searchTasks(long ownerId, String query, TaskSearchCursor cursor, int size);
+
+    /** Hot table only: archived tasks are read-only, so write paths never see them. */
     Optional<Task> findTaskByIdAndOwner(long taskId, long ownerId);
 
-    boolean updateTask(Task task);
+    /** Like {@link #findTaskByIdAndOwner}, falling back to task_archive for finished, archived tasks. */
+    Optional<Task> findTaskByIdAndOwnerIncludingArchive(long taskId, long ownerId);
+
+    /** Offset page of the owner's archived tasks, newest first. */
+    PagedResponse<Task> findArchivedTasksByOwner(long ownerId, Pageable pageable);
+
+    /**
+     * Moves up to {@code batchSize} COMPLETED / CANCELLED tasks last updated before {@code
+     * finishedBefore} into task_archive, in one transaction. Rows locked by other transactions are
+     * skipped. Returns the number of tasks moved.
+     */
+    int archiveFinishedTasks(Instant finishedBefore, int batchSize);
+
+    /** Full update of the editable fields; returns the stored row, or empty if the task is not the owner's. */
+    Optional<Task> updateTask(Task task);
+
+    /**
+     * Writes only the non-null fields of {@code patch}, and only if the stored version still equals
+     * {@code expectedVersion}. Returns the updated row, or empty if the task is missing or the version
+     * no longer matches.
+     */
+    Optional<Task> patchTask(long taskId, long ownerId, long expectedVersion, TaskPatch patch, Instant updatedAt);
+
+    Optional<Task> updateTaskStatus(long taskId, long ownerId, TaskStatus status, Instant updatedAt);
+
+    /** Deletes the task and returns the removed row, or empty if the task is not the owner's. */
+    Optional<Task> deleteTask(long taskId, long ownerId);
+
+    /**
+     * Applies {@code statuses[i]} to {@code taskIds[i]} in one transaction and one JDBC batch. Returns
+     * the owner's tasks that were updated; ids that did not match are simply absent.
+     */
+    List<Task> updateTaskStatuses(long ownerId, List<Long> taskIds, List<TaskStatus> statuses, Instant updatedAt);
 
-    boolean deleteTask(long taskId, long ownerId);
+    /** Deletes the owner's tasks with the given ids in one statement and returns the removed rows. */
+    List<Task> deleteTasks(long ownerId, List<Long> taskIds);
 
     List<Task> findTasksForTomorrow(long ownerId, java.time.Instant tomorrowEnd);
 
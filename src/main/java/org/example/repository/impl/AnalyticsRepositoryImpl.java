@@ -1,66 +1,71 @@
 package org.example.repository.impl;
 
+import java.time.Instant;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
 import org.example.dao.AnalyticsDao;
-import org.example.kafka.event.TaskRemovalReason;
+import org.example.datasource.ReadRouting;
 import org.example.model.TaskDailyStats;
+import org.example.model.TaskDailyStatsDelta;
 import org.example.repository.AnalyticsRepository;
 import org.jdbi.v3.core.Jdbi;
 import org.springframework.stereotype.Repository;
 
 /**
- * Repository implementation for aggregated analytics. Delegates SQL work to AnalyticsDao using
- * jdbi.withExtension, following the same style as TaskRepositoryImpl.
+ * Repository implementation for aggregated analytics. Delegates SQL work to an on-demand AnalyticsDao,
+ * following the same style as TaskRepositoryImpl.
  */
 @Repository
 public class AnalyticsRepositoryImpl implements AnalyticsRepository {
 
     private final Jdbi jdbi;
+    private final AnalyticsDao analyticsDao;
 
     public AnalyticsRepositoryImpl(Jdbi jdbi) {
         this.jdbi = jdbi;
+        this.analyticsDao = jdbi.onDemand(AnalyticsDao.class);
     }
 
     @Override
-    public void incrementDailyCreatedCount(LocalDate date) {
-        jdbi.useExtension(AnalyticsDao.class, dao -> dao.incrementDailyCreatedCount(date));
+    public void applyDailyDeltas(Collection<TaskDailyStatsDelta> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        // @SqlBatch runs in its own transaction
+        analyticsDao.applyDailyDeltas(deltas);
     }
 
     @Override
-    public void incrementDailyCompletedCount(LocalDate date) {
-        jdbi.useExtension(AnalyticsDao.class, dao -> dao.incrementDailyCompletedCount(date));
+    public void applyDailyDeltasOnce(
+            Collection<String> eventIds, Function<Set<String>, Collection<TaskDailyStatsDelta>> deltasOfNewEvents) {
+        jdbi.useTransaction(handle -> {
+            AnalyticsDao dao = handle.attach(AnalyticsDao.class);
+            Set<String> newEventIds =
+                    eventIds.isEmpty() ? Set.of() : dao.insertAppliedEventIds(eventIds.toArray(String[]::new));
+            Collection<TaskDailyStatsDelta> deltas = deltasOfNewEvents.apply(newEventIds);
+            if (!deltas.isEmpty()) {
+                dao.applyDailyDeltas(deltas);
+            }
+        });
     }
 
     @Override
-    public void incrementDailyRemovedCount(LocalDate date, TaskRemovalReason reason) {
-
-        int deletedInc;
-        int canceledInc;
-
-        if (reason == TaskRemovalReason.DELETED) {
-            canceledInc = 0;
-            deletedInc = 1;
-        } else {
-            deletedInc = 0;
-            if (reason == TaskRemovalReason.CANCELED) {
-                canceledInc = 1;
-            } else {
-                canceledInc = 0;
-            }
-        }
-
-        jdbi.useExtension(AnalyticsDao.class, dao -> dao.incrementDailyRemovedCount(date, deletedInc, canceledInc));
+    public int deleteAppliedEventsBefore(Instant appliedBefore) {
+        return analyticsDao.deleteAppliedEventsBefore(appliedBefore);
     }
 
     @Override
     public Optional<TaskDailyStats> findDailyStats(LocalDate date) {
-        return jdbi.withExtension(AnalyticsDao.class, dao -> Optional.ofNullable(dao.findStatsByDate(date)));
+        return Optional.ofNullable(analyticsDao.findStatsByDate(date));
     }
 
     @Override
     public List<TaskDailyStats> findStatsByDateRange(LocalDate startDate, LocalDate endDate) {
-        return jdbi.withExtension(AnalyticsDao.class, dao -> dao.findStatsByDateRange(startDate, endDate));
+        // global history for dashboards and AI summaries; replica lag is irrelevant here
+        return ReadRouting.onReplica(null, () -> analyticsDao.findStatsByDateRange(startDate, endDate));
     }
 }
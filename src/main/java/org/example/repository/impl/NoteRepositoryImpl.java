@@ -13,9 +13,11 @@ import org.springframework.stereotype.Repository;
 public class NoteRepositoryImpl implements NoteRepository {
 
     private final Jdbi jdbi;
+    private final NoteDao noteDao;
 
     public NoteRepositoryImpl(Jdbi jdbi) {
         this.jdbi = jdbi;
+        this.noteDao = jdbi.onDemand(NoteDao.class);
     }
 
     @Override
@@ -24,26 +26,33 @@ public class NoteRepositoryImpl implements NoteRepository {
         int size = pageable.getPageSize();
         int offset = page * size;
 
-        List<Note> content = jdbi.withExtension(NoteDao.class, dao -> dao.findByOwnerIdPaged(ownerId, size, offset));
-        long total = jdbi.withExtension(NoteDao.class, dao -> dao.countByOwnerId(ownerId));
-
-        return new PageImpl<>(content, pageable, total);
+        // page + total on one handle; the total is an O(1) counter lookup
+        return jdbi.withExtension(NoteDao.class, dao -> {
+            List<Note> content = dao.findByOwnerIdPaged(ownerId, size, offset);
+            long total = dao.countByOwnerId(ownerId);
+            return new PageImpl<>(content, pageable, total);
+        });
     }
 
     @Override
     public Optional<Note> findByIdAndOwnerId(Long id, Long ownerId) {
-        return jdbi.withExtension(NoteDao.class, dao -> dao.findByIdAndOwnerId(id, ownerId));
+        return noteDao.findByIdAndOwnerId(id, ownerId);
+    }
+
+    @Override
+    public long findChangeVersionByOwnerId(Long ownerId) {
+        return noteDao.findChangeVersionByOwnerId(ownerId);
     }
 
     @Override
     public Note save(Note note) {
         if (note.getId() == null) {
-            Long id = jdbi.withExtension(NoteDao.class, dao -> dao.insertReturnId(note));
+            Long id = noteDao.insertReturnId(note);
             note.setId(id);
             return note;
         } else {
             // update owned record (ownerId required)
-            int updated = jdbi.withExtension(NoteDao.class, dao -> dao.updateOwned(note));
+            int updated = noteDao.updateOwned(note);
             if (updated == 0) {
                 throw new IllegalStateException("Update failed (not found or not owner).");
             }
@@ -56,7 +65,7 @@ public class NoteRepositoryImpl implements NoteRepository {
         if (note.getId() == null || note.getOwnerId() == null) {
             throw new IllegalArgumentException("Note id and ownerId are required for delete.");
         }
-        int deleted = jdbi.withExtension(NoteDao.class, dao -> dao.deleteOwned(note.getId(), note.getOwnerId()));
+        int deleted = noteDao.deleteOwned(note.getId(), note.getOwnerId());
         if (deleted == 0) {
             throw new IllegalStateException("Delete failed (not found or not owner).");
         }
@@ -67,8 +76,8 @@ public class NoteRepositoryImpl implements NoteRepository {
         int size = pageable.getPageSize();
         int offset = pageable.getPageNumber() * size;
 
-        List<Note> content = jdbi.withExtension(NoteDao.class, dao -> dao.findAllPaged(size, offset));
-        long total = jdbi.withExtension(NoteDao.class, NoteDao::countAll);
+        List<Note> content = noteDao.findAllPaged(size, offset);
+        long total = noteDao.countAll();
 
         return new PageImpl<>(content, pageable, total);
     }
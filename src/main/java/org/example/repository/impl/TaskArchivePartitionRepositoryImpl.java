@@ -0,0 +1,89 @@
+package org.example.repository.impl;
+
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.example.repository.TaskArchivePartitionRepository;
+import org.jdbi.v3.core.Handle;
+import org.jdbi.v3.core.Jdbi;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public class TaskArchivePartitionRepositoryImpl implements TaskArchivePartitionRepository {
+
+    // same naming as the V13 migration: task_archive_yYYYYmMM
+    private static final Pattern PARTITION_NAME = Pattern.compile("task_archive_y(\\d{4})m(\\d{2})");
+
+    private static final String SELECT_PARTITIONS =
+            """
+            SELECT c.relname
+            FROM pg_inherits i
+            JOIN pg_class c ON c.oid = i.inhrelid
+            WHERE i.inhparent = 'task_archive'::regclass
+            """;
+
+    // every node runs maintenance; the lock makes concurrent runs take turns instead of racing on DDL
+    private static final String LOCK = "SELECT pg_advisory_xact_lock(hashtext('task_archive_partitions'))";
+
+    private final Jdbi jdbi;
+
+    public TaskArchivePartitionRepositoryImpl(Jdbi jdbi) {
+        this.jdbi = jdbi;
+    }
+
+    @Override
+    public List<YearMonth> findPartitionMonths() {
+        return jdbi.withHandle(TaskArchivePartitionRepositoryImpl::partitionMonths);
+    }
+
+    @Override
+    public List<YearMonth> createPartitions(YearMonth from, YearMonth to) {
+        return jdbi.inTransaction(handle -> {
+            handle.execute(LOCK);
+            List<YearMonth> existing = partitionMonths(handle);
+            List<YearMonth> created = new ArrayList<>();
+            for (YearMonth month = from; !month.isAfter(to); month = month.plusMonths(1)) {
+                if (!existing.contains(month)) {
+                    handle.execute("CREATE TABLE %s PARTITION OF task_archive FOR VALUES FROM ('%s') TO ('%s')"
+                            .formatted(partitionName(month), lowerBound(month), lowerBound(month.plusMonths(1))));
+                    created.add(month);
+                }
+            }
+            return created;
+        });
+    }
+
+    @Override
+    public List<YearMonth> dropPartitionsBefore(YearMonth month) {
+        return jdbi.inTransaction(handle -> {
+            handle.execute(LOCK);
+            List<YearMonth> dropped = new ArrayList<>();
+            for (YearMonth existing : partitionMonths(handle)) {
+                if (existing.isBefore(month)) {
+                    handle.execute("DROP TABLE " + partitionName(existing));
+                    dropped.add(existing);
+                }
+            }
+            return dropped;
+        });
+    }
+
+    private static List<YearMonth> partitionMonths(Handle handle) {
+        return handle.createQuery(SELECT_PARTITIONS).mapTo(String.class).stream()
+                .map(PARTITION_NAME::matcher)
+                .filter(Matcher::matches)
+                .map(m -> YearMonth.of(Integer.parseInt(m.group(1)), Integer.parseInt(m.group(2))))
+                .sorted()
+                .toList();
+    }
+
+    private static String partitionName(YearMonth month) {
+        return "task_archive_y%04dm%02d".formatted(month.getYear(), month.getMonthValue());
+    }
+
+    private static String lowerBound(YearMonth month) {
+        return month.atDay(1) + " 00:00:00+00";
+    }
+}
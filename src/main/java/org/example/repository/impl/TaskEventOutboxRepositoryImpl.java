@@ -0,0 +1,46 @@
+package org.example.repository.impl;
+
+import java.util.List;
+import java.util.function.Consumer;
+import org.example.dao.TaskEventOutboxDao;
+import org.example.model.TaskOutboxEvent;
+import org.example.repository.TaskEventOutboxRepository;
+import org.jdbi.v3.core.Jdbi;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public class TaskEventOutboxRepositoryImpl implements TaskEventOutboxRepository {
+
+    private final Jdbi jdbi;
+    private final TaskEventOutboxDao outboxDao;
+
+    public TaskEventOutboxRepositoryImpl(Jdbi jdbi) {
+        this.jdbi = jdbi;
+        this.outboxDao = jdbi.onDemand(TaskEventOutboxDao.class);
+    }
+
+    @Override
+    public void append(List<TaskOutboxEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        outboxDao.insertEvents(events);
+    }
+
+    @Override
+    public int relay(int limit, Consumer<List<TaskOutboxEvent>> publisher) {
+        return jdbi.inTransaction(handle -> {
+            TaskEventOutboxDao dao = handle.attach(TaskEventOutboxDao.class);
+            if (!dao.tryLockRelay()) {
+                return 0; // another node is relaying
+            }
+            List<TaskOutboxEvent> events = dao.lockOldestEvents(limit);
+            if (events.isEmpty()) {
+                return 0;
+            }
+            publisher.accept(events);
+            return dao.deleteEvents(
+                    events.stream().mapToLong(TaskOutboxEvent::id).toArray());
+        });
+    }
+}
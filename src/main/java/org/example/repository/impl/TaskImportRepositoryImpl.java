@@ -0,0 +1,172 @@
+package org.example.repository.impl;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.ToIntFunction;
+import org.example.model.Task;
+import org.example.model.TaskPriority;
+import org.example.model.TaskStatus;
+import org.example.repository.TaskImportRepository;
+import org.jdbi.v3.core.Handle;
+import org.jdbi.v3.core.Jdbi;
+import org.postgresql.PGConnection;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public class TaskImportRepositoryImpl implements TaskImportRepository {
+
+    // untyped where the input may be wrong, so bad values are reported by validation, not by COPY
+    private static final String CREATE_STAGE =
+            """
+            CREATE TEMP TABLE task_import_stage (
+                owner_id    BIGINT,
+                title       TEXT,
+                description TEXT,
+                status      TEXT,
+                priority    TEXT,
+                due_date    TIMESTAMPTZ
+            ) ON COMMIT DROP
+            """;
+
+    // the new ids, so the rows can be read back for events before the commit
+    private static final String CREATE_IMPORTED_IDS =
+            "CREATE TEMP TABLE task_import_ids (id BIGINT PRIMARY KEY) ON COMMIT DROP";
+
+    private static final String COPY_STAGE =
+            """
+            COPY task_import_stage (owner_id, title, description, status, priority, due_date)
+            FROM STDIN WITH (FORMAT csv, HEADER true)
+            """;
+
+    private static final String COUNT_INVALID_ROWS =
+            """
+            SELECT COUNT(*)
+            FROM task_import_stage
+            WHERE owner_id IS NULL
+               OR title IS NULL
+               OR length(title) > 255
+               OR status NOT IN (%s)
+               OR priority NOT IN (%s)
+            """
+                    .formatted(names(TaskStatus.values()), names(TaskPriority.values()));
+
+    private static final String FIND_UNKNOWN_OWNERS =
+            """
+            SELECT DISTINCT s.owner_id
+            FROM task_import_stage s
+            WHERE NOT EXISTS (SELECT 1 FROM app_user u WHERE u.id = s.owner_id)
+            ORDER BY s.owner_id
+            LIMIT 10
+            """;
+
+    private static final String INSERT_FROM_STAGE =
+            """
+            WITH inserted AS (
+                INSERT INTO task (owner_id, title, description, status, priority, due_date)
+                SELECT owner_id, title, description, COALESCE(%s, %d), %s, due_date
+                FROM task_import_stage
+                RETURNING id
+            )
+            INSERT INTO task_import_ids (id)
+            SELECT id FROM inserted
+            """
+                    .formatted(
+                            toCode("status", TaskStatus.values(), TaskStatus::code),
+                            TaskStatus.OPEN.code(),
+                            toCode("priority", TaskPriority.values(), TaskPriority::code));
+
+    private static final String SELECT_IMPORTED =
+            """
+            SELECT t.id, t.owner_id, t.title, t.description, t.status, t.priority, t.due_date, t.created_at,
+                   t.updated_at, t.version
+            FROM task t
+            JOIN task_import_ids i ON i.id = t.id
+            ORDER BY t.id
+            """;
+
+    private final Jdbi jdbi;
+
+    public TaskImportRepositoryImpl(Jdbi jdbi) {
+        this.jdbi = jdbi;
+    }
+
+    @Override
+    public long importCsv(Reader csv, int batchSize, Consumer<List<Task>> onImported) {
+        return jdbi.inTransaction(tx -> {
+            tx.execute(CREATE_STAGE);
+            tx.execute(CREATE_IMPORTED_IDS);
+            copy(tx, csv);
+            tx.execute("ANALYZE task_import_stage");
+            validate(tx);
+            long rows = tx.execute(INSERT_FROM_STAGE);
+
+            // still in the transaction: read the new rows back in chunks
+            List<Task> batch = new ArrayList<>(batchSize);
+            tx.createQuery(SELECT_IMPORTED)
+                    .setFetchSize(batchSize)
+                    .mapToBean(Task.class)
+                    .forEach(task -> {
+                        batch.add(task);
+                        if (batch.size() == batchSize) {
+                            onImported.accept(List.copyOf(batch));
+                            batch.clear();
+                        }
+                    });
+            if (!batch.isEmpty()) {
+                onImported.accept(List.copyOf(batch));
+            }
+            return rows;
+        });
+    }
+
+    private static void copy(Handle tx, Reader csv) {
+        try {
+            tx.getConnection().unwrap(PGConnection.class).getCopyAPI().copyIn(COPY_STAGE, csv);
+        } catch (SQLException e) {
+            // malformed CSV, wrong column count, unparsable number/timestamp, ...
+            throw new IllegalArgumentException("Invalid import data: " + e.getMessage(), e);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void validate(Handle tx) {
+        long invalid = tx.createQuery(COUNT_INVALID_ROWS).mapTo(Long.class).one();
+        if (invalid > 0) {
+            throw new IllegalArgumentException(
+                    invalid + " rows have a missing owner/title, a title over 255 characters, "
+                            + "or an invalid status/priority");
+        }
+
+        List<Long> unknownOwners =
+                tx.createQuery(FIND_UNKNOWN_OWNERS).mapTo(Long.class).list();
+        if (!unknownOwners.isEmpty()) {
+            throw new IllegalArgumentException("Unknown owner ids: " + unknownOwners);
+        }
+    }
+
+    // The file format carries enum names; the table stores their smallint codes (see V10).
+    private static String names(Enum<?>[] values) {
+        StringBuilder sql = new StringBuilder();
+        for (Enum<?> value : values) {
+            sql.append(sql.isEmpty() ? "" : ", ")
+                    .append('\'')
+                    .append(value.name())
+                    .append('\'');
+        }
+        return sql.toString();
+    }
+
+    private static <E extends Enum<E>> String toCode(String column, E[] values, ToIntFunction<E> code) {
+        StringBuilder sql = new StringBuilder("CASE ").append(column);
+        for (E value : values) {
+            sql.append(" WHEN '").append(value.name()).append("' THEN ").append(code.applyAsInt(value));
+        }
+        return sql.append(" END").toString();
+    }
+}
@@ -1,43 +1,164 @@
 package org.example.repository.impl;
 
+import java.time.Instant;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.example.dao.TaskArchiveDao;
 import org.example.dao.TaskDao;
+import org.example.datasource.ReadRouting;
+import org.example.dto.CursorPage;
 import org.example.dto.PagedResponse;
+import org.example.dto.TaskCursor;
+import org.example.dto.TaskSearchCursor;
 import org.example.model.Task;
+import org.example.model.TaskListFilter;
+import org.example.model.TaskPatch;
+import org.example.model.TaskSearchHit;
+import org.example.model.TaskSortField;
+import org.example.model.TaskStatus;
 import org.example.repository.TaskRepository;
 import org.jdbi.v3.core.Jdbi;
+import org.jdbi.v3.core.statement.Query;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public class TaskRepositoryImpl implements TaskRepository {
 
+    /**
+     * Matches of one search that are ranked (and can be paged through). A query matching more of the owner's
+     * tasks returns the best of the first ones the index yields; narrowing the query finds the rest.
+     */
+    static final int MAX_RANKED_SEARCH_MATCHES = 500;
+
+    // the Task columns; never *, which would also ship search_vector
+    private static final String TASK_COLUMNS =
+            "id, owner_id, title, description, status, priority, due_date, created_at, updated_at, version";
+
     private final Jdbi jdbi;
+    private final TaskDao taskDao;
 
     public TaskRepositoryImpl(Jdbi jdbi) {
         this.jdbi = jdbi;
+        this.taskDao = jdbi.onDemand(TaskDao.class);
     }
 
     @Override
     public Task createTask(Task task) {
-        long id = jdbi.withExtension(TaskDao.class, dao -> dao.insertTask(task));
+        long id = taskDao.insertTask(task);
         task.setId(id);
         return task;
     }
 
+    @Override
+    public List<Task> createTasks(List<Task> tasks) {
+        long[] ids = jdbi.inTransaction(handle -> handle.attach(TaskDao.class).insertTasks(tasks));
+        for (int i = 0; i < ids.length; i++) {
+            tasks.get(i).setId(ids[i]);
+        }
+        return tasks;
+    }
+
     @Override
     public PagedResponse<Task> findTasksByOwner(long ownerId, Pageable pageable) {
         int page = pageable.getPageNumber();
         int size = pageable.getPageSize();
         int offset = page * size;
 
-        // 1. find the current page
-        List<Task> tasks = jdbi.withExtension(TaskDao.class, dao -> dao.findTasksByOwnerPaged(ownerId, size, offset));
+        // page + total on one handle (one connection checkout); the total is an O(1) counter lookup
+        return jdbi.withExtension(TaskDao.class, dao -> {
+            // 1. find the current page
+            List<Task> tasks = dao.findTasksByOwnerPaged(ownerId, size, offset);
+
+            // 2. find the total number of tasks
+            long totalElements = dao.countTasksByOwner(ownerId);
+
+            return toPagedResponse(tasks, page, size, totalElements);
+        });
+    }
+
+    @Override
+    public PagedResponse<Task> findTasksByOwner(long ownerId, TaskListFilter filter, Pageable pageable) {
+        if (filter.isDefault()) {
+            return findTasksByOwner(ownerId, pageable);
+        }
+        int page = pageable.getPageNumber();
+        int size = pageable.getPageSize();
+
+        // Only fixed SQL fragments are concatenated; every user-supplied value is a bind parameter.
+        StringBuilder where = new StringBuilder("owner_id = :ownerId");
+        if (!filter.statuses().isEmpty()) {
+            where.append(" AND status IN (<statuses>)");
+        }
+        if (!filter.priorities().isEmpty()) {
+            where.append(" AND priority IN (<priorities>)");
+        }
+        if (filter.dueFrom() != null) {
+            where.append(" AND due_date >= :dueFrom");
+        }
+        if (filter.dueTo() != null) {
+            where.append(" AND due_date < :dueTo");
+        }
+        String orderBy = orderBy(filter.sort(), filter.ascending() ? "ASC" : "DESC");
+
+        String pageSql = "SELECT " + TASK_COLUMNS + " FROM task WHERE " + where + " ORDER BY " + orderBy
+                + " LIMIT :limit OFFSET :offset";
+        String countSql = "SELECT COUNT(*) FROM task WHERE " + where;
+
+        return jdbi.withHandle(handle -> {
+            List<Task> tasks = bindFilter(handle.createQuery(pageSql), ownerId, filter)
+                    .bind("limit", size)
+                    .bind("offset", page * size)
+                    .mapToBean(Task.class)
+                    .list();
+
+            // the per-owner counter only knows the unfiltered total
+            long totalElements = filter.hasConditions()
+                    ? bindFilter(handle.createQuery(countSql), ownerId, filter)
+                            .mapTo(Long.class)
+                            .one()
+                    : handle.attach(TaskDao.class).countTasksByOwner(ownerId);
+
+            return toPagedResponse(tasks, page, size, totalElements);
+        });
+    }
 
-        // 2. find the total number of tasks
-        long totalElements = jdbi.withExtension(TaskDao.class, dao -> dao.countTasksByOwner(ownerId));
+    // Sort whitelist: API sort keys map to fixed ORDER BY clauses only. All keys run in one
+    // direction and end with id, so each matching V9/V10 index can be scanned forward or backward.
+    private static String orderBy(TaskSortField sort, String direction) {
+        String keys =
+                switch (sort) {
+                    case CREATED_AT -> "created_at %1$s, id %1$s";
+                    case DUE_DATE -> "due_date %1$s, id %1$s";
+                    case PRIORITY -> "priority %1$s, created_at %1$s, id %1$s";
+                    case UPDATED_AT -> "updated_at %1$s, id %1$s";
+                };
+        return keys.formatted(direction);
+    }
 
+    private static Query bindFilter(Query query, long ownerId, TaskListFilter filter) {
+        query.bind("ownerId", ownerId);
+        if (!filter.statuses().isEmpty()) {
+            query.bindList("statuses", List.copyOf(filter.statuses()));
+        }
+        if (!filter.priorities().isEmpty()) {
+            query.bindList("priorities", List.copyOf(filter.priorities()));
+        }
+        if (filter.dueFrom() != null) {
+            query.bind("dueFrom", filter.dueFrom());
+        }
+        if (filter.dueTo() != null) {
+            query.bind("dueTo", filter.dueTo());
+        }
+        return query;
+    }
+
+    private static PagedResponse<Task> toPagedResponse(List<Task> tasks, int page, int size, long totalElements) {
         int totalPages = (size == 0) ? 0 : (int) ((totalElements + size - 1) / size); // 向上取整
 
         boolean hasNext = page + 1 < totalPages;
@@ -46,30 +167,175 @@ public class TaskRepositoryImpl implements TaskRepository {
         return new PagedResponse<>(tasks, page, size, totalElements, totalPages, hasNext, hasPrevious);
     }
 
+    @Override
+    public long findTaskChangeVersion(long ownerId) {
+        return taskDao.findTaskChangeVersion(ownerId);
+    }
+
+    @Override
+    public CursorPage<Task> findTasksByOwnerAfter(long ownerId, TaskCursor cursor, int size, boolean includeTotal) {
+        // fetch one extra row to know whether another page exists, without counting
+        int limit = size + 1;
+
+        return jdbi.withExtension(TaskDao.class, dao -> {
+            List<Task> rows = (cursor == null)
+                    ? dao.findTasksByOwnerFirstPage(ownerId, limit)
+                    : dao.findTasksByOwnerAfter(ownerId, cursor.createdAt(), cursor.id(), limit);
+
+            boolean hasNext = rows.size() > size;
+            List<Task> tasks = hasNext ? rows.subList(0, size) : rows;
+            String nextCursor =
+                    hasNext ? TaskCursor.of(tasks.get(tasks.size() - 1)).encode() : null;
+            Long totalElements = includeTotal ? dao.countTasksByOwner(ownerId) : null;
+
+            return new CursorPage<>(tasks, size, nextCursor, hasNext, totalElements);
+        });
+    }
+
+    @Override
+    public CursorPage<Task> searchTasks(long ownerId, String query, TaskSearchCursor cursor, int size) {
+        // same "one extra row" trick as findTasksByOwnerAfter
+        int limit = size + 1;
+
+        List<TaskSearchHit> hits = (cursor == null)
+                ? taskDao.searchTasksFirstPage(ownerId, query, MAX_RANKED_SEARCH_MATCHES, limit)
+                : taskDao.searchTasksAfter(
+                        ownerId, query, MAX_RANKED_SEARCH_MATCHES, cursor.rank(), cursor.id(), limit);
+
+        boolean hasNext = hits.size() > size;
+        List<TaskSearchHit> page = hasNext ? hits.subList(0, size) : hits;
+        String nextCursor =
+                hasNext ? TaskSearchCursor.of(page.get(page.size() - 1)).encode() : null;
+        List<Task> tasks = page.stream().map(TaskSearchHit::task).toList();
+
+        return new CursorPage<>(tasks, size, nextCursor, hasNext, null);
+    }
+
+    @Override
+    public void forEachTaskByOwner(long ownerId, Consumer<Task> sink) {
+        // a full export is the heaviest read there is: let it run on a replica
+        ReadRouting.onReplica(
+                ownerId,
+                () -> jdbi.useHandle(handle -> {
+                    handle.setReadOnly(true);
+                    handle.useTransaction(tx ->
+                            tx.attach(TaskDao.class).streamTasksByOwner(ownerId).forEach(sink));
+                }));
+    }
+
     @Override
     public Optional<Task> findTaskByIdAndOwner(long taskId, long ownerId) {
-        return jdbi.withExtension(TaskDao.class, dao -> dao.findTaskByIdAndOwner(taskId, ownerId));
+        return taskDao.findTaskByIdAndOwner(taskId, ownerId);
+    }
+
+    @Override
+    public Optional<Task> findTaskByIdAndOwnerIncludingArchive(long taskId, long ownerId) {
+        // hot table first: that is where almost every lookup hits
+        return jdbi.withHandle(handle -> handle.attach(TaskDao.class)
+                .findTaskByIdAndOwner(taskId, ownerId)
+                .or(() -> handle.attach(TaskArchiveDao.class).findArchivedTaskByIdAndOwner(taskId, ownerId)));
+    }
+
+    @Override
+    public PagedResponse<Task> findArchivedTasksByOwner(long ownerId, Pageable pageable) {
+        int page = pageable.getPageNumber();
+        int size = pageable.getPageSize();
+
+        return jdbi.withExtension(TaskArchiveDao.class, dao -> {
+            List<Task> tasks = dao.findArchivedTasksByOwnerPaged(ownerId, size, page * size);
+            long totalElements = dao.countArchivedTasksByOwner(ownerId);
+            return toPagedResponse(tasks, page, size, totalElements);
+        });
+    }
+
+    @Override
+    public int archiveFinishedTasks(Instant finishedBefore, int batchSize) {
+        return jdbi.inTransaction(handle -> {
+            TaskArchiveDao dao = handle.attach(TaskArchiveDao.class);
+            dao.preferNestedLoopJoin();
+            return dao.archiveFinishedTasks(finishedBefore, batchSize);
+        });
     }
 
     @Override
-    public boolean updateTask(Task task) {
-        int rows = jdbi.withExtension(TaskDao.class, dao -> dao.updateTask(task));
-        return rows > 0;
+    public Optional<Task> updateTask(Task task) {
+        return taskDao.updateTask(task);
+    }
+
+    @Override
+    public Optional<Task> patchTask(
+            long taskId, long ownerId, long expectedVersion, TaskPatch patch, Instant updatedAt) {
+        // column -> value for supplied fields only; column names are fixed here, never taken from input
+        Map<String, Object> columns = new LinkedHashMap<>();
+        putIfPresent(columns, "title", patch.title());
+        putIfPresent(columns, "description", patch.description());
+        putIfPresent(columns, "status", patch.status());
+        putIfPresent(columns, "priority", patch.priority());
+        putIfPresent(columns, "due_date", patch.dueDate());
+
+        String assignments = columns.keySet().stream()
+                .map(column -> column + " = :" + column + ", ")
+                .collect(Collectors.joining());
+        String sql = "UPDATE task SET " + assignments
+                + "updated_at = :updatedAt, version = version + 1"
+                + " WHERE id = :taskId AND owner_id = :ownerId AND version = :version"
+                + " RETURNING " + TASK_COLUMNS;
+
+        return jdbi.withHandle(handle -> handle.createQuery(sql)
+                .bindMap(columns)
+                .bind("updatedAt", updatedAt)
+                .bind("taskId", taskId)
+                .bind("ownerId", ownerId)
+                .bind("version", expectedVersion)
+                .mapToBean(Task.class)
+                .findOne());
+    }
+
+    private static void putIfPresent(Map<String, Object> columns, String column, Object value) {
+        if (value != null) {
+            columns.put(column, value);
+        }
+    }
+
+    @Override
+    public Optional<Task> updateTaskStatus(long taskId, long ownerId, TaskStatus status, Instant updatedAt) {
+        return taskDao.updateTaskStatus(taskId, ownerId, status, updatedAt);
+    }
+
+    @Override
+    public Optional<Task> deleteTask(long taskId, long ownerId) {
+        return taskDao.deleteTaskByIdAndOwner(taskId, ownerId);
+    }
+
+    @Override
+    public List<Task> updateTaskStatuses(
+            long ownerId, List<Long> taskIds, List<TaskStatus> statuses, Instant updatedAt) {
+        return jdbi.inTransaction(handle -> {
+            TaskDao dao = handle.attach(TaskDao.class);
+            int[] counts = dao.updateTaskStatuses(ownerId, taskIds, statuses, updatedAt);
+
+            long[] updatedIds = IntStream.range(0, counts.length)
+                    .filter(i -> counts[i] > 0)
+                    .mapToLong(i -> taskIds.get(i))
+                    .distinct()
+                    .toArray();
+            return updatedIds.length == 0 ? List.of() : dao.findTasksByIdsAndOwner(ownerId, updatedIds);
+        });
     }
 
     @Override
-    public boolean deleteTask(long taskId, long ownerId) {
-        int rows = jdbi.withExtension(TaskDao.class, dao -> dao.deleteTaskByIdAndOwner(taskId, ownerId));
-        return rows > 0;
+    public List<Task> deleteTasks(long ownerId, List<Long> taskIds) {
+        long[] ids = taskIds.stream().mapToLong(Long::longValue).distinct().toArray();
+        return jdbi.inTransaction(handle -> handle.attach(TaskDao.class).deleteTasksByIdsAndOwner(ownerId, ids));
     }
 
     @Override
     public List<Task> findTasksForTomorrow(long ownerId, java.time.Instant tomorrowEnd) {
-        return jdbi.withExtension(TaskDao.class, dao -> dao.findTasksForTomorrow(ownerId, tomorrowEnd));
+        return taskDao.findTasksForTomorrow(ownerId, tomorrowEnd);
     }
 
     @Override
     public List<Task> findOpenTasksByOwner(long ownerId) {
-        return jdbi.withExtension(TaskDao.class, dao -> dao.findOpenTasksByOwner(ownerId));
+        return taskDao.findOpenTasksByOwner(ownerId);
     }
 }
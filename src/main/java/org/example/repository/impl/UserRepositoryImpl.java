@@ -12,59 +12,59 @@ import org.springframework.stereotype.Repository;
 @Repository
 public class UserRepositoryImpl implements UserRepository {
 
-    private final Jdbi jdbi;
+    private final AppUserDao userDao;
 
     public UserRepositoryImpl(Jdbi jdbi) {
-        this.jdbi = jdbi;
+        this.userDao = jdbi.onDemand(AppUserDao.class);
     }
 
     @Override
     public Optional<AppUser> findByUsername(String username) {
-        return jdbi.withExtension(AppUserDao.class, dao -> dao.findByUsername(username));
+        return userDao.findByUsername(username);
     }
 
     @Override
     public boolean existsByUsername(String username) {
-        return jdbi.withExtension(AppUserDao.class, dao -> dao.existsByUsername(username));
+        return userDao.existsByUsername(username);
     }
 
     @Override
     public boolean existsByEmail(String email) {
-        return jdbi.withExtension(AppUserDao.class, dao -> dao.existsByEmail(email));
+        return userDao.existsByEmail(email);
     }
 
     @Override
     public AppUser createUser(AppUser user) {
         // insert only (示例简单化；如需 upsert 可再扩展)
-        Long id = jdbi.withExtension(AppUserDao.class, dao -> dao.insertReturnId(user));
+        Long id = userDao.insertReturnId(user);
         user.setId(id);
         return user;
     }
 
     @Override
     public List<AppUser> findAll() {
-        return jdbi.withExtension(AppUserDao.class, AppUserDao::findAll);
+        return userDao.findAll();
     }
 
     @Override
     public Optional<Long> findIdByUsername(String username) {
-        return jdbi.withExtension(AppUserDao.class, dao -> dao.findIdByUsername(username));
+        return userDao.findIdByUsername(username);
     }
 
     @Override
     public Optional<AppUser> findById(Long id) {
-        return jdbi.withExtension(AppUserDao.class, dao -> dao.findById(id));
+        return userDao.findById(id);
     }
 
     @Override
     public void setRole(Long userId, Role role) {
-        int n = jdbi.withExtension(AppUserDao.class, dao -> dao.updateRole(userId, role.name()));
+        int n = userDao.updateRole(userId, role.name());
         if (n == 0) throw new IllegalArgumentException("User not found");
     }
 
     @Override
     public void setActive(Long userId, boolean active) {
-        int n = jdbi.withExtension(AppUserDao.class, dao -> dao.updateActive(userId, active));
+        int n = userDao.updateActive(userId, active);
         if (n == 0) throw new IllegalArgumentException("User not found");
     }
 }
@@ -1,17 +1,29 @@
 package org.example.service;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
 import lombok.extern.slf4j.Slf4j;
+import org.example.datasource.Workload;
 import org.example.dto.TaskDailyStatsResponse;
 import org.example.kafka.event.TaskEvent;
-import org.example.kafka.event.TaskRemovalReason;
 import org.example.model.AppUser;
 import org.example.model.TaskDailyStats;
+import org.example.model.TaskDailyStatsDelta;
 import org.example.repository.AnalyticsRepository;
 import org.example.utils.TaskDailyStatsMapper;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.web.server.ResponseStatusException;
 
@@ -22,29 +34,24 @@ public class AnalyticsService {
     private final AnalyticsRepository repository;
     private final AiTaskService aiTaskService;
     private final UserService userService;
+    private final Duration appliedEventRetention;
 
-    public AnalyticsService(AnalyticsRepository repository, AiTaskService aiTaskService, UserService userService) {
+    public AnalyticsService(
+            AnalyticsRepository repository,
+            AiTaskService aiTaskService,
+            UserService userService,
+            @Value("${task.analytics.applied-events.retention:P8D}") Duration appliedEventRetention) {
         this.repository = repository;
         this.aiTaskService = aiTaskService;
         this.userService = userService;
-    }
-
-    public void recordTaskCreated() {
-        repository.incrementDailyCreatedCount(LocalDate.now());
-    }
-
-    public void recordTaskCompleted() {
-        repository.incrementDailyCompletedCount(LocalDate.now());
-    }
-
-    public void recordTaskRemoved(TaskRemovalReason reason) {
-        repository.incrementDailyRemovedCount(LocalDate.now(), reason);
+        this.appliedEventRetention = appliedEventRetention;
     }
 
     public TaskDailyStatsResponse getDailyStatsResponse(LocalDate date) {
         TaskDailyStats stats = repository
                 .findDailyStats(date)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "No stats found for date: " + date));
+                .orElseThrow(
+                        () -> new ResponseStatusException(HttpStatus.NOT_FOUND, "No stats found for date: " + date));
 
         return TaskDailyStatsMapper.toResponse(stats);
     }
@@ -53,34 +60,69 @@ public class AnalyticsService {
         return repository.findDailyStats(date);
     }
 
-    public java.util.List<TaskDailyStats> getStatsByDateRange(LocalDate startDate, LocalDate endDate) {
+    public List<TaskDailyStats> getStatsByDateRange(LocalDate startDate, LocalDate endDate) {
         return repository.findStatsByDateRange(startDate, endDate);
     }
 
     /**
-     * Record daily stats and optionally generate AI summary. This method is called when a task is
-     * completed to update statistics and trigger AI summary generation.
+     * Apply the per-date counts of one batch of task events, each event at most once: events whose eventId
+     * was applied before (a relay retry, or a redelivery after a failed offset commit) are dropped, and
+     * {@code fold} sums the rest. Recording the ids and the upserts share one transaction.
+     *
+     * @return the events that were applied
+     */
+    public List<TaskEvent> applyDailyDeltasOnce(
+            List<TaskEvent> events, Function<List<TaskEvent>, Collection<TaskDailyStatsDelta>> fold) {
+        List<String> eventIds = events.stream()
+                .filter(Objects::nonNull)
+                .map(TaskEvent::getEventId)
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
+        List<TaskEvent> applied = new ArrayList<>();
+        repository.applyDailyDeltasOnce(eventIds, newEventIds -> {
+            applied.clear();
+            Set<String> unseen = new HashSet<>(newEventIds);
+            for (TaskEvent event : events) {
+                // events without an id cannot be de-duplicated and are always counted
+                if (event != null && (event.getEventId() == null || unseen.remove(event.getEventId()))) {
+                    applied.add(event);
+                }
+            }
+            return fold.apply(applied);
+        });
+        return applied;
+    }
+
+    /** Forget applied event ids once no redelivery can bring them back (Kafka has deleted them by then). */
+    @Scheduled(
+            initialDelayString = "${task.analytics.applied-events.initial-delay:PT5M}",
+            fixedDelayString = "${task.analytics.applied-events.purge-interval:PT1H}")
+    public void purgeAppliedEvents() {
+        int purged = Workload.BATCH.call(
+                () -> repository.deleteAppliedEventsBefore(Instant.now().minus(appliedEventRetention)));
+        if (purged > 0) {
+            log.info("[Analytics] Purged {} applied event ids older than {}", purged, appliedEventRetention);
+        }
+    }
+
+    /**
+     * Generate the AI daily summary for the owner of a completed task. The completion must already be
+     * counted (see {@link #applyDailyDeltasOnce}), since the summary reads today's stats.
      *
      * <p>Note: AI summary generation is done asynchronously to avoid blocking the Kafka consumer.
      */
     @Async
-    public void recordDailyStatsAndGenerateSummary(TaskEvent event) {
-        log.info("start to recordDailyStatsAndGenerateSummary");
-        // Record the task completion in daily stats
-        recordTaskCompleted();
-
+    public void generateDailySummary(TaskEvent event) {
         log.info("start to generateAiSummaryAsync");
-        // Asynchronously generate AI summary (non-blocking)
         generateAiSummaryAsync(event);
-
         log.info("Done to generateAiSummaryAsync");
-        // TODO: STORE IN DB
     }
 
     /**
-    * Asynchronously generate AI daily summary for the user. This method runs in a separate thread
-    * to avoid blocking the Kafka consumer.
-    */
+     * Asynchronously generate AI daily summary for the user. This method runs in a separate thread
+     * to avoid blocking the Kafka consumer.
+     */
     private void generateAiSummaryAsync(TaskEvent event) {
         try {
             var payload = event.getPayload();
@@ -103,9 +145,7 @@ public class AnalyticsService {
             Optional<TaskDailyStats> statsOpt = getDailyStats(today);
 
             if (statsOpt.isEmpty()) {
-                log.debug(
-                        "[Analytics] No stats available for today (date={}), skipping AI summary generation",
-                        today);
+                log.debug("[Analytics] No stats available for today (date={}), skipping AI summary generation", today);
                 return;
             }
 
@@ -0,0 +1,76 @@
+package org.example.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectReader;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import org.example.dto.TaskImportRow;
+import org.example.repository.TaskImportRepository;
+import org.example.utils.CsvUtils;
+
+/**
+ * Presents an NDJSON task stream as the CSV expected by {@link TaskImportRepository#importCsv}, one
+ * line at a time, so NDJSON imports also go through COPY without buffering the input.
+ */
+class NdjsonToCsvReader extends Reader {
+
+    private final BufferedReader in;
+    private final ObjectReader rowReader;
+
+    private String current = TaskImportRepository.CSV_COLUMNS + "\n";
+    private int position;
+    private long lineNumber;
+
+    NdjsonToCsvReader(Reader in, ObjectReader rowReader) {
+        this.in = new BufferedReader(in);
+        this.rowReader = rowReader;
+    }
+
+    @Override
+    public int read(char[] buffer, int offset, int length) throws IOException {
+        while (current != null && position >= current.length()) {
+            current = nextCsvLine();
+            position = 0;
+        }
+        if (current == null) {
+            return -1;
+        }
+        int count = Math.min(length, current.length() - position);
+        current.getChars(position, position + count, buffer, offset);
+        position += count;
+        return count;
+    }
+
+    private String nextCsvLine() throws IOException {
+        String line;
+        do {
+            line = in.readLine();
+            lineNumber++;
+            if (line == null) {
+                return null;
+            }
+        } while (line.isBlank());
+
+        TaskImportRow row;
+        try {
+            row = rowReader.readValue(line);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Invalid JSON on line " + lineNumber + ": " + e.getOriginalMessage());
+        }
+        return String.join(
+                        ",",
+                        CsvUtils.escape(row.ownerId()),
+                        CsvUtils.escape(row.title()),
+                        CsvUtils.escape(row.description()),
+                        CsvUtils.escape(row.status()),
+                        CsvUtils.escape(row.priority()),
+                        CsvUtils.escape(row.dueDate()))
+                + "\n";
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+}
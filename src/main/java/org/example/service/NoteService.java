@@ -1,5 +1,7 @@
 package org.example.service;
 
+import java.util.Optional;
+import java.util.function.LongPredicate;
 import org.example.model.AppUser;
 import org.example.model.Note;
 import org.example.repository.NoteRepository;
@@ -26,11 +28,13 @@ public class NoteService {
     }
 
     /** Admin: list all notes (paged). */
+    @Transactional(readOnly = true)
     public Page<Note> listNotes(Pageable pageable) {
         return notesRepo.findAll(pageable);
     }
 
     /** List all notes for the authenticated user. */
+    @Transactional(readOnly = true)
     public Page<Note> listMyNotes(String username, Pageable pageable) {
         AppUser owner = userLookupService
                 .findByUsernameCached(username)
@@ -39,6 +43,23 @@ public class NoteService {
         return notesRepo.findByOwnerId(owner.getId(), pageable);
     }
 
+    /**
+     * Conditional {@link #listMyNotes}: reads the version of the user's notes (it changes whenever any of
+     * them is created, updated or deleted) and, unless {@code notModified} accepts it, the page, in one
+     * transaction. Empty when the client's copy is current.
+     */
+    @Transactional(readOnly = true)
+    public Optional<Page<Note>> listMyNotesIfModified(String username, Pageable pageable, LongPredicate notModified) {
+        AppUser owner = userLookupService
+                .findByUsernameCached(username)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found"));
+
+        if (notModified.test(notesRepo.findChangeVersionByOwnerId(owner.getId()))) {
+            return Optional.empty();
+        }
+        return Optional.of(notesRepo.findByOwnerId(owner.getId(), pageable));
+    }
+
     /** Create a note (with ownership binding). */
     @Transactional
     public Note create(String username, String title, String content) {
@@ -51,6 +72,7 @@ public class NoteService {
     }
 
     /** Retrieve one note, ensuring ownership validation. */
+    @Transactional(readOnly = true)
     public Note getOne(String username, Long id) {
         AppUser owner = userLookupService
                 .findByUsernameCached(username)
@@ -61,6 +83,19 @@ public class NoteService {
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Note not found"));
     }
 
+    /**
+     * Conditional {@link #getOne}: 404 for a missing or foreign note comes first, then the version of the
+     * user's notes is checked against {@code notModified}. Empty when the client's copy is current.
+     */
+    @Transactional(readOnly = true)
+    public Optional<Note> getOneIfModified(String username, Long id, LongPredicate notModified) {
+        Note note = getOne(username, id);
+        if (notModified.test(notesRepo.findChangeVersionByOwnerId(note.getOwnerId()))) {
+            return Optional.empty();
+        }
+        return Optional.of(note);
+    }
+
     /** Update a note, ensuring user owns it. */
     @Transactional
     public Note update(String username, Long id, String title, String content) {
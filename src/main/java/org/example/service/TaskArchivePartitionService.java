@@ -0,0 +1,71 @@
+package org.example.service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.example.datasource.Workload;
+import org.example.repository.TaskArchivePartitionRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Keeps the monthly task_archive partitions ahead of the archive mover: the current month plus
+ * {@code task.archive.partitions-ahead} months always exist. With {@code task.archive.retention}
+ * set, months that ended longer ago than the retention are dropped whole, which is how archived
+ * tasks are purged.
+ */
+@Slf4j
+@Service
+public class TaskArchivePartitionService {
+
+    private final TaskArchivePartitionRepository partitionRepository;
+    private final int partitionsAhead;
+    private final Duration retention;
+    private final Clock clock;
+
+    @Autowired
+    public TaskArchivePartitionService(
+            TaskArchivePartitionRepository partitionRepository,
+            @Value("${task.archive.partitions-ahead:2}") int partitionsAhead,
+            @Value("${task.archive.retention:}") Duration retention) {
+        this(partitionRepository, partitionsAhead, retention, Clock.systemUTC());
+    }
+
+    TaskArchivePartitionService(
+            TaskArchivePartitionRepository partitionRepository, int partitionsAhead, Duration retention, Clock clock) {
+        this.partitionRepository = partitionRepository;
+        this.partitionsAhead = partitionsAhead;
+        this.retention = retention;
+        this.clock = clock;
+    }
+
+    // at startup, then periodically; cheap when there is nothing to do
+    @Scheduled(initialDelay = 0, fixedDelayString = "${task.archive.partition-check-interval:PT6H}")
+    public void maintainPartitions() {
+        Workload.BATCH.run(this::createAndDropPartitions);
+    }
+
+    private void createAndDropPartitions() {
+        YearMonth current = YearMonth.now(clock.withZone(ZoneOffset.UTC));
+
+        List<YearMonth> created = partitionRepository.createPartitions(current, current.plusMonths(partitionsAhead));
+        if (!created.isEmpty()) {
+            log.info("Created task_archive partitions for {}", created);
+        }
+
+        if (retention != null) {
+            // keep every month that still holds rows archived within the retention window
+            YearMonth oldestKept =
+                    YearMonth.from(clock.instant().minus(retention).atZone(ZoneOffset.UTC));
+            List<YearMonth> dropped = partitionRepository.dropPartitionsBefore(oldestKept);
+            if (!dropped.isEmpty()) {
+                log.info("Dropped task_archive partitions past retention {}: {}", retention, dropped);
+            }
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package org.example.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import lombok.extern.slf4j.Slf4j;
+import org.example.datasource.Workload;
+import org.example.repository.TaskRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Background mover that keeps the hot task table small: COMPLETED / CANCELLED tasks unchanged for
+ * {@code task.archive.min-age} are moved to task_archive in short batches, each its own transaction,
+ * so locks are held briefly and concurrent writers are never blocked. Several nodes may run it at
+ * once; SKIP LOCKED keeps their batches disjoint.
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "task.archive.enabled", havingValue = "true", matchIfMissing = true)
+public class TaskArchiveService {
+
+    private final TaskRepository taskRepository;
+    private final Duration minAge;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+
+    public TaskArchiveService(
+            TaskRepository taskRepository,
+            @Value("${task.archive.min-age:P30D}") Duration minAge,
+            @Value("${task.archive.batch-size:500}") int batchSize,
+            @Value("${task.archive.max-batches-per-run:200}") int maxBatchesPerRun) {
+        this.taskRepository = taskRepository;
+        this.minAge = minAge;
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+    }
+
+    @Scheduled(
+            initialDelayString = "${task.archive.initial-delay:PT1M}",
+            fixedDelayString = "${task.archive.interval:PT10M}")
+    public void archiveFinishedTasks() {
+        int moved = Workload.BATCH.call(() -> archiveFinishedTasks(Instant.now().minus(minAge)));
+        if (moved > 0) {
+            log.info("Archived {} finished tasks older than {}", moved, minAge);
+        }
+    }
+
+    /**
+     * Moves finished tasks last updated before {@code finishedBefore}, batch by batch, until a short
+     * batch shows the backlog is drained or the per-run cap is reached. Returns the number moved.
+     */
+    public int archiveFinishedTasks(Instant finishedBefore) {
+        int total = 0;
+        for (int i = 0; i < maxBatchesPerRun; i++) {
+            int moved = taskRepository.archiveFinishedTasks(finishedBefore, batchSize);
+            total += moved;
+            if (moved < batchSize) {
+                break;
+            }
+        }
+        return total;
+    }
+}
@@ -0,0 +1,74 @@
+package org.example.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import org.example.dto.TaskFileFormat;
+import org.example.dto.TaskResponse;
+import org.example.repository.TaskRepository;
+import org.example.utils.CsvUtils;
+import org.example.utils.TaskMapper;
+import org.springframework.stereotype.Service;
+
+/**
+ * Writes all tasks of an owner to an output stream as NDJSON or CSV. Rows are written as they are
+ * fetched, so heap usage does not grow with the number of tasks.
+ */
+@Service
+public class TaskExportService {
+
+    private static final String CSV_HEADER = "id,title,description,status,priority,dueDate,createdAt,updatedAt,version";
+
+    private final TaskRepository taskRepository;
+    private final ObjectWriter jsonWriter;
+
+    public TaskExportService(TaskRepository taskRepository, ObjectMapper objectMapper) {
+        this.taskRepository = taskRepository;
+        // same mapper as the REST responses, so exported JSON matches GET /api/tasks/{id}
+        this.jsonWriter = objectMapper.writerFor(TaskResponse.class);
+    }
+
+    public void export(long ownerId, TaskFileFormat format, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        if (format == TaskFileFormat.CSV) {
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+        }
+
+        try {
+            taskRepository.forEachTaskByOwner(ownerId, task -> {
+                try {
+                    TaskResponse row = TaskMapper.toResponse(task);
+                    writer.write(format == TaskFileFormat.CSV ? toCsvLine(row) : jsonWriter.writeValueAsString(row));
+                    writer.write('\n');
+                } catch (IOException e) {
+                    // e.g. client went away: abort the query instead of reading the remaining rows
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        writer.flush();
+    }
+
+    private static String toCsvLine(TaskResponse task) {
+        return String.join(
+                ",",
+                CsvUtils.escape(task.id()),
+                CsvUtils.escape(task.title()),
+                CsvUtils.escape(task.description()),
+                CsvUtils.escape(task.status()),
+                CsvUtils.escape(task.priority()),
+                CsvUtils.escape(task.dueDate()),
+                CsvUtils.escape(task.createdAt()),
+                CsvUtils.escape(task.updatedAt()),
+                CsvUtils.escape(task.version()));
+    }
+}
@@ -0,0 +1,69 @@
+package org.example.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import java.util.Optional;
+import lombok.RequiredArgsConstructor;
+import org.example.datasource.ReadRouting;
+import org.example.dto.CacheStatsResponse;
+import org.example.model.Task;
+import org.example.model.TaskCacheKey;
+import org.example.repository.TaskRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Read-through cache for single-task reads, keyed by (ownerId, taskId). Task writes must call
+ * {@link #evict} so the next read goes back to the database.
+ */
+@Service
+@RequiredArgsConstructor
+public class TaskLookupService {
+
+    private final TaskRepository taskRepository;
+    private final Cache<TaskCacheKey, Task> taskByOwnerAndIdCache;
+
+    /**
+     * Cache-Aside read with "find" semantics, archived tasks included; misses for unknown tasks are
+     * not cached. Loads always read the primary, even from a read-only transaction: a lagging replica row
+     * would otherwise stay cached (and keep its stale ETag) until the entry expires.
+     */
+    public Optional<Task> findCached(long ownerId, long taskId) {
+        Task task = taskByOwnerAndIdCache.get(
+                new TaskCacheKey(ownerId, taskId),
+                key -> ReadRouting.onPrimary(() -> taskRepository
+                        .findTaskByIdAndOwnerIncludingArchive(key.taskId(), key.ownerId())
+                        .orElse(null)));
+        return Optional.ofNullable(task);
+    }
+
+    /**
+     * Invalidate the entry right away, and again after commit when called inside a transaction, so a
+     * reader that loaded the old row before the commit cannot leave it behind.
+     */
+    public void evict(long ownerId, long taskId) {
+        TaskCacheKey key = new TaskCacheKey(ownerId, taskId);
+        taskByOwnerAndIdCache.invalidate(key);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    taskByOwnerAndIdCache.invalidate(key);
+                }
+            });
+        }
+    }
+
+    public CacheStatsResponse stats() {
+        CacheStats stats = taskByOwnerAndIdCache.stats();
+        return new CacheStatsResponse(
+                taskByOwnerAndIdCache.estimatedSize(),
+                stats.hitCount(),
+                stats.missCount(),
+                stats.hitRate(),
+                stats.loadCount(),
+                stats.evictionCount());
+    }
+}
@@ -2,15 +2,30 @@
 package org.example.service;
 
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.LongPredicate;
+import java.util.stream.Collectors;
+import org.example.dto.BatchItemResult;
+import org.example.dto.BatchResponse;
+import org.example.dto.BatchUpdateTaskStatusRequest;
 import org.example.dto.CreateTaskRequest;
+import org.example.dto.CursorPage;
 import org.example.dto.PagedResponse;
+import org.example.dto.PatchTaskRequest;
+import org.example.dto.TaskCursor;
 import org.example.dto.TaskResponse;
+import org.example.dto.TaskSearchCursor;
 import org.example.dto.UpdateTaskRequest;
 import org.example.dto.UpdateTaskStatusRequest;
 import org.example.kafka.event.TaskRemovalReason;
 import org.example.kafka.producer.TaskEventProducer;
 import org.example.model.Task;
+import org.example.model.TaskListFilter;
+import org.example.model.TaskPatch;
 import org.example.model.TaskStatus;
 import org.example.repository.TaskRepository;
 import org.example.utils.TaskMapper;
@@ -24,12 +39,20 @@ import org.springframework.web.server.ResponseStatusException;
 @Service
 public class TaskService {
 
+    private static final int MAX_CURSOR_PAGE_SIZE = 100;
+    private static final int MAX_BATCH_SIZE = 1000;
+    private static final int MAX_SEARCH_QUERY_LENGTH = 200;
+    private static final int MAX_TITLE_LENGTH = 255;
+
     private final TaskRepository taskRepository;
     private final TaskEventProducer taskEventProducer;
+    private final TaskLookupService taskLookupService;
 
-    public TaskService(TaskRepository taskRepository, TaskEventProducer taskEventProducer) {
+    public TaskService(
+            TaskRepository taskRepository, TaskEventProducer taskEventProducer, TaskLookupService taskLookupService) {
         this.taskRepository = taskRepository;
         this.taskEventProducer = taskEventProducer;
+        this.taskLookupService = taskLookupService;
     }
 
     // ===================================================
@@ -60,8 +83,22 @@ public class TaskService {
     // ===================================================
     // List all tasks for the user
     // ===================================================
+    @Transactional(readOnly = true)
     public PagedResponse<TaskResponse> listTasksForUser(long ownerId, Pageable pageable) {
-        PagedResponse<Task> pageResult = taskRepository.findTasksByOwner(ownerId, pageable);
+        return listTasksForUser(ownerId, TaskListFilter.none(), pageable);
+    }
+
+    // ===================================================
+    // List tasks for the user, filtered and sorted
+    // ===================================================
+    @Transactional(readOnly = true)
+    public PagedResponse<TaskResponse> listTasksForUser(long ownerId, TaskListFilter filter, Pageable pageable) {
+        if (filter.dueFrom() != null
+                && filter.dueTo() != null
+                && !filter.dueFrom().isBefore(filter.dueTo())) {
+            throw new IllegalArgumentException("dueFrom must be before dueTo");
+        }
+        PagedResponse<Task> pageResult = taskRepository.findTasksByOwner(ownerId, filter, pageable);
 
         List<TaskResponse> content =
                 pageResult.content().stream().map(TaskMapper::toResponse).toList();
@@ -76,13 +113,100 @@ public class TaskService {
                 pageResult.hasPrevious());
     }
 
+    // ===================================================
+    // Conditional list reads (ETags): the version of the user's task
+    // list and the page come from one transaction; the page is not read
+    // (empty result) when notModified accepts the version.
+    // ===================================================
+    @Transactional(readOnly = true)
+    public Optional<PagedResponse<TaskResponse>> listTasksForUserIfModified(
+            long ownerId, TaskListFilter filter, Pageable pageable, LongPredicate notModified) {
+        if (notModified.test(taskRepository.findTaskChangeVersion(ownerId))) {
+            return Optional.empty();
+        }
+        return Optional.of(listTasksForUser(ownerId, filter, pageable));
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<CursorPage<TaskResponse>> listTasksForUserByCursorIfModified(
+            long ownerId, String cursor, int size, boolean includeTotal, LongPredicate notModified) {
+        if (notModified.test(taskRepository.findTaskChangeVersion(ownerId))) {
+            return Optional.empty();
+        }
+        return Optional.of(listTasksForUserByCursor(ownerId, cursor, size, includeTotal));
+    }
+
+    // ===================================================
+    // List the user's archived tasks, newest first
+    // ===================================================
+    @Transactional(readOnly = true)
+    public PagedResponse<TaskResponse> listArchivedTasksForUser(long ownerId, Pageable pageable) {
+        PagedResponse<Task> pageResult = taskRepository.findArchivedTasksByOwner(ownerId, pageable);
+
+        List<TaskResponse> content =
+                pageResult.content().stream().map(TaskMapper::toResponse).toList();
+
+        return new PagedResponse<>(
+                content,
+                pageResult.page(),
+                pageResult.size(),
+                pageResult.totalElements(),
+                pageResult.totalPages(),
+                pageResult.hasNext(),
+                pageResult.hasPrevious());
+    }
+
+    // ===================================================
+    // List tasks for the user with keyset (cursor) pagination
+    // ===================================================
+    @Transactional(readOnly = true)
+    public CursorPage<TaskResponse> listTasksForUserByCursor(
+            long ownerId, String cursor, int size, boolean includeTotal) {
+        if (size < 1 || size > MAX_CURSOR_PAGE_SIZE) {
+            throw new IllegalArgumentException("size must be between 1 and " + MAX_CURSOR_PAGE_SIZE);
+        }
+        TaskCursor after = (cursor == null || cursor.isBlank()) ? null : TaskCursor.decode(cursor);
+
+        CursorPage<Task> pageResult = taskRepository.findTasksByOwnerAfter(ownerId, after, size, includeTotal);
+
+        List<TaskResponse> content =
+                pageResult.content().stream().map(TaskMapper::toResponse).toList();
+
+        return new CursorPage<>(
+                content, pageResult.size(), pageResult.nextCursor(), pageResult.hasNext(), pageResult.totalElements());
+    }
+
+    // ===================================================
+    // Full-text search over title/description, best match first
+    // ===================================================
+    @Transactional(readOnly = true)
+    public CursorPage<TaskResponse> searchTasksForUser(long ownerId, String query, String cursor, int size) {
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("q must not be blank");
+        }
+        if (query.length() > MAX_SEARCH_QUERY_LENGTH) {
+            throw new IllegalArgumentException("q must be at most " + MAX_SEARCH_QUERY_LENGTH + " characters");
+        }
+        if (size < 1 || size > MAX_CURSOR_PAGE_SIZE) {
+            throw new IllegalArgumentException("size must be between 1 and " + MAX_CURSOR_PAGE_SIZE);
+        }
+        TaskSearchCursor after = (cursor == null || cursor.isBlank()) ? null : TaskSearchCursor.decode(cursor);
+
+        CursorPage<Task> pageResult = taskRepository.searchTasks(ownerId, query, after, size);
+
+        List<TaskResponse> content =
+                pageResult.content().stream().map(TaskMapper::toResponse).toList();
+
+        return new CursorPage<>(content, pageResult.size(), pageResult.nextCursor(), pageResult.hasNext(), null);
+    }
+
     // ===================================================
     // Get a single task
     // ===================================================
     @Transactional(readOnly = true)
     public TaskResponse getTask(long ownerId, long taskId) {
-        Task task = taskRepository
-                .findTaskByIdAndOwner(taskId, ownerId)
+        Task task = taskLookupService
+                .findCached(ownerId, taskId)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Task not found"));
         return TaskMapper.toResponse(task);
     }
@@ -92,24 +216,61 @@ public class TaskService {
     // ===================================================
     @Transactional
     public TaskResponse updateTask(long ownerId, long taskId, UpdateTaskRequest request) {
+        Task changes = new Task();
+        changes.setId(taskId);
+        changes.setOwnerId(ownerId);
+        changes.setTitle(request.title());
+        changes.setDescription(request.description());
+        changes.setStatus(request.status());
+        changes.setPriority(request.priority());
+        changes.setDueDate(request.dueDate());
+        changes.setUpdatedAt(Instant.now());
+
+        // single UPDATE ... RETURNING: no match means the task does not exist for this owner
         Task task = taskRepository
-                .findTaskByIdAndOwner(taskId, ownerId)
+                .updateTask(changes)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Task not found"));
+        taskLookupService.evict(ownerId, taskId);
 
-        task.setTitle(request.title());
-        task.setDescription(request.description());
-        task.setStatus(request.status());
-        task.setPriority(request.priority());
-        task.setDueDate(request.dueDate());
-        task.setUpdatedAt(Instant.now());
+        // use the updated Task entity to publish event
+        taskEventProducer.publishTaskUpdated(task);
+
+        return TaskMapper.toResponse(task);
+    }
 
-        boolean updated = taskRepository.updateTask(task);
-        if (!updated) {
-            throw new IllegalStateException("Failed to update task");
+    // ===================================================
+    // Sparse update with optimistic concurrency: only supplied fields are
+    // written, and only if the client's version is still current
+    // ===================================================
+    @Transactional
+    public TaskResponse patchTask(long ownerId, long taskId, PatchTaskRequest request) {
+        if (request.version() == null) {
+            throw new IllegalArgumentException("version is required");
+        }
+        TaskPatch patch = new TaskPatch(
+                request.title(), request.description(), request.status(), request.priority(), request.dueDate());
+        if (patch.isEmpty()) {
+            throw new IllegalArgumentException("at least one field must be supplied");
         }
 
-        // use the updated Task entity to publish event
-        taskEventProducer.publishTaskUpdated(task);
+        Optional<Task> patched = taskRepository.patchTask(taskId, ownerId, request.version(), patch, Instant.now());
+        if (patched.isEmpty()) {
+            // no row matched: tell "gone" apart from "someone else updated it first"
+            Task current = taskRepository
+                    .findTaskByIdAndOwner(taskId, ownerId)
+                    .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Task not found"));
+            throw new ResponseStatusException(
+                    HttpStatus.CONFLICT, "Task was modified concurrently; current version is " + current.getVersion());
+        }
+        Task task = patched.get();
+        taskLookupService.evict(ownerId, taskId);
+
+        // a status change publishes the same event as the status endpoint
+        if (patch.status() != null) {
+            taskEventProducer.publishTaskStatusChanged(task);
+        } else {
+            taskEventProducer.publishTaskUpdated(task);
+        }
 
         return TaskMapper.toResponse(task);
     }
@@ -120,25 +281,12 @@ public class TaskService {
     @Transactional
     public TaskResponse updateTaskStatus(long ownerId, long taskId, UpdateTaskStatusRequest request) {
         Task task = taskRepository
-                .findTaskByIdAndOwner(taskId, ownerId)
+                .updateTaskStatus(taskId, ownerId, request.status(), Instant.now())
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Task not found"));
+        taskLookupService.evict(ownerId, taskId);
 
-        task.setStatus(request.status());
-        task.setUpdatedAt(Instant.now());
-
-        boolean updated = taskRepository.updateTask(task);
-        if (!updated) {
-            throw new IllegalStateException("Failed to update task status");
-        }
-
-        // ---------------------------------------------------
-        // Publish Kafka events based on the new task status
-        // ---------------------------------------------------
-        switch (request.status()) {
-            case COMPLETED -> taskEventProducer.publishTaskCompleted(task);
-            case CANCELLED -> taskEventProducer.publishTaskRemoved(task, TaskRemovalReason.CANCELED);
-            default -> taskEventProducer.publishTaskUpdated(task);
-        }
+        // Publish Kafka events based on the new task status (completed / removed / updated)
+        taskEventProducer.publishTaskStatusChanged(task);
 
         return TaskMapper.toResponse(task);
     }
@@ -148,22 +296,149 @@ public class TaskService {
     // ===================================================
     @Transactional
     public void deleteTask(long ownerId, long taskId) {
-        // Fetch the task first so we can publish a meaningful event
+        // DELETE ... RETURNING hands back the removed row so we can publish a meaningful event
         Task task = taskRepository
-                .findTaskByIdAndOwner(taskId, ownerId)
+                .deleteTask(taskId, ownerId)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Task not found"));
+        taskLookupService.evict(ownerId, taskId);
 
-        boolean deleted = taskRepository.deleteTask(taskId, ownerId);
-        if (!deleted) {
-            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Task not found");
-        }
         // Publish a unified removal event (delete = hard removal)
         taskEventProducer.publishTaskRemoved(task, TaskRemovalReason.DELETED);
     }
 
+    // ===================================================
+    // Batch create: valid items are inserted in one JDBC batch and
+    // transaction, invalid items are reported back without aborting the rest
+    // ===================================================
+    @Transactional
+    public BatchResponse createTasks(long ownerId, List<CreateTaskRequest> requests) {
+        requireBatchSize(requests);
+        Instant now = Instant.now();
+
+        BatchItemResult[] results = new BatchItemResult[requests.size()];
+        List<Integer> validIndexes = new ArrayList<>();
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < requests.size(); i++) {
+            CreateTaskRequest request = requests.get(i);
+            String error = validateCreate(request);
+            if (error != null) {
+                results[i] = BatchItemResult.failed(i, null, error);
+                continue;
+            }
+            Task task = new Task();
+            task.setOwnerId(ownerId);
+            task.setTitle(request.title());
+            task.setDescription(request.description());
+            task.setPriority(request.priority());
+            task.setStatus(TaskStatus.OPEN); // Default status
+            task.setDueDate(request.dueDate());
+            task.setCreatedAt(now);
+            task.setUpdatedAt(now);
+            validIndexes.add(i);
+            tasks.add(task);
+        }
+
+        if (!tasks.isEmpty()) {
+            List<Task> saved = taskRepository.createTasks(tasks);
+            for (int j = 0; j < saved.size(); j++) {
+                int index = validIndexes.get(j);
+                results[index] = BatchItemResult.ok(index, saved.get(j).getId());
+            }
+            taskEventProducer.publishTaskCreatedBatch(saved);
+        }
+        return BatchResponse.of(List.of(results));
+    }
+
+    // ===================================================
+    // Batch status update: one JDBC batch, one event per updated task
+    // ===================================================
+    @Transactional
+    public BatchResponse updateTaskStatuses(long ownerId, List<BatchUpdateTaskStatusRequest> requests) {
+        requireBatchSize(requests);
+
+        BatchItemResult[] results = new BatchItemResult[requests.size()];
+        List<Integer> validIndexes = new ArrayList<>();
+        List<Long> ids = new ArrayList<>();
+        List<TaskStatus> statuses = new ArrayList<>();
+        for (int i = 0; i < requests.size(); i++) {
+            BatchUpdateTaskStatusRequest request = requests.get(i);
+            if (request == null || request.id() == null) {
+                results[i] = BatchItemResult.failed(i, null, "id is required");
+            } else if (request.status() == null) {
+                results[i] = BatchItemResult.failed(i, request.id(), "status is required");
+            } else {
+                validIndexes.add(i);
+                ids.add(request.id());
+                statuses.add(request.status());
+            }
+        }
+
+        if (!ids.isEmpty()) {
+            List<Task> updated = taskRepository.updateTaskStatuses(ownerId, ids, statuses, Instant.now());
+            Set<Long> updatedIds = updated.stream().map(Task::getId).collect(Collectors.toSet());
+            updatedIds.forEach(id -> taskLookupService.evict(ownerId, id));
+            for (int index : validIndexes) {
+                Long id = requests.get(index).id();
+                results[index] = updatedIds.contains(id)
+                        ? BatchItemResult.ok(index, id)
+                        : BatchItemResult.failed(index, id, "Task not found");
+            }
+            taskEventProducer.publishTaskStatusChangedBatch(updated);
+        }
+        return BatchResponse.of(List.of(results));
+    }
+
+    // ===================================================
+    // Batch delete: one DELETE ... RETURNING, one removal event per task
+    // ===================================================
+    @Transactional
+    public BatchResponse deleteTasks(long ownerId, List<Long> taskIds) {
+        requireBatchSize(taskIds);
+
+        List<Long> ids = taskIds.stream().filter(Objects::nonNull).toList();
+        List<Task> deleted = ids.isEmpty() ? List.of() : taskRepository.deleteTasks(ownerId, ids);
+        Set<Long> deletedIds = deleted.stream().map(Task::getId).collect(Collectors.toSet());
+        deletedIds.forEach(id -> taskLookupService.evict(ownerId, id));
+
+        List<BatchItemResult> results = new ArrayList<>(taskIds.size());
+        for (int i = 0; i < taskIds.size(); i++) {
+            Long id = taskIds.get(i);
+            if (id == null) {
+                results.add(BatchItemResult.failed(i, null, "id is required"));
+            } else if (deletedIds.contains(id)) {
+                results.add(BatchItemResult.ok(i, id));
+            } else {
+                results.add(BatchItemResult.failed(i, id, "Task not found"));
+            }
+        }
+        // Publish a unified removal event (delete = hard removal)
+        taskEventProducer.publishTaskRemovedBatch(deleted, TaskRemovalReason.DELETED);
+        return BatchResponse.of(results);
+    }
+
+    private static void requireBatchSize(List<?> items) {
+        if (items == null || items.isEmpty() || items.size() > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("batch must contain between 1 and " + MAX_BATCH_SIZE + " items");
+        }
+    }
+
+    private static String validateCreate(CreateTaskRequest request) {
+        if (request == null || request.title() == null || request.title().isBlank()) {
+            return "title is required";
+        }
+        if (request.title().length() > MAX_TITLE_LENGTH) {
+            return "title must be at most " + MAX_TITLE_LENGTH + " characters";
+        }
+        if (request.priority() == null) {
+            return "priority is required";
+        }
+        return null;
+    }
+
     // ===================================================
     // Find tasks for tomorrow (for AI recommendation)
     // ===================================================
+    @Transactional(readOnly = true)
     public List<Task> findTasksForTomorrow(org.example.model.AppUser user) {
         // Tomorrow end of day: 23:59:59.999
         java.time.LocalDate tomorrow = java.time.LocalDate.now().plusDays(1);
@@ -177,6 +452,7 @@ public class TaskService {
     // ===================================================
     // Find all open tasks for a user
     // ===================================================
+    @Transactional(readOnly = true)
     public List<Task> findOpenTasks(long ownerId) {
         return taskRepository.findOpenTasksByOwner(ownerId);
     }
@@ -186,8 +462,8 @@ public class TaskService {
     // ===================================================
     @Transactional(readOnly = true)
     public Task getTaskEntity(long ownerId, long taskId) {
-        return taskRepository
-                .findTaskByIdAndOwner(taskId, ownerId)
+        return taskLookupService
+                .findCached(ownerId, taskId)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Task not found"));
     }
 }
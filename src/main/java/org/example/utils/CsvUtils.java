@@ -0,0 +1,25 @@
+package org.example.utils;
+
+/** Minimal RFC 4180 helpers shared by task export and import. */
+public final class CsvUtils {
+
+    private CsvUtils() {}
+
+    /**
+     * Quote a field if it contains a delimiter, quote or line break, doubling embedded quotes. Null
+     * becomes an empty unquoted field, which PostgreSQL COPY reads as NULL.
+     */
+    public static String escape(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    public static String escape(Object value) {
+        return value == null ? "" : escape(value.toString());
+    }
+}
@@ -0,0 +1,71 @@
+package org.example.utils;
+
+import jakarta.servlet.http.HttpServletResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.StringJoiner;
+import java.util.zip.CRC32;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.WebRequest;
+
+/**
+ * Strong ETags for conditional GETs. Values are derived only from stored versions and request
+ * parameters, so every node computes the same tag for the same representation.
+ */
+public final class ETagUtils {
+
+    /**
+     * Clients may keep the response but must revalidate it; without an explicit header Spring Security
+     * sends {@code no-store}, and the ETag would never come back in If-None-Match.
+     */
+    private static final String REVALIDATE =
+            CacheControl.noCache().cachePrivate().getHeaderValue();
+
+    private ETagUtils() {}
+
+    /**
+     * {@link WebRequest#checkNotModified(String)} for a private, revalidated representation: sets the
+     * ETag and {@code Cache-Control}, and returns true (status 304) when If-None-Match matches.
+     */
+    public static boolean checkNotModified(WebRequest request, String etag) {
+        if (request instanceof NativeWebRequest nativeRequest) {
+            HttpServletResponse response = nativeRequest.getNativeResponse(HttpServletResponse.class);
+            if (response != null) {
+                response.setHeader(HttpHeaders.CACHE_CONTROL, REVALIDATE);
+            }
+        }
+        return request.checkNotModified(etag);
+    }
+
+    /** One versioned resource, e.g. {@code "task-42-7"}; changes whenever its version does. */
+    public static String entity(String type, long id, long version) {
+        return "\"" + type + "-" + id + "-" + version + "\"";
+    }
+
+    /**
+     * A list representation: the owner's change version plus a digest of the parameters that shaped
+     * the page (paging, filters, sort), so different pages never share a tag.
+     */
+    public static String list(String type, long changeVersion, Object... parameters) {
+        StringJoiner canonical = new StringJoiner("|");
+        for (Object parameter : parameters) {
+            canonical.add(canonical(parameter));
+        }
+        CRC32 crc = new CRC32();
+        crc.update(canonical.toString().getBytes(StandardCharsets.UTF_8));
+        return "\"%s-%d-%08x\"".formatted(type, changeVersion, crc.getValue());
+    }
+
+    // sets (e.g. status filters) arrive in any order; sort so equal filters give equal tags
+    private static String canonical(Object parameter) {
+        if (parameter == null) {
+            return "";
+        }
+        if (parameter instanceof Collection<?> values) {
+            return values.stream().map(String::valueOf).sorted().toList().toString();
+        }
+        return parameter.toString();
+    }
+}
@@ -14,6 +14,7 @@ public class TaskMapper {
                 task.getPriority(),
                 task.getDueDate(),
                 task.getCreatedAt(),
-                task.getUpdatedAt());
+                task.getUpdatedAt(),
+                task.getVersion());
     }
 }
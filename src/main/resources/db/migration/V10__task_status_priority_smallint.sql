@@ -0,0 +1,25 @@
+-- Store task.status / task.priority as smallint codes instead of VARCHAR(32) names.
+-- Codes must match TaskStatus.code() / TaskPriority.code(); priority codes follow the
+-- priority order so ORDER BY priority is correct and can use a plain index.
+
+-- the V9 priority index is on a text expression that no longer applies
+DROP INDEX IF EXISTS idx_task_owner_priority_created;
+
+ALTER TABLE task
+    ALTER COLUMN status TYPE smallint USING CASE status
+        WHEN 'OPEN' THEN 0
+        WHEN 'IN_PROGRESS' THEN 1
+        WHEN 'COMPLETED' THEN 2
+        WHEN 'CANCELLED' THEN 3
+    END,
+    ALTER COLUMN priority TYPE smallint USING CASE priority
+        WHEN 'LOW' THEN 1
+        WHEN 'MEDIUM' THEN 2
+        WHEN 'HIGH' THEN 3
+    END,
+    ADD CONSTRAINT chk_task_status CHECK (status BETWEEN 0 AND 3),
+    ADD CONSTRAINT chk_task_priority CHECK (priority BETWEEN 1 AND 3);
+
+-- sort by priority, then created_at, id (same direction, so one index serves asc and desc)
+CREATE INDEX IF NOT EXISTS idx_task_owner_priority_created
+    ON task (owner_id, priority, created_at, id);
@@ -0,0 +1,8 @@
+-- Open-task lookups (findOpenTasksByOwner, findTasksForTomorrow) only ever read OPEN / IN_PROGRESS
+-- tasks, usually a small slice of an owner's history. A partial index over just those rows keeps
+-- the lookup proportional to the open tasks, and its (due_date, created_at) order matches
+-- findOpenTasksByOwner's ORDER BY, so no sort is needed.
+-- Queries must use "status IN (0, 1)" literally for the planner to match the index predicate.
+CREATE INDEX IF NOT EXISTS idx_task_owner_open_due
+    ON task (owner_id, due_date, created_at)
+    WHERE status IN (0, 1);
@@ -0,0 +1,34 @@
+-- ===============================
+-- Cold tier for finished tasks
+-- ===============================
+-- COMPLETED / CANCELLED tasks that have not changed for a while are moved here by
+-- TaskArchiveService, so the hot task table (and every owner-scoped index on it)
+-- only grows with live work. Archived tasks are read-only history: they keep their
+-- ids and are still returned by GET /api/tasks/{id} and GET /api/tasks/archive.
+-- Deleting from task fires the V6 counter triggers, so list totals count hot tasks only.
+
+CREATE TABLE task_archive (
+    id          BIGINT PRIMARY KEY,
+    owner_id    BIGINT NOT NULL REFERENCES app_user(id),
+
+    title       VARCHAR(255) NOT NULL,
+    description TEXT,
+    status      SMALLINT NOT NULL,
+    priority    SMALLINT,
+
+    due_date    TIMESTAMP WITH TIME ZONE,
+
+    created_at  TIMESTAMP WITH TIME ZONE NOT NULL,
+    updated_at  TIMESTAMP WITH TIME ZONE NOT NULL,
+    version     BIGINT NOT NULL,
+    archived_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT NOW()
+);
+
+-- archive listing, newest first
+CREATE INDEX IF NOT EXISTS idx_task_archive_owner_created
+    ON task_archive (owner_id, created_at DESC, id DESC);
+
+-- mover candidates: finished tasks by age, without touching the live rows
+CREATE INDEX IF NOT EXISTS idx_task_finished_updated
+    ON task (updated_at)
+    WHERE status IN (2, 3);
@@ -0,0 +1,144 @@
+-- ===============================
+-- Partitioned task tables
+-- ===============================
+-- task: HASH (owner_id), 16 partitions. Every TaskDao query is owner-scoped
+-- ("WHERE owner_id = :ownerId ..."), so each one is pruned to a single partition,
+-- and vacuum / index maintenance work on partitions 1/16th of the table's size.
+-- Range partitioning by created_at month would not prune the by-id lookups
+-- (GET/PUT/PATCH/DELETE /api/tasks/{id} carry no created_at); time-based purging
+-- is done by the archive mover (V12) instead.
+--
+-- task_archive: RANGE (archived_at), one partition per month. Archived rows only
+-- ever age, so retention is DROP of whole partitions instead of bulk DELETE.
+-- Monthly partitions are created ahead (and optionally dropped after
+-- task.archive.retention) by TaskArchivePartitionService.
+--
+-- Both tables are rebuilt once: rows are copied into the partitioned table and
+-- indexes are built afterwards. Primary keys must contain the partition key, so
+-- they become (id, owner_id) and (id, archived_at); ids still come from one
+-- sequence and stay unique.
+
+-- ---------- task ----------
+ALTER TABLE task RENAME TO task_unpartitioned;
+
+CREATE TABLE task (
+    id          BIGINT NOT NULL DEFAULT nextval('task_id_seq'),
+    owner_id    BIGINT NOT NULL,
+
+    title       VARCHAR(255) NOT NULL,
+    description TEXT,
+    status      SMALLINT NOT NULL,
+    priority    SMALLINT,
+
+    due_date    TIMESTAMP WITH TIME ZONE,
+
+    created_at  TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT NOW(),
+    updated_at  TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT NOW(),
+    version     BIGINT NOT NULL DEFAULT 0,
+
+    search_vector tsvector
+        GENERATED ALWAYS AS (
+            setweight(to_tsvector('english', coalesce(title, '')), 'A') ||
+            setweight(to_tsvector('english', coalesce(description, '')), 'B')
+        ) STORED,
+
+    CONSTRAINT chk_task_status CHECK (status BETWEEN 0 AND 3),
+    CONSTRAINT chk_task_priority CHECK (priority BETWEEN 1 AND 3)
+) PARTITION BY HASH (owner_id);
+
+DO $$
+BEGIN
+    FOR i IN 0..15 LOOP
+        EXECUTE format(
+            'CREATE TABLE task_p%s PARTITION OF task FOR VALUES WITH (MODULUS 16, REMAINDER %s)',
+            lpad(i::text, 2, '0'), i);
+    END LOOP;
+END $$;
+
+-- no triggers on the new table yet: the V6 counters already count these rows
+INSERT INTO task (id, owner_id, title, description, status, priority, due_date, created_at, updated_at, version)
+SELECT id, owner_id, title, description, status, priority, due_date, created_at, updated_at, version
+FROM task_unpartitioned;
+
+ALTER SEQUENCE task_id_seq OWNED BY task.id;
+DROP TABLE task_unpartitioned;
+
+ALTER TABLE task ADD CONSTRAINT task_pkey PRIMARY KEY (id, owner_id);
+ALTER TABLE task ADD CONSTRAINT fk_task_owner FOREIGN KEY (owner_id) REFERENCES app_user(id);
+
+-- same indexes as V5, V8-V12, now per partition
+CREATE INDEX idx_task_owner_created_id ON task (owner_id, created_at DESC, id DESC);
+CREATE INDEX idx_task_owner_search ON task USING GIN (owner_id, search_vector);
+CREATE INDEX idx_task_owner_status_created ON task (owner_id, status, created_at DESC, id DESC);
+CREATE INDEX idx_task_owner_due ON task (owner_id, due_date, id);
+CREATE INDEX idx_task_owner_updated ON task (owner_id, updated_at DESC, id DESC);
+CREATE INDEX idx_task_owner_priority_created ON task (owner_id, priority, created_at, id);
+CREATE INDEX idx_task_owner_open_due ON task (owner_id, due_date, created_at) WHERE status IN (0, 1);
+CREATE INDEX idx_task_finished_updated ON task (updated_at) WHERE status IN (2, 3);
+
+-- same triggers as V3 and V6
+CREATE TRIGGER task_set_updated_at
+BEFORE UPDATE ON task
+FOR EACH ROW
+EXECUTE FUNCTION set_updated_at();
+
+CREATE TRIGGER trg_task_count_inserted
+AFTER INSERT ON task
+REFERENCING NEW TABLE AS new_rows
+FOR EACH STATEMENT
+EXECUTE FUNCTION owner_item_count_task_inserted();
+
+CREATE TRIGGER trg_task_count_deleted
+AFTER DELETE ON task
+REFERENCING OLD TABLE AS old_rows
+FOR EACH STATEMENT
+EXECUTE FUNCTION owner_item_count_task_deleted();
+
+-- ---------- task_archive ----------
+ALTER TABLE task_archive RENAME TO task_archive_unpartitioned;
+
+CREATE TABLE task_archive (
+    id          BIGINT NOT NULL,
+    owner_id    BIGINT NOT NULL REFERENCES app_user(id),
+
+    title       VARCHAR(255) NOT NULL,
+    description TEXT,
+    status      SMALLINT NOT NULL,
+    priority    SMALLINT,
+
+    due_date    TIMESTAMP WITH TIME ZONE,
+
+    created_at  TIMESTAMP WITH TIME ZONE NOT NULL,
+    updated_at  TIMESTAMP WITH TIME ZONE NOT NULL,
+    version     BIGINT NOT NULL,
+    archived_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT NOW()
+) PARTITION BY RANGE (archived_at);
+
+-- months already archived into, up to two months ahead; UTC bounds, named task_archive_yYYYYmMM
+DO $$
+DECLARE
+    m timestamp;
+BEGIN
+    FOR m IN
+        SELECT generate_series(
+            date_trunc('month', COALESCE(
+                (SELECT MIN(archived_at) FROM task_archive_unpartitioned), NOW()) AT TIME ZONE 'UTC'),
+            date_trunc('month', NOW() AT TIME ZONE 'UTC') + interval '2 months',
+            interval '1 month')
+    LOOP
+        EXECUTE format(
+            'CREATE TABLE task_archive_%s PARTITION OF task_archive FOR VALUES FROM (%L) TO (%L)',
+            to_char(m, '"y"YYYY"m"MM'),
+            m::text || '+00',
+            (m + interval '1 month')::text || '+00');
+    END LOOP;
+END $$;
+
+INSERT INTO task_archive
+SELECT id, owner_id, title, description, status, priority, due_date, created_at, updated_at, version, archived_at
+FROM task_archive_unpartitioned;
+
+DROP TABLE task_archive_unpartitioned;
+
+ALTER TABLE task_archive ADD CONSTRAINT task_archive_pkey PRIMARY KEY (id, archived_at);
+CREATE INDEX idx_task_archive_owner_created ON task_archive (owner_id, created_at DESC, id DESC);
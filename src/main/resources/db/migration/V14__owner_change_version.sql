@@ -0,0 +1,95 @@
+-- ===============================
+-- Per-owner change versions
+-- ===============================
+-- task_version / note_version grow on every statement that inserts, updates or deletes
+-- the owner's tasks / notes. List endpoints derive their ETag from it, so a repeat poll
+-- with If-None-Match is answered with 304 after one primary-key lookup, before any
+-- list query runs. Like the V6 counters this is one upsert per statement, not per row.
+
+ALTER TABLE owner_item_count
+    ADD COLUMN IF NOT EXISTS task_version BIGINT NOT NULL DEFAULT 0,
+    ADD COLUMN IF NOT EXISTS note_version BIGINT NOT NULL DEFAULT 0;
+
+-- ---------- tasks ----------
+CREATE OR REPLACE FUNCTION owner_item_count_task_inserted()
+RETURNS TRIGGER AS $$
+BEGIN
+    INSERT INTO owner_item_count (owner_id, task_count, task_version)
+    SELECT owner_id, COUNT(*), 1 FROM new_rows GROUP BY owner_id ORDER BY owner_id
+    ON CONFLICT (owner_id)
+    DO UPDATE SET task_count = owner_item_count.task_count + EXCLUDED.task_count,
+                  task_version = owner_item_count.task_version + 1;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE FUNCTION owner_item_count_task_deleted()
+RETURNS TRIGGER AS $$
+BEGIN
+    UPDATE owner_item_count c
+    SET task_count = c.task_count - d.cnt,
+        task_version = c.task_version + 1
+    FROM (SELECT owner_id, COUNT(*) AS cnt FROM old_rows GROUP BY owner_id ORDER BY owner_id) d
+    WHERE c.owner_id = d.owner_id;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE FUNCTION owner_item_count_task_updated()
+RETURNS TRIGGER AS $$
+BEGIN
+    UPDATE owner_item_count c
+    SET task_version = c.task_version + 1
+    FROM (SELECT DISTINCT owner_id FROM new_rows ORDER BY owner_id) u
+    WHERE c.owner_id = u.owner_id;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_task_version_updated
+AFTER UPDATE ON task
+REFERENCING NEW TABLE AS new_rows
+FOR EACH STATEMENT
+EXECUTE FUNCTION owner_item_count_task_updated();
+
+-- ---------- notes ----------
+CREATE OR REPLACE FUNCTION owner_item_count_note_inserted()
+RETURNS TRIGGER AS $$
+BEGIN
+    INSERT INTO owner_item_count (owner_id, note_count, note_version)
+    SELECT owner_id, COUNT(*), 1 FROM new_rows GROUP BY owner_id ORDER BY owner_id
+    ON CONFLICT (owner_id)
+    DO UPDATE SET note_count = owner_item_count.note_count + EXCLUDED.note_count,
+                  note_version = owner_item_count.note_version + 1;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE FUNCTION owner_item_count_note_deleted()
+RETURNS TRIGGER AS $$
+BEGIN
+    UPDATE owner_item_count c
+    SET note_count = c.note_count - d.cnt,
+        note_version = c.note_version + 1
+    FROM (SELECT owner_id, COUNT(*) AS cnt FROM old_rows GROUP BY owner_id ORDER BY owner_id) d
+    WHERE c.owner_id = d.owner_id;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE FUNCTION owner_item_count_note_updated()
+RETURNS TRIGGER AS $$
+BEGIN
+    UPDATE owner_item_count c
+    SET note_version = c.note_version + 1
+    FROM (SELECT DISTINCT owner_id FROM new_rows ORDER BY owner_id) u
+    WHERE c.owner_id = u.owner_id;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_note_version_updated
+AFTER UPDATE ON note
+REFERENCING NEW TABLE AS new_rows
+FOR EACH STATEMENT
+EXECUTE FUNCTION owner_item_count_note_updated();
@@ -0,0 +1,21 @@
+-- ===============================
+-- Transactional outbox for task events
+-- ===============================
+-- TaskEventProducer no longer talks to Kafka on the request path. It inserts the event
+-- here, in the same transaction as the task change, so a rolled-back write never
+-- publishes and a slow broker never blocks a request. TaskEventOutboxRelay drains the
+-- table in id order, in large batches, and deletes what Kafka acknowledged.
+
+CREATE TABLE task_event_outbox (
+    id          BIGSERIAL PRIMARY KEY,
+    event_key   VARCHAR(64),           -- Kafka record key (the task id)
+    event_type  VARCHAR(32) NOT NULL,
+    payload     JSONB NOT NULL,        -- the serialized TaskEvent
+    created_at  TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT NOW()
+);
+
+-- a queue table: every row is inserted once and deleted soon after, so vacuum it early
+ALTER TABLE task_event_outbox SET (
+    autovacuum_vacuum_scale_factor = 0.0,
+    autovacuum_vacuum_threshold = 10000
+);
@@ -0,0 +1,16 @@
+-- ===============================
+-- Task events already counted in task_daily_stats
+-- ===============================
+-- The outbox relay and the Kafka consumer both deliver at least once, so a batch can
+-- arrive again (a relay retry, or a redelivery after a failed offset commit). The
+-- analytics consumer records each eventId here in the same transaction as its
+-- task_daily_stats upserts and counts only the ids that were new.
+
+CREATE TABLE task_analytics_applied_event (
+    event_id    VARCHAR(64) PRIMARY KEY,  -- TaskEvent.eventId
+    applied_at  TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT NOW()
+);
+
+-- rows older than task.analytics.applied-events.retention are purged by AnalyticsService
+CREATE INDEX idx_task_analytics_applied_event_applied_at
+    ON task_analytics_applied_event (applied_at);
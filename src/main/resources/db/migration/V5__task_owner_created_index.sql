@@ -0,0 +1,5 @@
+-- Supports keyset (cursor) pagination on GET /api/tasks.
+-- The column order matches "WHERE owner_id = ? ORDER BY created_at DESC, id DESC",
+-- so every page is an index range scan regardless of how deep the client has scrolled.
+CREATE INDEX IF NOT EXISTS idx_task_owner_created_id
+    ON task (owner_id, created_at DESC, id DESC);
@@ -0,0 +1,101 @@
+-- ===============================
+-- Per-owner task / note counters
+-- ===============================
+-- Lets list endpoints read PagedResponse.totalElements with a primary-key lookup
+-- instead of COUNT(*) over all of the owner's rows.
+--
+-- The counters are maintained by statement-level triggers with transition tables,
+-- so every write path (single insert, batch insert, bulk delete) pays one upsert
+-- per statement rather than one per row. Tasks and notes never change owner, so
+-- UPDATE does not need to touch the counters.
+
+CREATE TABLE owner_item_count (
+    owner_id    BIGINT PRIMARY KEY REFERENCES app_user(id) ON DELETE CASCADE,
+    task_count  BIGINT NOT NULL DEFAULT 0,
+    note_count  BIGINT NOT NULL DEFAULT 0
+);
+
+-- ===============================
+-- Task counters
+-- ===============================
+CREATE OR REPLACE FUNCTION owner_item_count_task_inserted()
+RETURNS TRIGGER AS $$
+BEGIN
+    INSERT INTO owner_item_count (owner_id, task_count)
+    SELECT owner_id, COUNT(*) FROM new_rows GROUP BY owner_id ORDER BY owner_id
+    ON CONFLICT (owner_id)
+    DO UPDATE SET task_count = owner_item_count.task_count + EXCLUDED.task_count;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Deletes only decrement existing rows: when a user is deleted the counter row is
+-- already gone via ON DELETE CASCADE and must not be re-created.
+CREATE OR REPLACE FUNCTION owner_item_count_task_deleted()
+RETURNS TRIGGER AS $$
+BEGIN
+    UPDATE owner_item_count c
+    SET task_count = c.task_count - d.cnt
+    FROM (SELECT owner_id, COUNT(*) AS cnt FROM old_rows GROUP BY owner_id ORDER BY owner_id) d
+    WHERE c.owner_id = d.owner_id;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_task_count_inserted
+AFTER INSERT ON task
+REFERENCING NEW TABLE AS new_rows
+FOR EACH STATEMENT
+EXECUTE FUNCTION owner_item_count_task_inserted();
+
+CREATE TRIGGER trg_task_count_deleted
+AFTER DELETE ON task
+REFERENCING OLD TABLE AS old_rows
+FOR EACH STATEMENT
+EXECUTE FUNCTION owner_item_count_task_deleted();
+
+-- ===============================
+-- Note counters
+-- ===============================
+CREATE OR REPLACE FUNCTION owner_item_count_note_inserted()
+RETURNS TRIGGER AS $$
+BEGIN
+    INSERT INTO owner_item_count (owner_id, note_count)
+    SELECT owner_id, COUNT(*) FROM new_rows GROUP BY owner_id ORDER BY owner_id
+    ON CONFLICT (owner_id)
+    DO UPDATE SET note_count = owner_item_count.note_count + EXCLUDED.note_count;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE FUNCTION owner_item_count_note_deleted()
+RETURNS TRIGGER AS $$
+BEGIN
+    UPDATE owner_item_count c
+    SET note_count = c.note_count - d.cnt
+    FROM (SELECT owner_id, COUNT(*) AS cnt FROM old_rows GROUP BY owner_id ORDER BY owner_id) d
+    WHERE c.owner_id = d.owner_id;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_note_count_inserted
+AFTER INSERT ON note
+REFERENCING NEW TABLE AS new_rows
+FOR EACH STATEMENT
+EXECUTE FUNCTION owner_item_count_note_inserted();
+
+CREATE TRIGGER trg_note_count_deleted
+AFTER DELETE ON note
+REFERENCING OLD TABLE AS old_rows
+FOR EACH STATEMENT
+EXECUTE FUNCTION owner_item_count_note_deleted();
+
+-- ===============================
+-- Backfill from existing data
+-- ===============================
+INSERT INTO owner_item_count (owner_id, task_count, note_count)
+SELECT u.id,
+       (SELECT COUNT(*) FROM task t WHERE t.owner_id = u.id),
+       (SELECT COUNT(*) FROM note n WHERE n.owner_id = u.id)
+FROM app_user u;
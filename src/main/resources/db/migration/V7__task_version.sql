@@ -0,0 +1,5 @@
+-- Optimistic concurrency for tasks: every UPDATE bumps version, and
+-- PATCH /api/tasks/{id} only applies when the client's version still matches.
+-- ADD COLUMN with a constant default is a metadata-only change (no table rewrite).
+ALTER TABLE task
+    ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,17 @@
+-- Full-text search on tasks (GET /api/tasks/search).
+-- search_vector is maintained by PostgreSQL itself: title weighs more than description.
+-- Note: adding a STORED generated column rewrites the task table once.
+ALTER TABLE task
+    ADD COLUMN IF NOT EXISTS search_vector tsvector
+        GENERATED ALWAYS AS (
+            setweight(to_tsvector('english', coalesce(title, '')), 'A') ||
+            setweight(to_tsvector('english', coalesce(description, '')), 'B')
+        ) STORED;
+
+-- btree_gin lets owner_id live in the same GIN index, so a search only visits the
+-- caller's matching rows instead of every owner's rows containing the term.
+-- (btree_gin is a trusted extension: no superuser needed on PostgreSQL 13+.)
+CREATE EXTENSION IF NOT EXISTS btree_gin;
+
+CREATE INDEX IF NOT EXISTS idx_task_owner_search
+    ON task USING GIN (owner_id, search_vector);
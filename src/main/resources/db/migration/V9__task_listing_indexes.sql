@@ -0,0 +1,21 @@
+-- Indexes behind the filtered / sorted GET /api/tasks.
+-- Every index leads with owner_id (all listings are owner-scoped) and ends with id,
+-- the tie-breaker of every ORDER BY, so the page can be read in index order.
+
+-- status filter, newest first (the default sort)
+CREATE INDEX IF NOT EXISTS idx_task_owner_status_created
+    ON task (owner_id, status, created_at DESC, id DESC);
+
+-- sort by due date and due-date windows
+CREATE INDEX IF NOT EXISTS idx_task_owner_due
+    ON task (owner_id, due_date, id);
+
+-- sort by last update
+CREATE INDEX IF NOT EXISTS idx_task_owner_updated
+    ON task (owner_id, updated_at DESC, id DESC);
+
+-- sort by priority: priority is stored as text, so index its rank LOW < MEDIUM < HIGH,
+-- then created_at, id (same direction, so one index serves asc and desc).
+-- The expression must stay identical to TaskRepositoryImpl.PRIORITY_RANK.
+CREATE INDEX IF NOT EXISTS idx_task_owner_priority_created
+    ON task (owner_id, array_position(ARRAY['LOW', 'MEDIUM', 'HIGH']::varchar[], priority), created_at, id);
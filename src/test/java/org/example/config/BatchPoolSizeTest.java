@@ -0,0 +1,34 @@
+package org.example.config;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.env.YamlPropertySourceLoader;
+import org.springframework.core.env.PropertySource;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/** Every export and scheduled job can hold a batch connection at once, so none waits out the connection timeout. */
+class BatchPoolSizeTest {
+
+    @Test
+    @DisplayName("the batch pool covers mvcAsyncExecutor's max plus the scheduler threads")
+    void batchPool_coversExportsAndScheduledJobs() throws Exception {
+        List<PropertySource<?>> yml =
+                new YamlPropertySourceLoader().load("application", new ClassPathResource("application.yml"));
+        PropertySource<?> properties = yml.get(0);
+        int batchPool = Integer.parseInt(
+                String.valueOf(properties.getProperty("task.datasource.pools.batch.maximum-pool-size")));
+        int schedulerThreads =
+                Integer.parseInt(String.valueOf(properties.getProperty("spring.task.scheduling.pool.size")));
+
+        ThreadPoolTaskExecutor exports = new AsyncConfig().mvcAsyncExecutor();
+        try {
+            assertThat(batchPool).isGreaterThanOrEqualTo(exports.getMaxPoolSize() + schedulerThreads);
+        } finally {
+            exports.shutdown();
+        }
+    }
+}
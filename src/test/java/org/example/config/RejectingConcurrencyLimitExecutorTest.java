@@ -0,0 +1,59 @@
+package org.example.config;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+
+/** The concurrency cap of the virtual-thread executors rejects instead of blocking the caller. */
+class RejectingConcurrencyLimitExecutorTest {
+
+    @Test
+    @DisplayName("beyond the limit execute() throws at once; a finished task frees its slot")
+    void execute_rejectsAtTheLimit() throws Exception {
+        RejectingConcurrencyLimitExecutor executor =
+                new RejectingConcurrencyLimitExecutor(new SimpleAsyncTaskExecutor("limit-test-"), 2);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch finished = new CountDownLatch(2);
+        Runnable blocking = () -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                finished.countDown();
+            }
+        };
+        executor.execute(blocking);
+        executor.execute(blocking);
+
+        long start = System.nanoTime();
+        assertThatThrownBy(() -> executor.execute(() -> {})).isInstanceOf(TaskRejectedException.class);
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isLessThan(500);
+
+        release.countDown();
+        assertThat(finished.await(2, TimeUnit.SECONDS)).isTrue();
+        CountDownLatch ran = new CountDownLatch(1);
+        // the permit is released right after the task body, possibly a moment after the latch
+        await(() -> executor.execute(ran::countDown));
+        assertThat(ran.await(2, TimeUnit.SECONDS)).isTrue();
+    }
+
+    private static void await(Runnable submit) throws InterruptedException {
+        for (int i = 0; ; i++) {
+            try {
+                submit.run();
+                return;
+            } catch (TaskRejectedException e) {
+                if (i == 50) {
+                    throw e;
+                }
+                Thread.sleep(20);
+            }
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package org.example.controller;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import java.util.Optional;
+import org.example.model.AppUser;
+import org.example.model.Note;
+import org.example.repository.NoteRepository;
+import org.example.service.NoteService;
+import org.example.service.UserLookupService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+
+/** Conditional GETs on NoteController over a real NoteService with mocked repositories (no Spring context). */
+class NoteControllerETagTest {
+
+    private static final long OWNER_ID = 1L;
+
+    private NoteRepository notesRepo;
+    private MockMvc mvc;
+
+    private static class TestPrincipalResolver implements HandlerMethodArgumentResolver {
+        @Override
+        public boolean supportsParameter(MethodParameter parameter) {
+            return parameter.hasParameterAnnotation(AuthenticationPrincipal.class);
+        }
+
+        @Override
+        public Object resolveArgument(
+                MethodParameter parameter,
+                ModelAndViewContainer mavContainer,
+                NativeWebRequest webRequest,
+                WebDataBinderFactory binderFactory) {
+            return User.withUsername("emma").password("N/A").roles("USER").build();
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        AppUser owner = new AppUser();
+        owner.setId(OWNER_ID);
+        owner.setUsername("emma");
+        UserLookupService userLookupService = mock(UserLookupService.class);
+        when(userLookupService.findByUsernameCached("emma")).thenReturn(Optional.of(owner));
+
+        notesRepo = mock(NoteRepository.class);
+        when(notesRepo.findChangeVersionByOwnerId(OWNER_ID)).thenReturn(4L);
+
+        mvc = MockMvcBuilders.standaloneSetup(new NoteController(new NoteService(notesRepo, userLookupService)))
+                .setCustomArgumentResolvers(new TestPrincipalResolver())
+                .build();
+    }
+
+    @Test
+    @DisplayName("GET /api/notes/{id} answers a matching If-None-Match with 304 and a revalidating Cache-Control")
+    void getOne_conditional() throws Exception {
+        Note note = new Note("t", "c", OWNER_ID);
+        note.setId(7L);
+        when(notesRepo.findByIdAndOwnerId(7L, OWNER_ID)).thenReturn(Optional.of(note));
+
+        mvc.perform(get("/api/notes/7"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"note-7-4\""))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache, private"));
+
+        mvc.perform(get("/api/notes/7").header(HttpHeaders.IF_NONE_MATCH, "\"note-7-4\""))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    @DisplayName("GET /api/notes/{id}: a missing or foreign note is 404 even when If-None-Match matches")
+    void getOne_missingNoteIsNotFoundBeforeNotModified() throws Exception {
+        when(notesRepo.findByIdAndOwnerId(8L, OWNER_ID)).thenReturn(Optional.empty());
+
+        mvc.perform(get("/api/notes/8").header(HttpHeaders.IF_NONE_MATCH, "\"note-8-4\""))
+                .andExpect(status().isNotFound());
+        verify(notesRepo, never()).findChangeVersionByOwnerId(anyLong());
+    }
+}
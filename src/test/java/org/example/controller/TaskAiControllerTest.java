@@ -0,0 +1,185 @@
+package org.example.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import java.security.Principal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import org.example.controller.errorHandling.GlobalExceptionHandler;
+import org.example.model.AppUser;
+import org.example.model.Task;
+import org.example.model.TaskDailyStats;
+import org.example.service.AiTaskService;
+import org.example.service.AnalyticsService;
+import org.example.service.TaskService;
+import org.example.service.UserService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+/** Async AI endpoints on TaskAiController, MockMvc standaloneSetup (no Spring context). */
+class TaskAiControllerTest {
+
+    private static final Principal PRINCIPAL = () -> "emma";
+    private static final LocalDate DATE = LocalDate.of(2026, 10, 1);
+
+    private AiTaskService aiTaskService;
+    private TaskService taskService;
+    private ThreadPoolTaskExecutor aiExecutor;
+
+    @BeforeEach
+    void setUp() {
+        aiTaskService = mock(AiTaskService.class);
+        taskService = mock(TaskService.class);
+        aiExecutor = new ThreadPoolTaskExecutor();
+        aiExecutor.setCorePoolSize(2);
+        aiExecutor.setThreadNamePrefix("ai-test-");
+        aiExecutor.initialize();
+    }
+
+    @AfterEach
+    void tearDown() {
+        aiExecutor.shutdown();
+    }
+
+    private MockMvc mvc(Executor executor, Duration timeout) {
+        UserService userService = mock(UserService.class);
+        AppUser user = new AppUser();
+        user.setId(1L);
+        user.setUsername("emma");
+        when(userService.loadByUsername("emma")).thenReturn(user);
+
+        AnalyticsService analyticsService = mock(AnalyticsService.class);
+        when(analyticsService.getDailyStats(DATE)).thenReturn(Optional.of(new TaskDailyStats()));
+
+        TaskAiController controller =
+                new TaskAiController(aiTaskService, taskService, userService, analyticsService, executor, timeout);
+        return MockMvcBuilders.standaloneSetup(controller)
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+    }
+
+    @Test
+    @DisplayName("GET /api/tasks/ai/summary runs the LLM call on the AI executor, not the request thread")
+    void summary_runsOnAiExecutor() throws Exception {
+        AtomicReference<String> llmThread = new AtomicReference<>();
+        when(aiTaskService.generateDailySummary(any(), any())).thenAnswer(invocation -> {
+            llmThread.set(Thread.currentThread().getName());
+            return "productive day";
+        });
+        MockMvc mvc = mvc(aiExecutor, Duration.ofSeconds(5));
+
+        MvcResult started = mvc.perform(get("/api/tasks/ai/summary")
+                        .param("date", DATE.toString())
+                        .principal(PRINCIPAL))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.summary").value("productive day"));
+        assertThat(llmThread.get()).startsWith("ai-test-");
+    }
+
+    @Test
+    @DisplayName("an LLM call that outlives task.ai.timeout answers 504")
+    void summary_timeout() throws Exception {
+        when(aiTaskService.generateDailySummary(any(), any())).thenAnswer(invocation -> {
+            Thread.sleep(2_000);
+            return "too late";
+        });
+        MockMvc mvc = mvc(aiExecutor, Duration.ofMillis(100));
+
+        MvcResult started = mvc.perform(get("/api/tasks/ai/summary")
+                        .param("date", DATE.toString())
+                        .principal(PRINCIPAL))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mvc.perform(asyncDispatch(started)).andExpect(status().isGatewayTimeout());
+    }
+
+    @Test
+    @DisplayName("a timed-out LLM call is interrupted, so it gives its AI thread back")
+    void summary_timeoutCancelsTheCall() throws Exception {
+        CountDownLatch interrupted = new CountDownLatch(1);
+        when(aiTaskService.generateDailySummary(any(), any())).thenAnswer(invocation -> {
+            try {
+                Thread.sleep(10_000);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+            }
+            return "too late";
+        });
+        MockMvc mvc = mvc(aiExecutor, Duration.ofMillis(100));
+
+        MvcResult started = mvc.perform(get("/api/tasks/ai/summary")
+                        .param("date", DATE.toString())
+                        .principal(PRINCIPAL))
+                .andReturn();
+        mvc.perform(asyncDispatch(started)).andExpect(status().isGatewayTimeout());
+
+        assertThat(interrupted.await(2, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    @DisplayName("/overdue-risk stops calling the LLM once the response has timed out")
+    void overdueRisk_timeoutStopsThePerTaskLoop() throws Exception {
+        List<Task> openTasks = new ArrayList<>();
+        for (long id = 1; id <= 20; id++) {
+            Task task = new Task();
+            task.setId(id);
+            task.setTitle("task " + id);
+            openTasks.add(task);
+        }
+        when(taskService.findOpenTasks(1L)).thenReturn(openTasks);
+        // like AiTaskService: the interrupted call's exception is swallowed and a fallback score returned
+        when(aiTaskService.predictOverdueRisk(any(), any())).thenAnswer(invocation -> {
+            try {
+                Thread.sleep(100);
+            } catch (InterruptedException e) {
+                // swallowed, flag cleared
+            }
+            return 0.5;
+        });
+        MockMvc mvc = mvc(aiExecutor, Duration.ofMillis(250));
+
+        MvcResult started = mvc.perform(get("/api/tasks/ai/overdue-risk").principal(PRINCIPAL))
+                .andReturn();
+        mvc.perform(asyncDispatch(started)).andExpect(status().isGatewayTimeout());
+
+        Thread.sleep(1_000);
+        verify(aiTaskService, atMost(4)).predictOverdueRisk(any(), any());
+    }
+
+    @Test
+    @DisplayName("a saturated AI executor answers 503")
+    void summary_executorSaturated() throws Exception {
+        Executor saturated = task -> {
+            throw new TaskRejectedException("AI executor is saturated");
+        };
+        MockMvc mvc = mvc(saturated, Duration.ofSeconds(5));
+
+        mvc.perform(get("/api/tasks/ai/summary").param("date", DATE.toString()).principal(PRINCIPAL))
+                .andExpect(status().isServiceUnavailable());
+        verifyNoInteractions(aiTaskService);
+    }
+}
@@ -0,0 +1,221 @@
+package org.example.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.Filter;
+import jakarta.servlet.FilterRegistration;
+import jakarta.servlet.ServletRegistration;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.security.Principal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.tomcat.util.threads.VirtualThreadExecutor;
+import org.example.config.AsyncConfig;
+import org.example.controller.errorHandling.GlobalExceptionHandler;
+import org.example.model.AppUser;
+import org.example.model.TaskDailyStats;
+import org.example.service.AiTaskService;
+import org.example.service.AnalyticsService;
+import org.example.service.TaskService;
+import org.example.service.UserService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.junit.jupiter.api.condition.JRE;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.web.embedded.tomcat.TomcatServletWebServerFactory;
+import org.springframework.boot.web.server.WebServer;
+import org.springframework.boot.web.servlet.context.AnnotationConfigServletWebApplicationContext;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.web.servlet.DispatcherServlet;
+import org.springframework.web.servlet.config.annotation.EnableWebMvc;
+
+/**
+ * Throughput of 1,000 concurrent GET /api/tasks/ai/summary requests through the real TaskAiController and the
+ * aiExecutor that AsyncConfig builds, on embedded Tomcat: default platform threads vs. the virtual-threads
+ * profile (virtual Tomcat threads and the virtual-thread aiExecutor). Only the OpenAI round trip is simulated,
+ * by an AiTaskService that blocks for it.
+ *
+ * <p>Opens 1,000 connections, so it only runs with {@code TMS_AI_BENCHMARK=true}; the virtual-thread half
+ * needs Java 21 as well:
+ *
+ * <pre>
+ * JAVA_HOME=/path/to/jdk-21 TMS_AI_BENCHMARK=true mvn -Pvirtual-threads test -Dtest=TaskAiVirtualThreadsBenchmarkTest
+ * </pre>
+ */
+@Slf4j
+@EnabledIfEnvironmentVariable(named = TaskAiVirtualThreadsBenchmarkTest.BENCHMARK_ENV, matches = "true")
+class TaskAiVirtualThreadsBenchmarkTest {
+
+    static final String BENCHMARK_ENV = "TMS_AI_BENCHMARK";
+
+    private static final String PATH = "/api/tasks/ai/summary?date=2026-10-01";
+    private static final Principal PRINCIPAL = () -> "emma";
+    private static final Duration LLM_LATENCY = Duration.ofMillis(300);
+    private static final int CONCURRENT_REQUESTS = 1_000;
+
+    /** AsyncConfig's default task.ai.virtual-threads.max-concurrent-calls. */
+    private static final int VIRTUAL_MAX_CONCURRENT_CALLS = 1_000;
+
+    @Test
+    @DisplayName("platform threads: the 32-thread aiExecutor (plus 200 queued) sheds most of 1,000 AI requests")
+    void platformThreads_throughput() throws Exception {
+        Run platform = run(false, CONCURRENT_REQUESTS);
+        report("platform", platform);
+
+        assertThat(platform.ok()).isPositive();
+        assertThat(platform.rejected()).isPositive();
+        // every accepted call waited for its turn on 32 threads: at least ok / 32 rounds of LLM latency
+        assertThat(platform.seconds()).isGreaterThanOrEqualTo(platform.ok() / 32 * LLM_LATENCY.toMillis() / 1000.0);
+    }
+
+    @Test
+    @EnabledForJreRange(min = JRE.JAVA_21)
+    @DisplayName("virtual threads: 1,000 concurrent AI requests are all served in about one LLM round trip")
+    void virtualThreads_throughput() throws Exception {
+        Run platform = run(false, CONCURRENT_REQUESTS);
+        Run virtual = run(true, CONCURRENT_REQUESTS);
+        report("platform", platform);
+        report("virtual", virtual);
+
+        assertThat(virtual.ok()).isEqualTo(CONCURRENT_REQUESTS);
+        // a few rounds of LLM latency for a fraction of the requests vs. about one round for all of them;
+        // connection setup eats into the gap, hence the conservative margin
+        assertThat(virtual.requestsPerSecond()).isGreaterThan(platform.requestsPerSecond() * 3);
+    }
+
+    private static void report(String threads, Run run) {
+        log.info(
+                "[bench] {} threads, {} concurrent AI requests ({}ms LLM latency): {} ok, {} rejected (503) in {}s"
+                        + " = {} req/s",
+                threads,
+                CONCURRENT_REQUESTS,
+                LLM_LATENCY.toMillis(),
+                run.ok(),
+                run.rejected(),
+                String.format("%.2f", run.seconds()),
+                String.format("%.0f", run.requestsPerSecond()));
+    }
+
+    /** Served (200) and rejected (503) requests, and the wall time until the last response. */
+    private record Run(int ok, int rejected, double seconds) {
+        double requestsPerSecond() {
+            return ok / seconds;
+        }
+    }
+
+    private static Run run(boolean virtualThreads, int requests) throws Exception {
+        AsyncTaskExecutor aiExecutor = new AsyncConfig().aiExecutor(virtualThreads, VIRTUAL_MAX_CONCURRENT_CALLS);
+        TomcatServletWebServerFactory factory = new TomcatServletWebServerFactory(0);
+        if (virtualThreads) {
+            // what Spring Boot does for spring.threads.virtual.enabled
+            factory.addProtocolHandlerCustomizers(
+                    protocol -> protocol.setExecutor(new VirtualThreadExecutor("tomcat-handler-")));
+        }
+        WebServer server = factory.getWebServer(servletContext -> {
+            FilterRegistration.Dynamic principal = servletContext.addFilter("principal", principalFilter());
+            principal.setAsyncSupported(true);
+            principal.addMappingForUrlPatterns(EnumSet.of(DispatcherType.REQUEST, DispatcherType.ASYNC), false, "/*");
+            ServletRegistration.Dynamic mvc =
+                    servletContext.addServlet("mvc", new DispatcherServlet(webContext(aiExecutor)));
+            mvc.setAsyncSupported(true);
+            mvc.addMapping("/");
+        });
+        server.start();
+        try {
+            URI uri = URI.create("http://localhost:" + server.getPort() + PATH);
+            HttpClient client =
+                    HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+            // warm-up: class loading, MVC initialization, connection setup
+            send(client, uri, 50);
+
+            long start = System.nanoTime();
+            int[] outcome = send(client, uri, requests);
+            return new Run(outcome[0], outcome[1], (System.nanoTime() - start) / 1e9);
+        } finally {
+            server.stop();
+            if (aiExecutor instanceof DisposableBean pool) {
+                pool.destroy();
+            }
+        }
+    }
+
+    /** Returns {ok, rejected}; any other status fails the run. */
+    private static int[] send(HttpClient client, URI uri, int requests) {
+        List<CompletableFuture<HttpResponse<String>>> responses = new ArrayList<>(requests);
+        for (int i = 0; i < requests; i++) {
+            responses.add(
+                    client.sendAsync(HttpRequest.newBuilder(uri).GET().build(), HttpResponse.BodyHandlers.ofString()));
+        }
+        int[] outcome = new int[2];
+        for (CompletableFuture<HttpResponse<String>> response : responses) {
+            int status = response.join().statusCode();
+            assertThat(status).isIn(200, 503);
+            outcome[status == 200 ? 0 : 1]++;
+        }
+        return outcome;
+    }
+
+    /** Stands in for Spring Security: every request is emma's. */
+    private static Filter principalFilter() {
+        return (request, response, chain) -> chain.doFilter(
+                new HttpServletRequestWrapper((HttpServletRequest) request) {
+                    @Override
+                    public Principal getUserPrincipal() {
+                        return PRINCIPAL;
+                    }
+                },
+                response);
+    }
+
+    private static AnnotationConfigServletWebApplicationContext webContext(AsyncTaskExecutor aiExecutor) {
+        AiTaskService aiTaskService = mock(AiTaskService.class);
+        when(aiTaskService.generateDailySummary(any(), any())).thenAnswer(invocation -> {
+            Thread.sleep(LLM_LATENCY.toMillis()); // the OpenAI round trip
+            return "productive day";
+        });
+        AppUser user = new AppUser();
+        user.setId(1L);
+        user.setUsername("emma");
+        UserService userService = mock(UserService.class);
+        when(userService.loadByUsername("emma")).thenReturn(user);
+        AnalyticsService analyticsService = mock(AnalyticsService.class);
+        when(analyticsService.getDailyStats(LocalDate.of(2026, 10, 1))).thenReturn(Optional.of(new TaskDailyStats()));
+
+        AnnotationConfigServletWebApplicationContext context = new AnnotationConfigServletWebApplicationContext();
+        context.register(WebMvc.class);
+        context.registerBean(
+                TaskAiController.class,
+                () -> new TaskAiController(
+                        aiTaskService,
+                        mock(TaskService.class),
+                        userService,
+                        analyticsService,
+                        aiExecutor,
+                        Duration.ofSeconds(30)));
+        context.registerBean(GlobalExceptionHandler.class);
+        return context;
+    }
+
+    @Configuration
+    @EnableWebMvc
+    static class WebMvc {}
+}
@@ -0,0 +1,137 @@
+package org.example.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongPredicate;
+import org.example.auth.CustomUserPrincipal;
+import org.example.dto.PagedResponse;
+import org.example.dto.TaskResponse;
+import org.example.model.TaskStatus;
+import org.example.service.TaskExportService;
+import org.example.service.TaskService;
+import org.example.utils.ETagUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+
+/** Conditional GETs on TaskController, MockMvc standaloneSetup (no Spring context). */
+class TaskControllerETagTest {
+
+    private static final long OWNER_ID = 1L;
+
+    private TaskService taskService;
+    private MockMvc mvc;
+
+    private static class TestPrincipalResolver implements HandlerMethodArgumentResolver {
+        @Override
+        public boolean supportsParameter(MethodParameter parameter) {
+            return parameter.hasParameterAnnotation(AuthenticationPrincipal.class);
+        }
+
+        @Override
+        public Object resolveArgument(
+                MethodParameter parameter,
+                ModelAndViewContainer mavContainer,
+                NativeWebRequest webRequest,
+                WebDataBinderFactory binderFactory) {
+            return new CustomUserPrincipal(OWNER_ID, "emma", "N/A", List.of(), true);
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        taskService = mock(TaskService.class);
+        mvc = MockMvcBuilders.standaloneSetup(new TaskController(taskService, mock(TaskExportService.class)))
+                .setCustomArgumentResolvers(new TestPrincipalResolver())
+                .build();
+    }
+
+    private static TaskResponse task(long id, long version) {
+        return new TaskResponse(id, "t", null, TaskStatus.OPEN, null, null, null, null, version);
+    }
+
+    @Test
+    @DisplayName("GET /api/tasks/{id} sends the version ETag and answers a matching If-None-Match with 304")
+    void getTask_conditional() throws Exception {
+        when(taskService.getTask(OWNER_ID, 7L)).thenReturn(task(7L, 3L));
+
+        mvc.perform(get("/api/tasks/7"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"task-7-3\""))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache, private"))
+                .andExpect(jsonPath("$.id").value(7));
+
+        mvc.perform(get("/api/tasks/7").header(HttpHeaders.IF_NONE_MATCH, "\"task-7-3\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        when(taskService.getTask(OWNER_ID, 7L)).thenReturn(task(7L, 4L));
+        mvc.perform(get("/api/tasks/7").header(HttpHeaders.IF_NONE_MATCH, "\"task-7-3\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"task-7-4\""));
+    }
+
+    @Test
+    @DisplayName("GET /api/tasks: an unchanged list is a 304 without running the list query")
+    void listTasks_conditional() throws Exception {
+        AtomicLong version = new AtomicLong(5L);
+        AtomicInteger pagesRead = new AtomicInteger();
+        when(taskService.listTasksForUserIfModified(eq(OWNER_ID), any(), any(), any()))
+                .thenAnswer(invocation -> {
+                    LongPredicate notModified = invocation.getArgument(3);
+                    if (notModified.test(version.get())) {
+                        return Optional.empty();
+                    }
+                    pagesRead.incrementAndGet();
+                    return Optional.of(new PagedResponse<>(List.of(task(7L, 3L)), 0, 10, 1, 1, false, false));
+                });
+
+        String etag = mvc.perform(get("/api/tasks").param("status", "OPEN", "IN_PROGRESS"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache, private"))
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.ETAG);
+
+        // same filter in another order: same representation, same tag
+        mvc.perform(get("/api/tasks").param("status", "IN_PROGRESS", "OPEN").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache, private"));
+        assertThat(pagesRead).hasValue(1);
+
+        // another page is another representation
+        mvc.perform(get("/api/tasks")
+                        .param("status", "OPEN", "IN_PROGRESS")
+                        .param("page", "1")
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk());
+
+        version.set(6L);
+        mvc.perform(get("/api/tasks").param("status", "OPEN", "IN_PROGRESS").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("list ETags differ between owners whose lists have the same version")
+    void listTag_includesOwner() {
+        assertThat(ETagUtils.list("tasks", 5L, 1L, "cursor", "", 10, false))
+                .isNotEqualTo(ETagUtils.list("tasks", 5L, 2L, "cursor", "", 10, false));
+    }
+}
@@ -0,0 +1,161 @@
+package org.example.datasource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.sql.DataSource;
+import org.example.auth.CustomUserPrincipal;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+class RoutingDataSourceTest {
+
+    private final Connection primaryConnection = mock(Connection.class);
+    private final Connection consumerConnection = mock(Connection.class);
+    private final Connection replica0Connection = mock(Connection.class);
+    private final Connection replica1Connection = mock(Connection.class);
+
+    private final AtomicLong nanos = new AtomicLong();
+    private final ReadYourWritesTracker tracker = new ReadYourWritesTracker(Duration.ofSeconds(5), nanos::get);
+
+    private RoutingDataSource routing;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        routing = new RoutingDataSource(
+                Map.of(
+                        Workload.INTERACTIVE,
+                        dataSource(primaryConnection),
+                        Workload.CONSUMER,
+                        dataSource(consumerConnection)),
+                List.of(dataSource(replica0Connection), dataSource(replica1Connection)),
+                tracker);
+        routing.afterPropertiesSet();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void statementsOutsideReadOnlyTransactionsGoToPrimary() throws SQLException {
+        assertThat(routing.getConnection()).isSameAs(primaryConnection);
+
+        beginTransaction(false);
+        assertThat(routing.getConnection()).isSameAs(primaryConnection);
+    }
+
+    @Test
+    void readOnlyTransactionsRoundRobinOverReplicas() throws SQLException {
+        beginTransaction(true);
+
+        assertThat(routing.getConnection()).isSameAs(replica0Connection);
+        assertThat(routing.getConnection()).isSameAs(replica1Connection);
+        assertThat(routing.getConnection()).isSameAs(replica0Connection);
+    }
+
+    @Test
+    void markedReadGoesToReplicaUnlessInsideReadWriteTransaction() {
+        assertThat(ReadRouting.onReplica(null, this::connection)).isSameAs(replica0Connection);
+
+        beginTransaction(false);
+        assertThat(ReadRouting.onReplica(null, this::connection)).isSameAs(primaryConnection);
+    }
+
+    @Test
+    void recentWriterReadsFromPrimaryUntilWindowPasses() throws SQLException {
+        authenticate(42L);
+        tracker.recordWrite(42L);
+        beginTransaction(true);
+
+        assertThat(routing.getConnection()).isSameAs(primaryConnection);
+        // other users are not pinned
+        assertThat(ReadRouting.onReplica(7L, this::connection)).isSameAs(replica0Connection);
+
+        nanos.addAndGet(Duration.ofSeconds(6).toNanos());
+        assertThat(routing.getConnection()).isSameAs(replica1Connection);
+    }
+
+    @Test
+    void markedReadOnBehalfOfRecentWriterStaysOnPrimary() {
+        tracker.recordWrite(42L);
+
+        assertThat(ReadRouting.onReplica(42L, this::connection)).isSameAs(primaryConnection);
+    }
+
+    @Test
+    void primaryReadStaysOnPrimaryInsideReadOnlyTransactionsAndReplicaMarkers() {
+        beginTransaction(true);
+
+        assertThat(ReadRouting.onPrimary(this::connection)).isSameAs(primaryConnection);
+        assertThat(ReadRouting.onReplica(null, () -> ReadRouting.onPrimary(this::connection)))
+                .isSameAs(primaryConnection);
+        // the marker is gone afterwards
+        assertThat(connection()).isSameAs(replica0Connection);
+    }
+
+    @Test
+    void withoutReplicasEverythingGoesToPrimary() throws SQLException {
+        RoutingDataSource primaryOnly =
+                new RoutingDataSource(Map.of(Workload.INTERACTIVE, dataSource(primaryConnection)), List.of(), tracker);
+        primaryOnly.afterPropertiesSet();
+        beginTransaction(true);
+
+        assertThat(primaryOnly.getConnection()).isSameAs(primaryConnection);
+    }
+
+    @Test
+    void workloadsUseTheirOwnPrimaryPool() {
+        assertThat(Workload.CONSUMER.call(this::connection)).isSameAs(consumerConnection);
+        // no batch pool configured: shares the interactive one
+        assertThat(Workload.BATCH.call(this::connection)).isSameAs(primaryConnection);
+        assertThat(connection()).isSameAs(primaryConnection);
+    }
+
+    @Test
+    void replicaReadsLeaveTheWorkloadPool() {
+        Connection connection = Workload.CONSUMER.call(() -> ReadRouting.onReplica(null, this::connection));
+
+        assertThat(connection).isSameAs(replica0Connection);
+    }
+
+    private Connection connection() {
+        try {
+            return routing.getConnection();
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static DataSource dataSource(Connection connection) throws SQLException {
+        DataSource dataSource = mock(DataSource.class);
+        when(dataSource.getConnection()).thenReturn(connection);
+        return dataSource;
+    }
+
+    private static void beginTransaction(boolean readOnly) {
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(readOnly);
+    }
+
+    private static void authenticate(long userId) {
+        CustomUserPrincipal principal = new CustomUserPrincipal(userId, "user" + userId, "", List.of(), true);
+        SecurityContextHolder.getContext()
+                .setAuthentication(
+                        new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+    }
+}
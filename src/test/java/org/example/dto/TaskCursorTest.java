@@ -0,0 +1,36 @@
+package org.example.dto;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.time.Instant;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/** Unit tests for the opaque keyset cursor used by GET /api/tasks?cursor=. */
+class TaskCursorTest {
+
+    @Test
+    @DisplayName("encode()/decode(): should round-trip created_at with microsecond precision and id")
+    void encodeDecode_shouldRoundTrip() {
+        TaskCursor cursor = new TaskCursor(Instant.parse("2025-11-18T09:15:30.123456Z"), 42L);
+
+        TaskCursor decoded = TaskCursor.decode(cursor.encode());
+
+        assertThat(decoded).isEqualTo(cursor);
+    }
+
+    @Test
+    @DisplayName("encode(): should be URL-safe so it can be passed as a query param as-is")
+    void encode_shouldBeUrlSafe() {
+        String token = new TaskCursor(Instant.parse("2025-11-18T09:15:30Z"), Long.MAX_VALUE).encode();
+
+        assertThat(token).matches("[A-Za-z0-9_-]+");
+    }
+
+    @Test
+    @DisplayName("decode(): should reject malformed cursors as IllegalArgumentException (400)")
+    void decode_shouldRejectGarbage() {
+        assertThatThrownBy(() -> TaskCursor.decode("not a cursor")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> TaskCursor.decode("bm8tY29tbWE")).isInstanceOf(IllegalArgumentException.class);
+    }
+}
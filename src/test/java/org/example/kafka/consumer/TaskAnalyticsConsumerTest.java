@@ -0,0 +1,136 @@
+package org.example.kafka.consumer;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Function;
+import org.example.kafka.event.TaskEvent;
+import org.example.kafka.event.TaskEventPayload;
+import org.example.kafka.event.TaskEventType;
+import org.example.kafka.event.TaskRemovalReason;
+import org.example.model.TaskDailyStatsDelta;
+import org.example.service.AnalyticsService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.core.task.TaskRejectedException;
+
+/** Batch path of TaskAnalyticsConsumer: per-date folding, one apply per batch, summaries after success. */
+class TaskAnalyticsConsumerTest {
+
+    private static final LocalDate DAY_1 = LocalDate.of(2026, 10, 1);
+    private static final LocalDate DAY_2 = LocalDate.of(2026, 10, 2);
+
+    private AnalyticsService analyticsService;
+    private TaskAnalyticsConsumer consumer;
+
+    @BeforeEach
+    void setUp() {
+        analyticsService = mock(AnalyticsService.class);
+        // no event was applied before: the whole batch is folded
+        when(analyticsService.applyDailyDeltasOnce(any(), any())).thenAnswer(invocation -> {
+            List<TaskEvent> events = invocation.getArgument(0);
+            invocation
+                    .<Function<List<TaskEvent>, Collection<TaskDailyStatsDelta>>>getArgument(1)
+                    .apply(events);
+            return events;
+        });
+        consumer = new TaskAnalyticsConsumer(analyticsService);
+    }
+
+    @Test
+    @DisplayName("a poll batch is folded into one delta per date")
+    void foldDailyDeltas_sumsPerDate() {
+        List<TaskEvent> batch = Arrays.asList(
+                event(TaskEventType.TASK_CREATED, DAY_1, 1L),
+                event(TaskEventType.TASK_CREATED, DAY_1, 1L),
+                event(TaskEventType.TASK_COMPLETED, DAY_1, 1L),
+                removed(DAY_1, TaskRemovalReason.DELETED),
+                removed(DAY_1, TaskRemovalReason.CANCELED),
+                event(TaskEventType.TASK_UPDATED, DAY_1, 1L),
+                null,
+                event(TaskEventType.TASK_CREATED, DAY_2, 2L));
+
+        assertThat(TaskAnalyticsConsumer.foldDailyDeltas(batch))
+                .containsExactly(
+                        new TaskDailyStatsDelta(DAY_1, 2, 1, 2, 1, 1), new TaskDailyStatsDelta(DAY_2, 1, 0, 0, 0, 0));
+    }
+
+    @Test
+    @DisplayName("onBatch applies the whole batch once, then asks for one AI summary per owner with completions")
+    void onBatch_appliesOnceThenSummarises() {
+        TaskEvent lastOfOwner1 = event(TaskEventType.TASK_COMPLETED, DAY_1, 1L);
+        TaskEvent onlyOfOwner2 = event(TaskEventType.TASK_COMPLETED, DAY_1, 2L);
+        List<TaskEvent> batch = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            batch.add(event(TaskEventType.TASK_CREATED, DAY_1, 1L));
+        }
+        batch.add(event(TaskEventType.TASK_COMPLETED, DAY_1, 1L));
+        batch.add(onlyOfOwner2);
+        batch.add(lastOfOwner1);
+
+        consumer.onBatch(batch);
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Function<List<TaskEvent>, Collection<TaskDailyStatsDelta>>> fold =
+                ArgumentCaptor.forClass(Function.class);
+        var inOrder = inOrder(analyticsService);
+        inOrder.verify(analyticsService).applyDailyDeltasOnce(eq(batch), fold.capture());
+        inOrder.verify(analyticsService).generateDailySummary(lastOfOwner1);
+        inOrder.verify(analyticsService).generateDailySummary(onlyOfOwner2);
+        verifyNoMoreInteractions(analyticsService);
+        assertThat(fold.getValue().apply(batch)).containsExactly(new TaskDailyStatsDelta(DAY_1, 100, 3, 0, 0, 0));
+    }
+
+    @Test
+    @DisplayName("redelivered events get no second AI summary, and a saturated executor does not fail the batch")
+    void onBatch_summariesOnlyForAppliedEvents() {
+        TaskEvent redelivered = event(TaskEventType.TASK_COMPLETED, DAY_1, 1L);
+        TaskEvent fresh = event(TaskEventType.TASK_COMPLETED, DAY_1, 2L);
+        doReturn(List.of(fresh)).when(analyticsService).applyDailyDeltasOnce(any(), any());
+        doThrow(new TaskRejectedException("at limit")).when(analyticsService).generateDailySummary(fresh);
+
+        assertThatCode(() -> consumer.onBatch(List.of(redelivered, fresh))).doesNotThrowAnyException();
+        verify(analyticsService, never()).generateDailySummary(redelivered);
+    }
+
+    @Test
+    @DisplayName("a failed upsert propagates, so the container redelivers the batch without committing it")
+    void onBatch_failedUpsertPropagates() {
+        doThrow(new IllegalStateException("database down"))
+                .when(analyticsService)
+                .applyDailyDeltasOnce(any(), any());
+
+        assertThatThrownBy(() -> consumer.onBatch(List.of(event(TaskEventType.TASK_COMPLETED, DAY_1, 1L))))
+                .isInstanceOf(IllegalStateException.class);
+        verify(analyticsService, never()).generateDailySummary(any());
+    }
+
+    private static TaskEvent event(TaskEventType type, LocalDate day, Long ownerId) {
+        TaskEventPayload payload = new TaskEventPayload();
+        payload.setOwnerId(ownerId);
+        TaskEvent event = new TaskEvent(type, payload);
+        event.setOccurredAt(noon(day));
+        return event;
+    }
+
+    private static TaskEvent removed(LocalDate day, TaskRemovalReason reason) {
+        TaskEvent event = event(TaskEventType.TASK_REMOVED, day, 1L);
+        event.getPayload().setRemovalReason(reason);
+        return event;
+    }
+
+    private static Instant noon(LocalDate day) {
+        return day.atTime(12, 0).atZone(ZoneId.systemDefault()).toInstant();
+    }
+}
@@ -0,0 +1,51 @@
+package org.example.kafka.consumer;
+
+import static org.mockito.Mockito.*;
+
+import org.example.kafka.event.TaskEvent;
+import org.example.kafka.event.TaskEventPayload;
+import org.example.kafka.event.TaskEventType;
+import org.example.service.TaskLookupService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/** Cross-node eviction of TaskCacheInvalidationConsumer, without a broker. */
+class TaskCacheInvalidationConsumerTest {
+
+    private TaskLookupService taskLookupService;
+    private TaskCacheInvalidationConsumer consumer;
+
+    @BeforeEach
+    void setUp() {
+        taskLookupService = mock(TaskLookupService.class);
+        consumer = new TaskCacheInvalidationConsumer(taskLookupService);
+    }
+
+    @Test
+    @DisplayName("an event evicts the cache entry of its (ownerId, taskId)")
+    void onMessage_evictsTheEventsTask() {
+        consumer.onMessage(event(3L, 42L));
+
+        verify(taskLookupService).evict(3L, 42L);
+        verifyNoMoreInteractions(taskLookupService);
+    }
+
+    @Test
+    @DisplayName("events without a payload, ownerId or taskId are ignored")
+    void onMessage_ignoresEventsWithoutIds() {
+        consumer.onMessage(null);
+        consumer.onMessage(new TaskEvent(TaskEventType.TASK_UPDATED, null));
+        consumer.onMessage(event(null, 42L));
+        consumer.onMessage(event(3L, null));
+
+        verifyNoInteractions(taskLookupService);
+    }
+
+    private static TaskEvent event(Long ownerId, Long taskId) {
+        TaskEventPayload payload = new TaskEventPayload();
+        payload.setOwnerId(ownerId);
+        payload.setTaskId(taskId);
+        return new TaskEvent(TaskEventType.TASK_UPDATED, payload);
+    }
+}
@@ -0,0 +1,61 @@
+package org.example.kafka.producer;
+
+import static org.assertj.core.api.Assertions.*;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.CompletableFuture;
+import org.apache.kafka.common.errors.TimeoutException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.KafkaException;
+import org.springframework.kafka.core.KafkaProducerException;
+
+/** Delivery callbacks of TaskEventDeliveryMetrics, without a broker. */
+class TaskEventDeliveryMetricsTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private TaskEventDeliveryMetrics metrics;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        metrics = new TaskEventDeliveryMetrics(meterRegistry);
+    }
+
+    private Timer timer(String outcome, String exception) {
+        return meterRegistry
+                .get(TaskEventDeliveryMetrics.METER_NAME)
+                .tags("outcome", outcome, "exception", exception)
+                .timer();
+    }
+
+    @Test
+    @DisplayName("a delivery is recorded when the broker acknowledges, not when send() returns")
+    void track_recordsOnAcknowledgement() {
+        CompletableFuture<String> ack = new CompletableFuture<>();
+
+        assertThat(metrics.track(() -> ack)).isSameAs(ack);
+        assertThat(timer("success", "none").count()).isZero();
+
+        ack.complete("acked");
+        assertThat(timer("success", "none").count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("failures are tagged with the producer's exception, also when send() itself throws")
+    void track_recordsFailuresByCause() {
+        CompletableFuture<String> rejected = new CompletableFuture<>();
+        metrics.track(() -> rejected);
+        rejected.completeExceptionally(
+                new KafkaProducerException(null, "send failed", new TimeoutException("expired in accumulator")));
+
+        assertThatThrownBy(() -> metrics.track(() -> {
+                    throw new KafkaException("Send failed", new TimeoutException("no metadata within max.block.ms"));
+                }))
+                .isInstanceOf(KafkaException.class);
+
+        assertThat(timer("failure", "TimeoutException").count()).isEqualTo(2);
+    }
+}
@@ -0,0 +1,195 @@
+package org.example.kafka.producer;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import javax.sql.DataSource;
+import org.example.dao.TaskEventOutboxDao;
+import org.example.kafka.event.TaskEvent;
+import org.example.kafka.event.TaskEventType;
+import org.example.model.Task;
+import org.example.model.TaskPriority;
+import org.example.model.TaskStatus;
+import org.example.repository.impl.TaskEventOutboxRepositoryImpl;
+import org.example.repository.impl.TaskRepositoryImpl;
+import org.example.support.PostgresTestDatabase;
+import org.jdbi.v3.core.Handle;
+import org.jdbi.v3.core.Jdbi;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.kafka.KafkaException;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/** Transactional outbox against PostgreSQL: atomic with the task write, batched relay, one relay at a time. */
+@EnabledIfEnvironmentVariable(named = PostgresTestDatabase.URL_ENV, matches = ".+")
+class TaskEventOutboxRelayTest {
+
+    private static final long OWNER_ID = 1L;
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper().findAndRegisterModules();
+
+    private static Jdbi jdbi;
+    private static TransactionTemplate transaction;
+    private static TaskRepositoryImpl taskRepository;
+    private static TaskEventOutboxRepositoryImpl outboxRepository;
+    private static TaskEventProducer producer;
+
+    private KafkaTemplate<String, TaskEvent> kafkaTemplate;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeAll
+    static void setUpDatabase() {
+        DataSource dataSource = PostgresTestDatabase.migratedDataSource();
+        jdbi = PostgresTestDatabase.jdbi(dataSource);
+        transaction = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        taskRepository = new TaskRepositoryImpl(jdbi);
+        outboxRepository = new TaskEventOutboxRepositoryImpl(jdbi);
+        producer = new TaskEventProducer(outboxRepository, OBJECT_MAPPER);
+        jdbi.useHandle(h -> h.execute(
+                "INSERT INTO app_user(id, username, email, password_hash) VALUES (?, 'a', 'a@x', 'h')", OWNER_ID));
+    }
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void clearTables() {
+        jdbi.useHandle(h -> {
+            h.execute("DELETE FROM task");
+            h.execute("DELETE FROM task_event_outbox");
+        });
+        kafkaTemplate = mock(KafkaTemplate.class);
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    private TaskEventOutboxRelay relay(int batchSize, int maxBatchesPerRun) {
+        return new TaskEventOutboxRelay(
+                outboxRepository,
+                kafkaTemplate,
+                OBJECT_MAPPER,
+                new TaskEventDeliveryMetrics(meterRegistry),
+                batchSize,
+                maxBatchesPerRun,
+                Duration.ofSeconds(5));
+    }
+
+    private static Task newTask(String title) {
+        Task task = new Task();
+        task.setOwnerId(OWNER_ID);
+        task.setTitle(title);
+        task.setStatus(TaskStatus.OPEN);
+        task.setPriority(TaskPriority.MEDIUM);
+        task.setCreatedAt(Instant.now());
+        task.setUpdatedAt(task.getCreatedAt());
+        return task;
+    }
+
+    private static List<Task> createTasks(int count) {
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            tasks.add(newTask("task " + i));
+        }
+        List<Task> saved = taskRepository.createTasks(tasks);
+        producer.publishTaskCreatedBatch(saved);
+        return saved;
+    }
+
+    private long deliveries(String outcome) {
+        return meterRegistry.find(TaskEventDeliveryMetrics.METER_NAME).tag("outcome", outcome).timers().stream()
+                .mapToLong(timer -> timer.count())
+                .sum();
+    }
+
+    private static long count(String table) {
+        return jdbi.withHandle(h ->
+                h.createQuery("SELECT COUNT(*) FROM " + table).mapTo(Long.class).one());
+    }
+
+    @Test
+    @DisplayName("the event commits and rolls back with the task change")
+    void outbox_sharesTheTaskTransaction() {
+        assertThatThrownBy(() -> transaction.executeWithoutResult(status -> {
+                    producer.publishTaskCreated(taskRepository.createTask(newTask("rolled back")));
+                    throw new IllegalStateException("request failed after the write");
+                }))
+                .isInstanceOf(IllegalStateException.class);
+        assertThat(count("task")).isZero();
+        assertThat(count("task_event_outbox")).isZero();
+
+        transaction.executeWithoutResult(
+                status -> producer.publishTaskCreated(taskRepository.createTask(newTask("committed"))));
+        assertThat(count("task")).isEqualTo(1);
+        assertThat(count("task_event_outbox")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("the relay sends oldest first in batches, keyed by task id, and deletes what Kafka acknowledged")
+    void relay_drainsInBatches() {
+        List<Task> tasks = createTasks(2500);
+        List<String> keys = new ArrayList<>();
+        when(kafkaTemplate.send(anyString(), any(), any())).thenAnswer(invocation -> {
+            keys.add(invocation.getArgument(1));
+            TaskEvent event = invocation.getArgument(2);
+            assertThat(event.getType()).isEqualTo(TaskEventType.TASK_CREATED);
+            assertThat(event.getPayload().getTaskId().toString()).isEqualTo(invocation.getArgument(1));
+            return CompletableFuture.completedFuture(null);
+        });
+
+        assertThat(relay(1000, 10).drainOutbox()).isEqualTo(2500);
+
+        assertThat(keys)
+                .containsExactlyElementsOf(
+                        tasks.stream().map(task -> task.getId().toString()).toList());
+        assertThat(count("task_event_outbox")).isZero();
+        assertThat(deliveries("success")).isEqualTo(2500);
+        assertThat(deliveries("failure")).isZero();
+    }
+
+    @Test
+    @DisplayName("a batch Kafka does not acknowledge stays queued for the next run")
+    void relay_keepsUnacknowledgedBatch() {
+        createTasks(10);
+        when(kafkaTemplate.send(anyString(), any(), any()))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("broker down")));
+
+        assertThatThrownBy(() -> relay(100, 10).drainOutbox()).isInstanceOf(KafkaException.class);
+        assertThat(count("task_event_outbox")).isEqualTo(10);
+        assertThat(meterRegistry
+                        .get(TaskEventDeliveryMetrics.METER_NAME)
+                        .tags("outcome", "failure", "exception", "IllegalStateException")
+                        .timer()
+                        .count())
+                .isEqualTo(10);
+
+        when(kafkaTemplate.send(anyString(), any(), any())).thenReturn(CompletableFuture.completedFuture(null));
+        assertThat(relay(100, 10).drainOutbox()).isEqualTo(10);
+        assertThat(count("task_event_outbox")).isZero();
+    }
+
+    @Test
+    @DisplayName("while another relay holds the relay lock, a run sends nothing instead of waiting")
+    void relay_oneAtATime() {
+        createTasks(10);
+        when(kafkaTemplate.send(anyString(), any(), any())).thenReturn(CompletableFuture.completedFuture(null));
+
+        try (Handle other = jdbi.open()) {
+            other.begin();
+            assertThat(other.attach(TaskEventOutboxDao.class).tryLockRelay()).isTrue();
+
+            assertThat(relay(100, 10).drainOutbox()).isZero();
+            other.rollback();
+        }
+        assertThat(relay(100, 10).drainOutbox()).isEqualTo(10);
+        verify(kafkaTemplate, times(10)).send(anyString(), any(), any());
+    }
+}
@@ -0,0 +1,84 @@
+package org.example.repository.impl;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.time.Instant;
+import java.util.List;
+import javax.sql.DataSource;
+import org.example.model.Note;
+import org.example.model.Task;
+import org.example.model.TaskStatus;
+import org.example.support.PostgresTestDatabase;
+import org.jdbi.v3.core.Jdbi;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+
+/** The V14 per-owner change versions behind the list ETags. Needs PostgreSQL, see {@link PostgresTestDatabase}. */
+@EnabledIfEnvironmentVariable(named = PostgresTestDatabase.URL_ENV, matches = ".+")
+class OwnerChangeVersionTest {
+
+    private static final long OWNER_ID = 1L;
+    private static final long OTHER_OWNER_ID = 2L;
+
+    private static TaskRepositoryImpl taskRepository;
+    private static NoteRepositoryImpl noteRepository;
+
+    @BeforeAll
+    static void setUpDatabase() {
+        DataSource dataSource = PostgresTestDatabase.migratedDataSource();
+        Jdbi jdbi = PostgresTestDatabase.jdbi(dataSource);
+        taskRepository = new TaskRepositoryImpl(jdbi);
+        noteRepository = new NoteRepositoryImpl(jdbi);
+        jdbi.useHandle(
+                h -> h.execute(
+                        "INSERT INTO app_user(id, username, email, password_hash) VALUES (1, 'a', 'a@x', 'h'), (2, 'b', 'b@x', 'h')"));
+    }
+
+    private static Task newTask(long ownerId) {
+        Task task = new Task();
+        task.setOwnerId(ownerId);
+        task.setTitle("t");
+        task.setStatus(TaskStatus.OPEN);
+        task.setCreatedAt(Instant.now());
+        task.setUpdatedAt(Instant.now());
+        return task;
+    }
+
+    @Test
+    @DisplayName("every task write of the owner moves the version; other owners' writes do not")
+    void taskVersion_movesOnEveryWrite() {
+        long v0 = taskRepository.findTaskChangeVersion(OWNER_ID);
+
+        Task task = taskRepository.createTask(newTask(OWNER_ID));
+        long v1 = taskRepository.findTaskChangeVersion(OWNER_ID);
+        taskRepository.updateTaskStatus(task.getId(), OWNER_ID, TaskStatus.COMPLETED, Instant.now());
+        long v2 = taskRepository.findTaskChangeVersion(OWNER_ID);
+        taskRepository.createTasks(List.of(newTask(OTHER_OWNER_ID)));
+        long v3 = taskRepository.findTaskChangeVersion(OWNER_ID);
+        taskRepository.deleteTask(task.getId(), OWNER_ID);
+        long v4 = taskRepository.findTaskChangeVersion(OWNER_ID);
+        // no matching row: nothing changed, so the version stays
+        taskRepository.updateTaskStatus(task.getId(), OWNER_ID, TaskStatus.OPEN, Instant.now());
+        long v5 = taskRepository.findTaskChangeVersion(OWNER_ID);
+
+        assertThat(List.of(v0, v1, v2, v3, v4, v5)).containsExactly(v0, v0 + 1, v0 + 2, v0 + 2, v0 + 3, v0 + 3);
+    }
+
+    @Test
+    @DisplayName("every note write of the owner moves the note version")
+    void noteVersion_movesOnEveryWrite() {
+        long v0 = noteRepository.findChangeVersionByOwnerId(OWNER_ID);
+
+        Note note = noteRepository.save(new Note("n", "c", OWNER_ID));
+        long v1 = noteRepository.findChangeVersionByOwnerId(OWNER_ID);
+        note.setContent("changed");
+        noteRepository.save(note);
+        long v2 = noteRepository.findChangeVersionByOwnerId(OWNER_ID);
+        noteRepository.delete(note);
+        long v3 = noteRepository.findChangeVersionByOwnerId(OWNER_ID);
+
+        assertThat(List.of(v0, v1, v2, v3)).containsExactly(v0, v0 + 1, v0 + 2, v0 + 3);
+    }
+}
@@ -0,0 +1,108 @@
+package org.example.repository.impl;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import javax.sql.DataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.example.model.Task;
+import org.example.model.TaskPriority;
+import org.example.model.TaskStatus;
+import org.example.support.PostgresTestDatabase;
+import org.jdbi.v3.core.Jdbi;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+
+/**
+ * Batch repository paths against PostgreSQL: correctness of generated ids / per-item counts, and
+ * ingest time for 10k tasks one-by-one vs. in batches of 1000. See {@link PostgresTestDatabase}.
+ */
+@Slf4j
+@EnabledIfEnvironmentVariable(named = PostgresTestDatabase.URL_ENV, matches = ".+")
+class TaskBatchBenchmarkTest {
+
+    private static final long OWNER_ID = 1L;
+    private static final long OTHER_OWNER_ID = 2L;
+    private static final int TASKS = 10_000;
+    private static final int BATCH_SIZE = 1000;
+
+    private static Jdbi jdbi;
+    private static TaskRepositoryImpl repository;
+
+    @BeforeAll
+    static void setUp() {
+        DataSource dataSource = PostgresTestDatabase.migratedDataSource();
+        jdbi = PostgresTestDatabase.jdbi(dataSource);
+        repository = new TaskRepositoryImpl(jdbi);
+
+        jdbi.useHandle(h -> h.execute(
+                "INSERT INTO app_user(id, username, email, password_hash) VALUES (?, 'a', 'a@x', 'h'), (?, 'b', 'b@x', 'h')",
+                OWNER_ID,
+                OTHER_OWNER_ID));
+    }
+
+    @Test
+    @DisplayName("createTasks / updateTaskStatuses / deleteTasks report per-item outcomes")
+    void batchOperations_perItemOutcomes() {
+        List<Task> created = repository.createTasks(newTasks(OWNER_ID, 3));
+        assertThat(created).extracting(Task::getId).doesNotContainNull().isSorted();
+
+        Task foreign = repository.createTasks(newTasks(OTHER_OWNER_ID, 1)).get(0);
+        long first = created.get(0).getId();
+        long second = created.get(1).getId();
+
+        List<Task> updated = repository.updateTaskStatuses(
+                OWNER_ID,
+                List.of(first, foreign.getId(), second, -1L),
+                List.of(TaskStatus.COMPLETED, TaskStatus.COMPLETED, TaskStatus.CANCELLED, TaskStatus.OPEN),
+                Instant.now());
+        assertThat(updated)
+                .extracting(Task::getId, Task::getStatus)
+                .containsExactlyInAnyOrder(tuple(first, TaskStatus.COMPLETED), tuple(second, TaskStatus.CANCELLED));
+
+        List<Task> deleted = repository.deleteTasks(OWNER_ID, List.of(first, first, foreign.getId()));
+        assertThat(deleted).extracting(Task::getId).containsExactly(first);
+        assertThat(repository.findTaskByIdAndOwner(foreign.getId(), OTHER_OWNER_ID))
+                .isPresent();
+    }
+
+    @Test
+    @DisplayName("10k tasks: one INSERT per task vs. batches of 1000")
+    void ingest_singleVsBatch() {
+        long start = System.nanoTime();
+        for (Task task : newTasks(OWNER_ID, TASKS)) {
+            repository.createTask(task);
+        }
+        long singleMillis = (System.nanoTime() - start) / 1_000_000;
+
+        List<Task> tasks = newTasks(OWNER_ID, TASKS);
+        start = System.nanoTime();
+        for (int i = 0; i < TASKS; i += BATCH_SIZE) {
+            repository.createTasks(tasks.subList(i, i + BATCH_SIZE));
+        }
+        long batchMillis = (System.nanoTime() - start) / 1_000_000;
+
+        assertThat(tasks).extracting(Task::getId).doesNotContainNull();
+        log.info("[bench] ingest {} tasks: single={}ms batch({})={}ms", TASKS, singleMillis, BATCH_SIZE, batchMillis);
+    }
+
+    private static List<Task> newTasks(long ownerId, int count) {
+        Instant now = Instant.now();
+        List<Task> tasks = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Task task = new Task();
+            task.setOwnerId(ownerId);
+            task.setTitle("task " + i);
+            task.setStatus(TaskStatus.OPEN);
+            task.setPriority(TaskPriority.MEDIUM);
+            task.setCreatedAt(now);
+            task.setUpdatedAt(now);
+            tasks.add(task);
+        }
+        return tasks;
+    }
+}
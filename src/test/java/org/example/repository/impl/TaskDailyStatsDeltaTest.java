@@ -0,0 +1,99 @@
+package org.example.repository.impl;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import org.example.kafka.event.TaskRemovalReason;
+import org.example.model.TaskDailyStats;
+import org.example.model.TaskDailyStatsDelta;
+import org.example.support.PostgresTestDatabase;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+
+/** Batched task_daily_stats upserts of the analytics consumer. Needs PostgreSQL, see {@link PostgresTestDatabase}. */
+@EnabledIfEnvironmentVariable(named = PostgresTestDatabase.URL_ENV, matches = ".+")
+class TaskDailyStatsDeltaTest {
+
+    private static final LocalDate DAY_1 = LocalDate.of(2026, 10, 1);
+    private static final LocalDate DAY_2 = LocalDate.of(2026, 10, 2);
+
+    private static AnalyticsRepositoryImpl repository;
+
+    @BeforeAll
+    static void setUpDatabase() {
+        repository = new AnalyticsRepositoryImpl(PostgresTestDatabase.jdbi(PostgresTestDatabase.migratedDataSource()));
+    }
+
+    @Test
+    @DisplayName("applyDailyDeltas() adds to existing rows and creates missing ones")
+    void applyDailyDeltas_addsToCounters() {
+        repository.applyDailyDeltas(List.of(
+                TaskDailyStatsDelta.created(DAY_1), TaskDailyStatsDelta.removed(DAY_1, TaskRemovalReason.DELETED)));
+
+        repository.applyDailyDeltas(
+                List.of(new TaskDailyStatsDelta(DAY_1, 10, 4, 3, 2, 1), new TaskDailyStatsDelta(DAY_2, 5, 0, 0, 0, 0)));
+
+        TaskDailyStats day1 = repository.findDailyStats(DAY_1).orElseThrow();
+        assertThat(day1.getCreatedCount()).isEqualTo(11);
+        assertThat(day1.getCompletedCount()).isEqualTo(4);
+        assertThat(day1.getRemovedTotalCount()).isEqualTo(4);
+        assertThat(day1.getRemovedDeletedCount()).isEqualTo(3);
+        assertThat(day1.getRemovedCanceledCount()).isEqualTo(1);
+        assertThat(repository.findDailyStats(DAY_2).orElseThrow().getCreatedCount())
+                .isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("applyDailyDeltasOnce() counts a redelivered event id once")
+    void applyDailyDeltasOnce_skipsAppliedEventIds() {
+        LocalDate day = LocalDate.of(2026, 12, 1);
+        String first = UUID.randomUUID().toString();
+        String second = UUID.randomUUID().toString();
+        Function<Set<String>, Collection<TaskDailyStatsDelta>> createdPerNewId = newIds ->
+                newIds.isEmpty() ? List.of() : List.of(new TaskDailyStatsDelta(day, newIds.size(), 0, 0, 0, 0));
+
+        repository.applyDailyDeltasOnce(List.of(first), createdPerNewId);
+        // redelivery of the first event together with a new one, then of both
+        repository.applyDailyDeltasOnce(List.of(first, second), createdPerNewId);
+        repository.applyDailyDeltasOnce(List.of(first, second), createdPerNewId);
+
+        assertThat(repository.findDailyStats(day).orElseThrow().getCreatedCount())
+                .isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("applyDailyDeltasOnce() forgets the event ids when the upserts fail, so the retry counts them")
+    void applyDailyDeltasOnce_isAtomic() {
+        LocalDate day = LocalDate.of(2026, 12, 2);
+        String eventId = UUID.randomUUID().toString();
+
+        assertThatThrownBy(() -> repository.applyDailyDeltasOnce(
+                        List.of(eventId), newIds -> List.of(new TaskDailyStatsDelta(null, 1, 0, 0, 0, 0))))
+                .isInstanceOf(RuntimeException.class);
+        repository.applyDailyDeltasOnce(
+                List.of(eventId), newIds -> List.of(new TaskDailyStatsDelta(day, newIds.size(), 0, 0, 0, 0)));
+
+        assertThat(repository.findDailyStats(day).orElseThrow().getCreatedCount())
+                .isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("applyDailyDeltas() is all-or-nothing across the dates of a batch")
+    void applyDailyDeltas_isAtomic() {
+        LocalDate day = LocalDate.of(2026, 11, 1);
+
+        // the second date is NULL, which its primary key rejects
+        assertThatThrownBy(() -> repository.applyDailyDeltas(List.of(
+                        new TaskDailyStatsDelta(day, 1, 0, 0, 0, 0), new TaskDailyStatsDelta(null, 1, 0, 0, 0, 0))))
+                .isInstanceOf(RuntimeException.class);
+
+        assertThat(repository.findDailyStats(day)).isEmpty();
+    }
+}
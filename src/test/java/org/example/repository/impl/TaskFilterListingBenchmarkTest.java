@@ -0,0 +1,146 @@
+package org.example.repository.impl;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Comparator;
+import java.util.Set;
+import javax.sql.DataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.example.dto.PagedResponse;
+import org.example.model.Task;
+import org.example.model.TaskListFilter;
+import org.example.model.TaskPriority;
+import org.example.model.TaskSortField;
+import org.example.model.TaskStatus;
+import org.example.support.Benchmarks;
+import org.example.support.PostgresTestDatabase;
+import org.jdbi.v3.core.Jdbi;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.data.domain.PageRequest;
+
+/**
+ * Filtered / sorted task listing at 100k tasks for one owner (500k in total): results honour the
+ * filter and order, and latency stays flat. Needs PostgreSQL, see {@link PostgresTestDatabase}.
+ */
+@Slf4j
+@EnabledIfEnvironmentVariable(named = PostgresTestDatabase.URL_ENV, matches = ".+")
+class TaskFilterListingBenchmarkTest {
+
+    private static final long OWNER_ID = 1L;
+    private static final int TASKS_PER_OWNER = 100_000;
+    private static final int OWNERS = 5;
+    private static final int ITERATIONS = 200;
+    private static final Instant NOW = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+
+    private static Jdbi jdbi;
+    private static TaskRepositoryImpl repository;
+
+    @BeforeAll
+    static void seed() {
+        DataSource dataSource = PostgresTestDatabase.migratedDataSource();
+        jdbi = PostgresTestDatabase.jdbi(dataSource);
+        repository = new TaskRepositoryImpl(jdbi);
+
+        jdbi.useHandle(h -> {
+            h.execute(
+                    """
+                    INSERT INTO app_user(id, username, email, password_hash)
+                    SELECT g, 'u' || g, 'u' || g || '@x', 'h' FROM generate_series(1, ?) g
+                    """,
+                    OWNERS);
+            // status cycles over 4 values, priority over 3, every 7th task has no due date
+            h.execute(
+                    """
+                    INSERT INTO task (owner_id, title, status, priority, due_date, created_at, updated_at)
+                    SELECT 1 + g % ?, 'task ' || g,
+                           g % 4,
+                           1 + g % 3,
+                           CASE WHEN g % 7 = 0 THEN NULL ELSE ?::timestamptz + (g % 365) * interval '1 day' END,
+                           ?::timestamptz - g * interval '1 minute',
+                           ?::timestamptz - (g::bigint * 7919 % 100000) * interval '1 minute'
+                    FROM generate_series(1, ?) g
+                    """,
+                    OWNERS, NOW, NOW, NOW, OWNERS * TASKS_PER_OWNER);
+            h.execute("VACUUM ANALYZE task");
+        });
+    }
+
+    private static PagedResponse<Task> list(TaskListFilter filter, int page) {
+        return repository.findTasksByOwner(OWNER_ID, filter, PageRequest.of(page, 20));
+    }
+
+    @Test
+    @DisplayName("filters are applied and the total counts only matching tasks")
+    void filteredListing_matchesFilter() {
+        Instant dueFrom = NOW.plus(30, ChronoUnit.DAYS);
+        Instant dueTo = NOW.plus(60, ChronoUnit.DAYS);
+        TaskListFilter filter = new TaskListFilter(
+                Set.of(TaskStatus.OPEN, TaskStatus.IN_PROGRESS),
+                Set.of(TaskPriority.HIGH),
+                dueFrom,
+                dueTo,
+                TaskSortField.DUE_DATE,
+                true);
+
+        PagedResponse<Task> page = list(filter, 0);
+
+        long expected = jdbi.withHandle(h -> h.createQuery(
+                        """
+                        SELECT COUNT(*) FROM task
+                        WHERE owner_id = 1 AND status IN (0, 1) AND priority = 3
+                          AND due_date >= :f AND due_date < :t
+                        """)
+                .bind("f", dueFrom)
+                .bind("t", dueTo)
+                .mapTo(Long.class)
+                .one());
+        assertThat(page.totalElements()).isEqualTo(expected).isPositive();
+        assertThat(page.content())
+                .isNotEmpty()
+                .allSatisfy(task -> {
+                    assertThat(task.getStatus()).isIn(TaskStatus.OPEN, TaskStatus.IN_PROGRESS);
+                    assertThat(task.getPriority()).isEqualTo(TaskPriority.HIGH);
+                    assertThat(task.getDueDate()).isBetween(dueFrom, dueTo.minusNanos(1));
+                })
+                .isSortedAccordingTo(Comparator.comparing(Task::getDueDate).thenComparing(Task::getId));
+    }
+
+    @Test
+    @DisplayName("priority sort is LOW < MEDIUM < HIGH, not alphabetical")
+    void prioritySort_usesRank() {
+        TaskListFilter filter = new TaskListFilter(null, null, null, null, TaskSortField.PRIORITY, false);
+
+        assertThat(list(filter, 0).content()).allMatch(task -> task.getPriority() == TaskPriority.HIGH);
+        assertThat(list(filter, 4_999).content()).allMatch(task -> task.getPriority() == TaskPriority.LOW);
+    }
+
+    @Test
+    @DisplayName("filtered / sorted listing latency")
+    void filteredListing_latency() {
+        TaskListFilter byStatus = new TaskListFilter(Set.of(TaskStatus.OPEN), null, null, null, null, false);
+        TaskListFilter byDue = new TaskListFilter(null, null, null, null, TaskSortField.DUE_DATE, true);
+        TaskListFilter byUpdated = new TaskListFilter(null, null, null, null, TaskSortField.UPDATED_AT, false);
+        TaskListFilter byPriority = new TaskListFilter(null, null, null, null, TaskSortField.PRIORITY, false);
+        TaskListFilter dueWindow = new TaskListFilter(
+                null, null, NOW.plus(10, ChronoUnit.DAYS), NOW.plus(12, ChronoUnit.DAYS), TaskSortField.DUE_DATE, true);
+
+        log.info(
+                "[bench] filtered listing @{} tasks/owner: status {} | due-sort {} | updated-sort {}"
+                        + " | priority-sort {} | due-window {}",
+                TASKS_PER_OWNER,
+                measure(byStatus),
+                measure(byDue),
+                measure(byUpdated),
+                measure(byPriority),
+                measure(dueWindow));
+    }
+
+    private static String measure(TaskListFilter filter) {
+        return Benchmarks.percentiles(Benchmarks.measure(ITERATIONS, () -> list(filter, 0)));
+    }
+}
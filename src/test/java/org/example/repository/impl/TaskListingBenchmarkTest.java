@@ -0,0 +1,86 @@
+package org.example.repository.impl;
+
+import static org.assertj.core.api.Assertions.*;
+
+import javax.sql.DataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.example.dto.PagedResponse;
+import org.example.model.Task;
+import org.example.support.Benchmarks;
+import org.example.support.PostgresTestDatabase;
+import org.jdbi.v3.core.Jdbi;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.data.domain.PageRequest;
+
+/**
+ * Latency benchmark for GET /api/tasks totals at 100k tasks for a single owner: legacy COUNT(*) on a
+ * separate handle vs. the counter-backed single-handle path. Needs PostgreSQL, see {@link
+ * PostgresTestDatabase}.
+ */
+@Slf4j
+@EnabledIfEnvironmentVariable(named = PostgresTestDatabase.URL_ENV, matches = ".+")
+class TaskListingBenchmarkTest {
+
+    private static final long OWNER_ID = 1L;
+    private static final int TASKS_PER_OWNER = 100_000;
+    private static final int ITERATIONS = 200;
+
+    private static Jdbi jdbi;
+    private static TaskRepositoryImpl repository;
+
+    @BeforeAll
+    static void seed() {
+        DataSource dataSource = PostgresTestDatabase.migratedDataSource();
+        jdbi = PostgresTestDatabase.jdbi(dataSource);
+        repository = new TaskRepositoryImpl(jdbi);
+
+        jdbi.useHandle(h -> {
+            h.execute(
+                    "INSERT INTO app_user(id, username, email, password_hash) VALUES (?, 'bench', 'b@x', 'h')",
+                    OWNER_ID);
+            h.execute(
+                    """
+                    INSERT INTO task (owner_id, title, status, priority, created_at)
+                    SELECT ?, 'task ' || g, 0, 1, now() - g * interval '1 second'
+                    FROM generate_series(1, ?) g
+                    """,
+                    OWNER_ID,
+                    TASKS_PER_OWNER);
+            h.execute("ANALYZE");
+        });
+    }
+
+    @Test
+    @DisplayName("findTasksByOwner(): totals from the counter match COUNT(*) and are cheaper to read")
+    void pageWithTotal_latency() {
+        long countStar = jdbi.withHandle(h -> h.createQuery("SELECT COUNT(*) FROM task WHERE owner_id = :o")
+                .bind("o", OWNER_ID)
+                .mapTo(Long.class)
+                .one());
+        PagedResponse<Task> page = repository.findTasksByOwner(OWNER_ID, PageRequest.of(0, 10));
+        assertThat(page.totalElements()).isEqualTo(countStar).isEqualTo(TASKS_PER_OWNER);
+
+        long[] legacy = Benchmarks.measure(ITERATIONS, () -> {
+            jdbi.withHandle(h -> h.createQuery(
+                            "SELECT * FROM task WHERE owner_id = :o ORDER BY created_at DESC LIMIT 10 OFFSET 0")
+                    .bind("o", OWNER_ID)
+                    .mapToMap()
+                    .list());
+            jdbi.withHandle(h -> h.createQuery("SELECT COUNT(*) FROM task WHERE owner_id = :o")
+                    .bind("o", OWNER_ID)
+                    .mapTo(Long.class)
+                    .one());
+        });
+        long[] current =
+                Benchmarks.measure(ITERATIONS, () -> repository.findTasksByOwner(OWNER_ID, PageRequest.of(0, 10)));
+
+        log.info(
+                "[bench] page+total @{} tasks/owner: legacy {} | counter {}",
+                TASKS_PER_OWNER,
+                Benchmarks.percentiles(legacy),
+                Benchmarks.percentiles(current));
+    }
+}
@@ -0,0 +1,137 @@
+package org.example.repository.impl;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.Optional;
+import java.util.function.LongFunction;
+import javax.sql.DataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.example.dao.TaskDao;
+import org.example.dao.TaskEnumCodesPlugin;
+import org.example.model.Task;
+import org.example.support.Benchmarks;
+import org.example.support.PostgresTestDatabase;
+import org.jdbi.v3.core.Handle;
+import org.jdbi.v3.core.Jdbi;
+import org.jdbi.v3.sqlobject.SqlObjectPlugin;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+
+/**
+ * Latency benchmark for findTaskByIdAndOwner (GET /api/tasks/{id}): a SqlObject proxy per call through
+ * withExtension, Jdbi's default caches and pgjdbc's default prepareThreshold vs. the on-demand DAO, the
+ * Caffeine statement caches and prepareThreshold=1. Needs PostgreSQL, see {@link PostgresTestDatabase}.
+ */
+@Slf4j
+@EnabledIfEnvironmentVariable(named = PostgresTestDatabase.URL_ENV, matches = ".+")
+class TaskLookupBenchmarkTest {
+
+    private static final long OWNER_ID = 1L;
+    private static final int TASKS_PER_OWNER = 10_000;
+    private static final int ITERATIONS = 5_000;
+
+    /** How the lookup statement shows up in pg_prepared_statements once pgjdbc server-prepares it. */
+    private static final String PREPARED_LOOKUP = "%FROM task%WHERE id = $1 AND owner_id = $2%";
+
+    private static Jdbi legacyJdbi;
+    private static Jdbi jdbi;
+    private static TaskRepositoryImpl repository;
+
+    @BeforeAll
+    static void seed() {
+        DataSource legacyDataSource = PostgresTestDatabase.migratedDataSource();
+        // the Jdbi setup before statement caching: Jdbi's default caches, driver defaults
+        legacyJdbi = Jdbi.create(legacyDataSource);
+        legacyJdbi.installPlugin(new SqlObjectPlugin());
+        legacyJdbi.installPlugin(new TaskEnumCodesPlugin());
+
+        // the driver settings from application-*.yml
+        jdbi = PostgresTestDatabase.jdbi(PostgresTestDatabase.dataSource(driver -> {
+            driver.setPrepareThreshold(1);
+            driver.setPreparedStatementCacheQueries(512);
+            driver.setPreparedStatementCacheSizeMiB(8);
+        }));
+        repository = new TaskRepositoryImpl(jdbi);
+
+        jdbi.useHandle(h -> {
+            h.execute(
+                    "INSERT INTO app_user(id, username, email, password_hash) VALUES (?, 'bench', 'b@x', 'h')",
+                    OWNER_ID);
+            h.execute(
+                    """
+                    INSERT INTO task (owner_id, title, status, priority, created_at)
+                    SELECT ?, 'task ' || g, 0, 1, now() - g * interval '1 second'
+                    FROM generate_series(1, ?) g
+                    """,
+                    OWNER_ID,
+                    TASKS_PER_OWNER);
+            h.execute("ANALYZE");
+        });
+    }
+
+    @Test
+    @DisplayName("findTaskByIdAndOwner(): server-prepared on a connection's first lookup")
+    void lookup_isServerPreparedOnFirstUse() {
+        long taskId = firstTaskId();
+        // fresh pools, so no earlier lookup has prepared the statement yet
+        Jdbi driverDefaults = PostgresTestDatabase.jdbi(PostgresTestDatabase.dataSource(driver -> {}));
+        Jdbi configured =
+                PostgresTestDatabase.jdbi(PostgresTestDatabase.dataSource(driver -> driver.setPrepareThreshold(1)));
+
+        // the repository's on-demand DAO runs on the handle opened here
+        boolean preparedByDefault = driverDefaults.withHandle(h -> {
+            new TaskRepositoryImpl(driverDefaults).findTaskByIdAndOwner(taskId, OWNER_ID);
+            return isLookupPrepared(h);
+        });
+        boolean prepared = configured.withHandle(h -> {
+            new TaskRepositoryImpl(configured).findTaskByIdAndOwner(taskId, OWNER_ID);
+            return isLookupPrepared(h);
+        });
+
+        assertThat(preparedByDefault).isFalse();
+        assertThat(prepared).isTrue();
+    }
+
+    @Test
+    @DisplayName("findTaskByIdAndOwner(): on-demand DAO + statement caches vs. withExtension per call")
+    void lookup_latency() {
+        long firstId = firstTaskId();
+        LongFunction<Optional<Task>> legacy =
+                id -> legacyJdbi.withExtension(TaskDao.class, dao -> dao.findTaskByIdAndOwner(id, OWNER_ID));
+        LongFunction<Optional<Task>> current = id -> repository.findTaskByIdAndOwner(id, OWNER_ID);
+
+        assertThat(current.apply(firstId).map(Task::getTitle))
+                .isEqualTo(legacy.apply(firstId).map(Task::getTitle))
+                .isPresent();
+
+        long[] before = measure(firstId, legacy);
+        long[] after = measure(firstId, current);
+
+        log.info(
+                "[bench] findTaskByIdAndOwner x{}: withExtension {} | on-demand+cached {}",
+                ITERATIONS,
+                Benchmarks.percentiles(before),
+                Benchmarks.percentiles(after));
+    }
+
+    private static long firstTaskId() {
+        return jdbi.withHandle(h -> h.createQuery("SELECT MIN(id) FROM task WHERE owner_id = :o")
+                .bind("o", OWNER_ID)
+                .mapTo(Long.class)
+                .one());
+    }
+
+    /** Spread over the owner's tasks, so the lookups do not hit one hot row. */
+    private static long[] measure(long firstId, LongFunction<Optional<Task>> lookup) {
+        return Benchmarks.measure(500, ITERATIONS, i -> lookup.apply(firstId + (i * 7919L) % TASKS_PER_OWNER));
+    }
+
+    private static boolean isLookupPrepared(Handle handle) {
+        return handle.createQuery("SELECT EXISTS (SELECT 1 FROM pg_prepared_statements WHERE statement LIKE :sql)")
+                .bind("sql", PREPARED_LOOKUP)
+                .mapTo(Boolean.class)
+                .one();
+    }
+}
@@ -0,0 +1,136 @@
+package org.example.repository.impl;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import javax.sql.DataSource;
+import org.example.dao.TaskDao;
+import org.example.model.Task;
+import org.example.model.TaskStatus;
+import org.example.support.PostgresTestDatabase;
+import org.jdbi.v3.core.Jdbi;
+import org.jdbi.v3.sqlobject.statement.SqlQuery;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+
+/**
+ * Plan regression test for the open-task lookups: both must be served by the partial
+ * idx_task_owner_open_due index (V11, per partition since V13), never by a seq scan over the owner's
+ * history. The SQL is read from the TaskDao annotations, so the test follows the queries as they
+ * change. Needs PostgreSQL, see {@link PostgresTestDatabase}.
+ */
+@EnabledIfEnvironmentVariable(named = PostgresTestDatabase.URL_ENV, matches = ".+")
+class TaskOpenTasksPlanTest {
+
+    private static final long OWNER_ID = 1L;
+    private static final int OWNERS = 20;
+    private static final int TASKS_PER_OWNER = 10_000;
+    private static final Instant NOW = Instant.parse("2030-01-01T00:00:00Z");
+
+    private static Jdbi jdbi;
+    private static TaskRepositoryImpl repository;
+
+    @BeforeAll
+    static void seed() {
+        DataSource dataSource = PostgresTestDatabase.migratedDataSource();
+        jdbi = PostgresTestDatabase.jdbi(dataSource);
+        repository = new TaskRepositoryImpl(jdbi);
+
+        jdbi.useHandle(h -> {
+            h.execute(
+                    """
+                    INSERT INTO app_user(id, username, email, password_hash)
+                    SELECT g, 'u' || g, 'u' || g || '@x', 'h' FROM generate_series(1, ?) g
+                    """,
+                    OWNERS);
+            // owners get contiguous blocks; 1 task in 10 is open, every 7th has no due date
+            h.execute(
+                    """
+                    INSERT INTO task (owner_id, title, status, priority, due_date)
+                    SELECT 1 + (g - 1) / ?, 'task ' || g,
+                           CASE WHEN g % 10 = 0 THEN (g / 10) % 2 ELSE 2 + g % 2 END,
+                           1 + g % 3,
+                           CASE WHEN g % 7 = 0 THEN NULL ELSE ?::timestamptz + (g % 60 - 30) * interval '1 day' END
+                    FROM generate_series(1, ?) g
+                    """,
+                    TASKS_PER_OWNER, NOW, OWNERS * TASKS_PER_OWNER);
+            h.execute("VACUUM ANALYZE task");
+        });
+    }
+
+    @Test
+    @DisplayName("findOpenTasksByOwner() uses the open-task partial index")
+    void findOpenTasksByOwner_usesPartialIndex() throws Exception {
+        String sql = sqlOf("findOpenTasksByOwner", long.class);
+
+        assertThat(explain(sql, Map.of("ownerId", OWNER_ID)))
+                .containsAnyOf(openDueIndexes())
+                .doesNotContain("Seq Scan");
+    }
+
+    @Test
+    @DisplayName("findTasksForTomorrow() uses the open-task partial index")
+    void findTasksForTomorrow_usesPartialIndex() throws Exception {
+        String sql = sqlOf("findTasksForTomorrow", long.class, Instant.class);
+
+        assertThat(explain(sql, Map.of("ownerId", OWNER_ID, "tomorrowEnd", NOW)))
+                .containsAnyOf(openDueIndexes())
+                .doesNotContain("Seq Scan");
+    }
+
+    @Test
+    @DisplayName("open-task lookups return exactly the owner's OPEN / IN_PROGRESS tasks")
+    void openTaskLookups_returnOnlyOpenTasks() {
+        long open =
+                jdbi.withHandle(h -> h.createQuery("SELECT COUNT(*) FROM task WHERE owner_id = :o AND status IN (0, 1)")
+                        .bind("o", OWNER_ID)
+                        .mapTo(Long.class)
+                        .one());
+
+        List<Task> openTasks = repository.findOpenTasksByOwner(OWNER_ID);
+        List<Task> dueSoon = repository.findTasksForTomorrow(OWNER_ID, NOW);
+
+        assertThat(openTasks).hasSize((int) open);
+        assertThat(openTasks)
+                .allSatisfy(task -> assertThat(task.getStatus()).isIn(TaskStatus.OPEN, TaskStatus.IN_PROGRESS));
+        assertThat(dueSoon).isNotEmpty().allSatisfy(task -> {
+            assertThat(task.getStatus()).isIn(TaskStatus.OPEN, TaskStatus.IN_PROGRESS);
+            if (task.getDueDate() != null) {
+                assertThat(task.getDueDate()).isBeforeOrEqualTo(NOW);
+            }
+        });
+    }
+
+    private static String sqlOf(String method, Class<?>... parameterTypes) throws NoSuchMethodException {
+        return TaskDao.class
+                .getMethod(method, parameterTypes)
+                .getAnnotation(SqlQuery.class)
+                .value();
+    }
+
+    // task is partitioned (V13): plans name the per-partition copies of the index
+    private static String[] openDueIndexes() {
+        List<String> names = jdbi.withHandle(h -> h.createQuery(
+                        """
+                        SELECT c.relname
+                        FROM pg_inherits i
+                        JOIN pg_class c ON c.oid = i.inhrelid
+                        WHERE i.inhparent = 'idx_task_owner_open_due'::regclass
+                        """)
+                .mapTo(String.class)
+                .list());
+        return names.toArray(String[]::new);
+    }
+
+    private static String explain(String sql, Map<String, Object> params) {
+        List<String> plan = jdbi.withHandle(h -> h.createQuery("EXPLAIN " + sql)
+                .bindMap(params)
+                .mapTo(String.class)
+                .list());
+        return String.join("\n", plan);
+    }
+}
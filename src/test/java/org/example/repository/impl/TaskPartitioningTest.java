@@ -0,0 +1,189 @@
+package org.example.repository.impl;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.lang.reflect.Method;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import javax.sql.DataSource;
+import org.example.dao.TaskArchiveDao;
+import org.example.dao.TaskDao;
+import org.example.model.TaskPriority;
+import org.example.model.TaskStatus;
+import org.example.support.PostgresTestDatabase;
+import org.jdbi.v3.core.Jdbi;
+import org.jdbi.v3.core.statement.SqlStatements;
+import org.jdbi.v3.sqlobject.statement.SqlBatch;
+import org.jdbi.v3.sqlobject.statement.SqlQuery;
+import org.jdbi.v3.sqlobject.statement.SqlUpdate;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+
+/**
+ * Partitioning (V13) against PostgreSQL: every owner-scoped TaskDao statement is pruned to a single
+ * task partition, and task_archive month partitions are created / dropped by the repository. The SQL
+ * is read from the TaskDao annotations, so new queries are covered automatically. Needs PostgreSQL,
+ * see {@link PostgresTestDatabase}.
+ */
+@EnabledIfEnvironmentVariable(named = PostgresTestDatabase.URL_ENV, matches = ".+")
+class TaskPartitioningTest {
+
+    private static final Pattern TASK_PARTITION = Pattern.compile("\\btask_p\\d{2}\\b");
+
+    private static Jdbi jdbi;
+    private static TaskArchivePartitionRepositoryImpl partitionRepository;
+
+    @BeforeAll
+    static void setUpDatabase() {
+        DataSource dataSource = PostgresTestDatabase.migratedDataSource();
+        jdbi = PostgresTestDatabase.jdbi(dataSource);
+        partitionRepository = new TaskArchivePartitionRepositoryImpl(jdbi);
+        jdbi.useHandle(h -> {
+            h.execute(
+                    """
+                    INSERT INTO app_user(id, username, email, password_hash)
+                    SELECT g, 'u' || g, 'u' || g || '@x', 'h' FROM generate_series(1, 64) g
+                    """);
+            h.execute(
+                    """
+                    INSERT INTO task (owner_id, title, status, priority)
+                    SELECT 1 + g % 64, 'task ' || g, g % 4, 1 + g % 3 FROM generate_series(1, 20000) g
+                    """);
+            h.execute("ANALYZE task");
+        });
+    }
+
+    @Test
+    @DisplayName("owner-scoped TaskDao statements touch exactly one task partition")
+    void taskDaoStatements_arePrunedToOnePartition() {
+        int checked = 0;
+        for (Method method : TaskDao.class.getMethods()) {
+            String sql = sqlOf(method);
+            if (sql == null
+                    || !sql.contains("owner_id = :ownerId")
+                    || sql.strip().startsWith("INSERT")) {
+                continue;
+            }
+            String plan = explain(sql);
+            if (!plan.contains("task_p")) {
+                continue; // e.g. the counter lookup, which never reads task
+            }
+            assertThat(partitionsIn(plan)).as("%s:%n%s", method.getName(), plan).hasSize(1);
+            checked++;
+        }
+        assertThat(checked).as("statements checked").isGreaterThanOrEqualTo(10);
+    }
+
+    @Test
+    @DisplayName("the archive mover deletes each batch row from its own task partition only")
+    void archiveFinishedTasks_prunesPerRow() throws Exception {
+        String sql = sqlOf(TaskArchiveDao.class.getMethod("archiveFinishedTasks", Instant.class, int.class));
+        String plan = jdbi.inTransaction(h -> {
+            h.attach(TaskArchiveDao.class).preferNestedLoopJoin();
+            List<String> lines = h.createQuery("EXPLAIN (ANALYZE, COSTS OFF, TIMING OFF) " + sql)
+                    .bind("finishedBefore", Instant.now().plusSeconds(60))
+                    .bind("limit", 3)
+                    .mapTo(String.class)
+                    .list();
+            h.rollback();
+            return String.join("\n", lines);
+        });
+
+        // 3 rows touch at most 3 of the 16 partitions; the scans of the others never run
+        assertThat(plan).contains("Nested Loop");
+        assertThat(plan.split("never executed", -1).length - 1).as(plan).isGreaterThanOrEqualTo(13);
+    }
+
+    @Test
+    @DisplayName("task_archive month partitions are created ahead and dropped by month")
+    void archivePartitions_createAndDrop() {
+        YearMonth current = YearMonth.now(ZoneOffset.UTC);
+        // V13 created the current month and two ahead
+        assertThat(partitionRepository.findPartitionMonths()).contains(current, current.plusMonths(2));
+
+        List<YearMonth> created = partitionRepository.createPartitions(current.minusMonths(3), current.plusMonths(3));
+        assertThat(created)
+                .contains(current.minusMonths(3), current.plusMonths(3))
+                .doesNotContain(current);
+        assertThat(partitionRepository.createPartitions(current.minusMonths(3), current.plusMonths(3)))
+                .isEmpty();
+
+        jdbi.useHandle(h -> h.execute(
+                """
+                INSERT INTO task_archive (id, owner_id, title, status, created_at, updated_at, version, archived_at)
+                VALUES (1, 1, 'old', 2, now(), now(), 0, ?::timestamptz), (2, 1, 'new', 2, now(), now(), 0, now())
+                """,
+                current.minusMonths(3).atDay(15).atStartOfDay().toInstant(ZoneOffset.UTC)));
+
+        List<YearMonth> dropped = partitionRepository.dropPartitionsBefore(current.minusMonths(1));
+
+        assertThat(dropped).containsExactly(current.minusMonths(3), current.minusMonths(2));
+        assertThat(partitionRepository.findPartitionMonths()).first().isEqualTo(current.minusMonths(1));
+        List<Long> remaining = jdbi.withHandle(h ->
+                h.createQuery("SELECT id FROM task_archive").mapTo(Long.class).list());
+        assertThat(remaining).containsExactly(2L);
+    }
+
+    private static String sqlOf(Method method) {
+        if (method.isAnnotationPresent(SqlQuery.class)) {
+            return method.getAnnotation(SqlQuery.class).value();
+        }
+        if (method.isAnnotationPresent(SqlUpdate.class)) {
+            return method.getAnnotation(SqlUpdate.class).value();
+        }
+        if (method.isAnnotationPresent(SqlBatch.class)) {
+            return method.getAnnotation(SqlBatch.class).value();
+        }
+        return null;
+    }
+
+    // one value for every parameter name TaskDao uses; each statement picks the ones it needs
+    private static String explain(String sql) {
+        Map<String, Object> params = new HashMap<>();
+        params.put("ownerId", 7L);
+        params.put("taskId", 42L);
+        params.put("id", 42L);
+        params.put("ids", new long[] {42L, 43L});
+        params.put("limit", 20);
+        params.put("maxMatches", TaskRepositoryImpl.MAX_RANKED_SEARCH_MATCHES);
+        params.put("offset", 0);
+        params.put("createdAt", Instant.now());
+        params.put("updatedAt", Instant.now());
+        params.put("dueDate", Instant.now());
+        params.put("tomorrowEnd", Instant.now());
+        params.put("query", "task");
+        params.put("rank", 0.5f);
+        params.put("title", "t");
+        params.put("description", "d");
+        params.put("status", TaskStatus.OPEN);
+        params.put("priority", TaskPriority.LOW);
+
+        List<String> plan = jdbi.withHandle(h -> {
+            h.getConfig(SqlStatements.class).setUnusedBindingAllowed(true);
+            return h.createQuery("EXPLAIN " + sql)
+                    .bindMap(params)
+                    .mapTo(String.class)
+                    .list();
+        });
+        return String.join("\n", plan);
+    }
+
+    private static Set<String> partitionsIn(String plan) {
+        Set<String> partitions = new TreeSet<>();
+        Matcher matcher = TASK_PARTITION.matcher(plan);
+        while (matcher.find()) {
+            partitions.add(matcher.group());
+        }
+        return partitions;
+    }
+}
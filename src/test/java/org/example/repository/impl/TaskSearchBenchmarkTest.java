@@ -0,0 +1,137 @@
+package org.example.repository.impl;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import javax.sql.DataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.example.dao.TaskDao;
+import org.example.dto.CursorPage;
+import org.example.dto.TaskSearchCursor;
+import org.example.model.Task;
+import org.example.model.TaskSearchHit;
+import org.example.support.Benchmarks;
+import org.example.support.PostgresTestDatabase;
+import org.jdbi.v3.core.Jdbi;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+
+/**
+ * Full-text task search at 1M tasks (1,000 owners; one owner has 100k tasks). Checks cursor paging
+ * and logs latency. Needs PostgreSQL, see {@link PostgresTestDatabase}.
+ */
+@Slf4j
+@EnabledIfEnvironmentVariable(named = PostgresTestDatabase.URL_ENV, matches = ".+")
+class TaskSearchBenchmarkTest {
+
+    private static final long HEAVY_OWNER_ID = 1L;
+    private static final int OWNERS = 1000;
+    private static final int TASKS = 1_000_000;
+    private static final int HEAVY_OWNER_TASKS = 100_000;
+    private static final int ITERATIONS = 200;
+
+    private static Jdbi jdbi;
+    private static TaskRepositoryImpl repository;
+
+    @BeforeAll
+    static void seed() {
+        DataSource dataSource = PostgresTestDatabase.migratedDataSource();
+        jdbi = PostgresTestDatabase.jdbi(dataSource);
+        repository = new TaskRepositoryImpl(jdbi);
+
+        jdbi.useHandle(h -> {
+            h.execute(
+                    """
+                    INSERT INTO app_user(id, username, email, password_hash)
+                    SELECT g, 'u' || g, 'u' || g || '@x', 'h' FROM generate_series(1, ?) g
+                    """,
+                    OWNERS);
+            // 10 title words, 7 description words; "quarterly" only in every 997th title
+            h.execute(
+                    """
+                    INSERT INTO task (owner_id, title, description, status, priority)
+                    SELECT CASE WHEN g <= ? THEN 1 ELSE 2 + g % (? - 1) END,
+                           (ARRAY['meeting','report','budget','review','deploy',
+                                  'invoice','design','hiring','travel','backup'])[1 + g % 10]
+                               || CASE WHEN g % 997 = 0 THEN ' quarterly' ELSE '' END || ' ' || g,
+                           'notes about ' || (ARRAY['customer','server','office','vendor',
+                                                    'release','contract','laptop'])[1 + g % 7],
+                           0, 1
+                    FROM generate_series(1, ?) g
+                    """,
+                    HEAVY_OWNER_TASKS, OWNERS, TASKS);
+            // steady state: flush the GIN pending list filled by the bulk seed
+            h.execute("VACUUM ANALYZE task");
+        });
+    }
+
+    @Test
+    @DisplayName("cursor paging walks every hit exactly once, best rank first")
+    void search_cursorPagingIsComplete() {
+        Set<Long> seen = new HashSet<>();
+        TaskSearchCursor cursor = null;
+        do {
+            CursorPage<Task> page = repository.searchTasks(HEAVY_OWNER_ID, "quarterly report", cursor, 7);
+            page.content().forEach(task -> assertThat(seen.add(task.getId())).isTrue());
+            cursor = page.hasNext() ? TaskSearchCursor.decode(page.nextCursor()) : null;
+        } while (cursor != null);
+
+        long expected = jdbi.withHandle(h -> h.createQuery(
+                        """
+                        SELECT COUNT(*) FROM task
+                        WHERE owner_id = 1 AND title LIKE '%quarterly%' AND title LIKE 'report%'
+                        """)
+                .mapTo(Long.class)
+                .one());
+        assertThat(seen).hasSize((int) expected).isNotEmpty();
+    }
+
+    @Test
+    @DisplayName("a query matching more tasks than are ranked pages through the ranked ones exactly once")
+    void search_rankedMatchesAreCapped() {
+        Set<Long> seen = new HashSet<>();
+        TaskSearchCursor cursor = null;
+        do {
+            // ~10k of the heavy owner's tasks have "budget" in the title
+            CursorPage<Task> page = repository.searchTasks(HEAVY_OWNER_ID, "budget", cursor, 100);
+            page.content().forEach(task -> assertThat(seen.add(task.getId())).isTrue());
+            cursor = page.hasNext() ? TaskSearchCursor.decode(page.nextCursor()) : null;
+        } while (cursor != null);
+
+        assertThat(seen).hasSize(TaskRepositoryImpl.MAX_RANKED_SEARCH_MATCHES);
+    }
+
+    @Test
+    @DisplayName("search latency: rare term and common terms for a 100k-task owner, ranking all matches vs. capped")
+    void search_latency() {
+        long[] rare =
+                Benchmarks.measure(ITERATIONS, () -> repository.searchTasks(HEAVY_OWNER_ID, "quarterly", null, 10));
+        long[] commonAll = Benchmarks.measure(ITERATIONS, () -> rankAllMatches("budget customer"));
+        long[] common = Benchmarks.measure(
+                ITERATIONS, () -> repository.searchTasks(HEAVY_OWNER_ID, "budget customer", null, 10));
+        long[] frequentAll = Benchmarks.measure(ITERATIONS, () -> rankAllMatches("budget"));
+        long[] frequent =
+                Benchmarks.measure(ITERATIONS, () -> repository.searchTasks(HEAVY_OWNER_ID, "budget", null, 10));
+        long[] otherOwner = Benchmarks.measure(ITERATIONS, () -> repository.searchTasks(500L, "budget", null, 10));
+
+        log.info(
+                "[bench] search @{} tasks: rare {} | common(100k owner, ~1.4k hits) all {} capped {}"
+                        + " | frequent(100k owner, ~10k hits) all {} capped {} | common(1k owner) {}",
+                TASKS,
+                Benchmarks.percentiles(rare),
+                Benchmarks.percentiles(commonAll),
+                Benchmarks.percentiles(common),
+                Benchmarks.percentiles(frequentAll),
+                Benchmarks.percentiles(frequent),
+                Benchmarks.percentiles(otherOwner));
+    }
+
+    /** The same search without the candidate cap: ranks every match of the heavy owner. */
+    private static List<TaskSearchHit> rankAllMatches(String query) {
+        return jdbi.onDemand(TaskDao.class).searchTasksFirstPage(HEAVY_OWNER_ID, query, Integer.MAX_VALUE, 11);
+    }
+}
@@ -0,0 +1,46 @@
+package org.example.service;
+
+import static org.mockito.Mockito.*;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.List;
+import org.example.repository.TaskArchivePartitionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class TaskArchivePartitionServiceTest {
+
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2026-10-18T12:00:00Z"), ZoneOffset.UTC);
+
+    private TaskArchivePartitionRepository partitionRepository;
+
+    @BeforeEach
+    void setUp() {
+        partitionRepository = mock(TaskArchivePartitionRepository.class);
+        when(partitionRepository.createPartitions(any(), any())).thenReturn(List.of());
+        when(partitionRepository.dropPartitionsBefore(any())).thenReturn(List.of());
+    }
+
+    @Test
+    @DisplayName("creates the current month and the configured months ahead")
+    void maintainPartitions_createsAhead() {
+        new TaskArchivePartitionService(partitionRepository, 2, null, CLOCK).maintainPartitions();
+
+        verify(partitionRepository).createPartitions(YearMonth.of(2026, 10), YearMonth.of(2026, 12));
+        verify(partitionRepository, never()).dropPartitionsBefore(any());
+    }
+
+    @Test
+    @DisplayName("drops only months that ended before the retention window started")
+    void maintainPartitions_dropsPastRetention() {
+        // 2026-10-18 minus 90 days = 2026-07-20: July still holds rows inside the window
+        new TaskArchivePartitionService(partitionRepository, 2, Duration.ofDays(90), CLOCK).maintainPartitions();
+
+        verify(partitionRepository).dropPartitionsBefore(YearMonth.of(2026, 7));
+    }
+}
@@ -0,0 +1,136 @@
+package org.example.service;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.time.Duration;
+import java.time.Instant;
+import javax.sql.DataSource;
+import org.example.model.Task;
+import org.example.model.TaskStatus;
+import org.example.repository.impl.TaskRepositoryImpl;
+import org.example.support.PostgresTestDatabase;
+import org.jdbi.v3.core.Handle;
+import org.jdbi.v3.core.Jdbi;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.data.domain.PageRequest;
+
+/** TaskArchiveService against PostgreSQL: what moves, batching, and SKIP LOCKED. */
+@EnabledIfEnvironmentVariable(named = PostgresTestDatabase.URL_ENV, matches = ".+")
+class TaskArchiveServiceTest {
+
+    private static final long OWNER_ID = 1L;
+    private static final Duration MIN_AGE = Duration.ofDays(30);
+
+    private static Jdbi jdbi;
+    private static TaskRepositoryImpl repository;
+
+    @BeforeAll
+    static void setUpDatabase() {
+        DataSource dataSource = PostgresTestDatabase.migratedDataSource();
+        jdbi = PostgresTestDatabase.jdbi(dataSource);
+        repository = new TaskRepositoryImpl(jdbi);
+        jdbi.useHandle(h -> h.execute(
+                "INSERT INTO app_user(id, username, email, password_hash) VALUES (?, 'a', 'a@x', 'h')", OWNER_ID));
+    }
+
+    @BeforeEach
+    void clearTasks() {
+        jdbi.useHandle(h -> {
+            h.execute("DELETE FROM task");
+            h.execute("DELETE FROM task_archive");
+        });
+    }
+
+    private static TaskArchiveService service(int batchSize, int maxBatchesPerRun) {
+        return new TaskArchiveService(repository, MIN_AGE, batchSize, maxBatchesPerRun);
+    }
+
+    private static void insertTasks(int count, TaskStatus status, Duration age) {
+        jdbi.useHandle(h -> h.execute(
+                """
+                INSERT INTO task (owner_id, title, status, updated_at)
+                SELECT ?, 'task ' || g, ?, now() - ?::interval
+                FROM generate_series(1, ?) g
+                """,
+                OWNER_ID,
+                status.code(),
+                age.toString(),
+                count));
+    }
+
+    private static long count(String table) {
+        return jdbi.withHandle(h ->
+                h.createQuery("SELECT COUNT(*) FROM " + table).mapTo(Long.class).one());
+    }
+
+    @Test
+    @DisplayName("only finished tasks older than the minimum age move, and stay readable")
+    void archive_movesOnlyOldFinishedTasks() {
+        insertTasks(700, TaskStatus.COMPLETED, Duration.ofDays(60));
+        insertTasks(500, TaskStatus.CANCELLED, Duration.ofDays(45));
+        insertTasks(100, TaskStatus.COMPLETED, Duration.ofDays(1));
+        insertTasks(100, TaskStatus.OPEN, Duration.ofDays(90));
+        long archivedId = jdbi.withHandle(
+                h -> h.createQuery("SELECT MIN(id) FROM task").mapTo(Long.class).one());
+
+        int moved = service(250, 100).archiveFinishedTasks(Instant.now().minus(MIN_AGE));
+
+        assertThat(moved).isEqualTo(1200);
+        assertThat(count("task")).isEqualTo(200);
+        assertThat(count("task_archive")).isEqualTo(1200);
+        // the V6 counter follows the hot table, so list totals stay exact
+        assertThat(repository.findTasksByOwner(OWNER_ID, PageRequest.of(0, 10)).totalElements())
+                .isEqualTo(200);
+
+        assertThat(repository.findTaskByIdAndOwner(archivedId, OWNER_ID)).isEmpty();
+        assertThat(repository.findTaskByIdAndOwnerIncludingArchive(archivedId, OWNER_ID))
+                .get()
+                .extracting(Task::getStatus)
+                .isEqualTo(TaskStatus.COMPLETED);
+        assertThat(repository.findArchivedTasksByOwner(OWNER_ID, PageRequest.of(0, 10)))
+                .satisfies(page -> {
+                    assertThat(page.totalElements()).isEqualTo(1200);
+                    assertThat(page.content()).hasSize(10);
+                });
+    }
+
+    @Test
+    @DisplayName("a run stops after max-batches-per-run; the next run continues")
+    void archive_isCappedPerRun() {
+        insertTasks(1000, TaskStatus.COMPLETED, Duration.ofDays(60));
+        TaskArchiveService archiveService = service(100, 3);
+        Instant cutoff = Instant.now().minus(MIN_AGE);
+
+        assertThat(archiveService.archiveFinishedTasks(cutoff)).isEqualTo(300);
+        assertThat(archiveService.archiveFinishedTasks(cutoff)).isEqualTo(300);
+        assertThat(count("task")).isEqualTo(400);
+    }
+
+    @Test
+    @DisplayName("rows locked by another transaction are skipped, not waited on")
+    void archive_skipsLockedRows() {
+        insertTasks(10, TaskStatus.COMPLETED, Duration.ofDays(60));
+        long lockedId = jdbi.withHandle(
+                h -> h.createQuery("SELECT MIN(id) FROM task").mapTo(Long.class).one());
+
+        try (Handle other = jdbi.open()) {
+            other.begin();
+            other.createQuery("SELECT id FROM task WHERE id = :id FOR UPDATE")
+                    .bind("id", lockedId)
+                    .mapTo(Long.class)
+                    .one();
+
+            int moved = service(100, 10).archiveFinishedTasks(Instant.now().minus(MIN_AGE));
+
+            assertThat(moved).isEqualTo(9);
+            other.rollback();
+        }
+        assertThat(repository.findTaskByIdAndOwner(lockedId, OWNER_ID)).isPresent();
+        assertThat(service(100, 10).archiveFinishedTasks(Instant.now().minus(MIN_AGE)))
+                .isEqualTo(1);
+    }
+}
@@ -0,0 +1,116 @@
+package org.example.service;
+
+import static org.assertj.core.api.Assertions.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import javax.sql.DataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.example.dto.TaskFileFormat;
+import org.example.repository.impl.TaskRepositoryImpl;
+import org.example.support.PostgresTestDatabase;
+import org.jdbi.v3.core.Jdbi;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+
+/** TaskExportService against PostgreSQL: output shape and streaming of a large task set. */
+@Slf4j
+@EnabledIfEnvironmentVariable(named = PostgresTestDatabase.URL_ENV, matches = ".+")
+class TaskExportServiceTest {
+
+    private static final long OWNER_ID = 1L;
+    private static final long SMALL_OWNER_ID = 2L;
+    private static final int TASKS = 200_000;
+
+    private static TaskExportService exportService;
+
+    @BeforeAll
+    static void seed() {
+        DataSource dataSource = PostgresTestDatabase.migratedDataSource();
+        Jdbi jdbi = PostgresTestDatabase.jdbi(dataSource);
+        ObjectMapper objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        exportService = new TaskExportService(new TaskRepositoryImpl(jdbi), objectMapper);
+
+        jdbi.useHandle(h -> {
+            h.execute(
+                    "INSERT INTO app_user(id, username, email, password_hash) VALUES (?, 'a', 'a@x', 'h'), (?, 'b', 'b@x', 'h')",
+                    OWNER_ID,
+                    SMALL_OWNER_ID);
+            h.execute(
+                    """
+                    INSERT INTO task (owner_id, title, description, status, priority)
+                    SELECT ?, 'task ' || g, repeat('x', 200), 0, 1
+                    FROM generate_series(1, ?) g
+                    """,
+                    OWNER_ID,
+                    TASKS);
+            h.execute(
+                    "INSERT INTO task (owner_id, title, description, status) VALUES (?, 'a, \"quoted\"', 'multi\nline', 0)",
+                    SMALL_OWNER_ID);
+        });
+    }
+
+    @Test
+    @DisplayName("CSV export escapes delimiters, quotes and line breaks")
+    void csvExport_escapesFields() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exportService.export(SMALL_OWNER_ID, TaskFileFormat.CSV, out);
+
+        String csv = out.toString(StandardCharsets.UTF_8);
+        assertThat(csv).startsWith("id,title,description,status,priority,dueDate,createdAt,updatedAt,version\n");
+        assertThat(csv).contains(",\"a, \"\"quoted\"\"\",\"multi\nline\",OPEN,,,");
+    }
+
+    @Test
+    @DisplayName("NDJSON export streams every row with bounded heap")
+    void ndjsonExport_streamsAllRows() throws Exception {
+        CountingOutputStream out = new CountingOutputStream();
+        Runtime runtime = Runtime.getRuntime();
+        System.gc();
+        long heapBefore = runtime.totalMemory() - runtime.freeMemory();
+
+        long start = System.nanoTime();
+        exportService.export(OWNER_ID, TaskFileFormat.NDJSON, out);
+        long millis = (System.nanoTime() - start) / 1_000_000;
+
+        assertThat(out.lines).isEqualTo(TASKS);
+        log.info(
+                "[bench] export {} tasks as ndjson: {} MB in {}ms, peak heap delta ~{} MB",
+                TASKS,
+                out.bytes >> 20,
+                millis,
+                (out.peakHeap - heapBefore) >> 20);
+    }
+
+    /** Discards output but remembers how much was written and the highest heap usage seen. */
+    private static final class CountingOutputStream extends OutputStream {
+        long bytes;
+        long lines;
+        long peakHeap;
+
+        @Override
+        public void write(int b) {
+            bytes++;
+            if (b == '\n') {
+                lines++;
+            }
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            for (int i = off; i < off + len; i++) {
+                write(b[i]);
+            }
+            Runtime runtime = Runtime.getRuntime();
+            peakHeap = Math.max(peakHeap, runtime.totalMemory() - runtime.freeMemory());
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package org.example.service;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import javax.sql.DataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.example.dto.TaskFileFormat;
+import org.example.dto.TaskImportResponse;
+import org.example.kafka.producer.TaskEventProducer;
+import org.example.model.TaskStatus;
+import org.example.repository.impl.TaskImportRepositoryImpl;
+import org.example.support.PostgresTestDatabase;
+import org.jdbi.v3.core.Jdbi;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+
+/** TaskImportService against PostgreSQL: validation, NDJSON input and COPY throughput. */
+@Slf4j
+@EnabledIfEnvironmentVariable(named = PostgresTestDatabase.URL_ENV, matches = ".+")
+class TaskImportServiceTest {
+
+    private static final int ROWS = 500_000;
+
+    private static Jdbi jdbi;
+    private TaskEventProducer taskEventProducer;
+    private TaskImportService importService;
+
+    @BeforeAll
+    static void setUpDatabase() {
+        DataSource dataSource = PostgresTestDatabase.migratedDataSource();
+        jdbi = PostgresTestDatabase.jdbi(dataSource);
+        jdbi.useHandle(
+                h -> h.execute(
+                        "INSERT INTO app_user(id, username, email, password_hash) VALUES (1, 'a', 'a@x', 'h'), (2, 'b', 'b@x', 'h')"));
+    }
+
+    @BeforeEach
+    void setUp() {
+        taskEventProducer = mock(TaskEventProducer.class);
+        importService = new TaskImportService(
+                new TaskImportRepositoryImpl(jdbi),
+                taskEventProducer,
+                new ObjectMapper().registerModule(new JavaTimeModule()));
+    }
+
+    private static long taskCount() {
+        return jdbi.withHandle(h ->
+                h.createQuery("SELECT COUNT(*) FROM task").mapTo(Long.class).one());
+    }
+
+    @Test
+    @DisplayName("unknown owners reject the whole import and insert nothing")
+    void importTasks_unknownOwner_rejectsAll() {
+        long before = taskCount();
+        String csv = "ownerId,title,description,status,priority,dueDate\n1,ok,,,,\n99,orphan,,,,\n";
+
+        assertThatThrownBy(() -> importService.importTasks(TaskFileFormat.CSV, stream(csv)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("99");
+        assertThat(taskCount()).isEqualTo(before);
+        verifyNoInteractions(taskEventProducer);
+    }
+
+    @Test
+    @DisplayName("NDJSON rows are converted and defaulted to OPEN")
+    void importTasks_ndjson() {
+        String ndjson =
+                """
+                {"ownerId":2,"title":"a, \\"quoted\\"","priority":"HIGH","dueDate":"2030-01-01T00:00:00Z"}
+
+                {"ownerId":2,"title":"b","description":"multi\\nline","status":"IN_PROGRESS"}
+                """;
+
+        TaskImportResponse response = importService.importTasks(TaskFileFormat.NDJSON, stream(ndjson));
+
+        assertThat(response.rows()).isEqualTo(2);
+        verify(taskEventProducer, times(1)).publishTaskCreatedBatch(anyList());
+        List<String> stored = jdbi.withHandle(
+                h -> h.createQuery("SELECT title || '|' || status FROM task WHERE owner_id = 2 ORDER BY id")
+                        .mapTo(String.class)
+                        .list());
+        assertThat(stored)
+                .containsExactly("a, \"quoted\"|" + TaskStatus.OPEN.code(), "b|" + TaskStatus.IN_PROGRESS.code());
+    }
+
+    @Test
+    @DisplayName("CSV COPY import throughput")
+    void importTasks_csvThroughput() {
+        StringBuilder csv = new StringBuilder("ownerId,title,description,status,priority,dueDate\n");
+        for (int i = 0; i < ROWS; i++) {
+            csv.append(1 + i % 2).append(",task ").append(i).append(",imported,OPEN,LOW,2030-01-01T00:00:00Z\n");
+        }
+
+        TaskImportResponse response = importService.importTasks(TaskFileFormat.CSV, stream(csv.toString()));
+
+        assertThat(response.rows()).isEqualTo(ROWS);
+        verify(taskEventProducer, times(ROWS / 1000)).publishTaskCreatedBatch(anyList());
+        log.info(
+                "[bench] COPY import {} tasks: {}ms, {} rows/s (incl. reading back for events)",
+                ROWS,
+                response.elapsedMillis(),
+                response.rowsPerSecond());
+    }
+
+    private static ByteArrayInputStream stream(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
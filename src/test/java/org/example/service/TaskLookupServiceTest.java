@@ -0,0 +1,78 @@
+package org.example.service;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import java.util.Optional;
+import org.example.config.CaffeineConfig;
+import org.example.model.Task;
+import org.example.model.TaskCacheKey;
+import org.example.repository.TaskRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+/** Unit tests for TaskLookupService, using the real Caffeine cache definition. */
+@ExtendWith(MockitoExtension.class)
+class TaskLookupServiceTest {
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    private TaskLookupService taskLookupService;
+
+    @BeforeEach
+    void setUp() {
+        Cache<TaskCacheKey, Task> cache = new CaffeineConfig().taskByOwnerAndIdCache();
+        taskLookupService = new TaskLookupService(taskRepository, cache);
+    }
+
+    private Task task(long ownerId, long taskId) {
+        Task task = new Task();
+        task.setId(taskId);
+        task.setOwnerId(ownerId);
+        return task;
+    }
+
+    @Test
+    @DisplayName("findCached(): second read is served from memory and counted as a hit")
+    void findCached_shouldHitCacheOnSecondRead() {
+        when(taskRepository.findTaskByIdAndOwnerIncludingArchive(7L, 1L)).thenReturn(Optional.of(task(1L, 7L)));
+
+        assertThat(taskLookupService.findCached(1L, 7L)).isPresent();
+        assertThat(taskLookupService.findCached(1L, 7L)).isPresent();
+
+        verify(taskRepository, times(1)).findTaskByIdAndOwnerIncludingArchive(7L, 1L);
+        assertThat(taskLookupService.stats().hitCount()).isEqualTo(1);
+        assertThat(taskLookupService.stats().missCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("findCached(): entries are owner-scoped and unknown tasks are not cached")
+    void findCached_shouldScopeByOwnerAndNotCacheMisses() {
+        when(taskRepository.findTaskByIdAndOwnerIncludingArchive(7L, 1L)).thenReturn(Optional.of(task(1L, 7L)));
+        when(taskRepository.findTaskByIdAndOwnerIncludingArchive(7L, 2L)).thenReturn(Optional.empty());
+
+        assertThat(taskLookupService.findCached(1L, 7L)).isPresent();
+        assertThat(taskLookupService.findCached(2L, 7L)).isEmpty();
+        assertThat(taskLookupService.findCached(2L, 7L)).isEmpty();
+
+        verify(taskRepository, times(2)).findTaskByIdAndOwnerIncludingArchive(7L, 2L);
+    }
+
+    @Test
+    @DisplayName("evict(): the next read goes back to the repository")
+    void evict_shouldForceReload() {
+        when(taskRepository.findTaskByIdAndOwnerIncludingArchive(7L, 1L)).thenReturn(Optional.of(task(1L, 7L)));
+
+        taskLookupService.findCached(1L, 7L);
+        taskLookupService.evict(1L, 7L);
+        taskLookupService.findCached(1L, 7L);
+
+        verify(taskRepository, times(2)).findTaskByIdAndOwnerIncludingArchive(7L, 1L);
+    }
+}
@@ -0,0 +1,148 @@
+package org.example.service;
+
+import static org.assertj.core.api.Assertions.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import javax.sql.DataSource;
+import org.example.config.CaffeineConfig;
+import org.example.dto.CreateTaskRequest;
+import org.example.dto.PatchTaskRequest;
+import org.example.dto.TaskResponse;
+import org.example.dto.UpdateTaskRequest;
+import org.example.dto.UpdateTaskStatusRequest;
+import org.example.kafka.producer.TaskEventProducer;
+import org.example.model.TaskPriority;
+import org.example.model.TaskStatus;
+import org.example.repository.impl.TaskEventOutboxRepositoryImpl;
+import org.example.repository.impl.TaskRepositoryImpl;
+import org.example.support.PostgresTestDatabase;
+import org.jdbi.v3.core.Handle;
+import org.jdbi.v3.core.Jdbi;
+import org.jdbi.v3.core.spi.JdbiPlugin;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.transaction.TransactionManager;
+import org.springframework.transaction.annotation.AnnotationTransactionAttributeSource;
+import org.springframework.transaction.interceptor.TransactionInterceptor;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Pool checkouts per TaskService call against PostgreSQL: every @Transactional call, including the
+ * multi-statement ones (write + outbox event, update miss + lookup), runs on one connection and one Jdbi
+ * Handle.
+ */
+@EnabledIfEnvironmentVariable(named = PostgresTestDatabase.URL_ENV, matches = ".+")
+class TaskServiceConnectionTest {
+
+    private static final long OWNER_ID = 1L;
+
+    private static final AtomicInteger checkouts = new AtomicInteger();
+    private static final AtomicInteger handles = new AtomicInteger();
+
+    private static TaskService taskService;
+
+    @BeforeAll
+    static void setUp() {
+        DataSource pool = PostgresTestDatabase.migratedDataSource();
+        DataSource counting = new DelegatingDataSource(pool) {
+            @Override
+            public Connection getConnection() throws SQLException {
+                checkouts.incrementAndGet();
+                return super.getConnection();
+            }
+        };
+        Jdbi jdbi = PostgresTestDatabase.jdbi(counting);
+        jdbi.installPlugin(new JdbiPlugin() {
+            @Override
+            public Handle customizeHandle(Handle handle) {
+                handles.incrementAndGet();
+                return handle;
+            }
+        });
+        jdbi.useHandle(h -> h.execute(
+                "INSERT INTO app_user(id, username, email, password_hash) VALUES (?, 'a', 'a@x', 'h')", OWNER_ID));
+
+        TaskRepositoryImpl taskRepository = new TaskRepositoryImpl(jdbi);
+        TaskService target = new TaskService(
+                taskRepository,
+                new TaskEventProducer(
+                        new TaskEventOutboxRepositoryImpl(jdbi), new ObjectMapper().findAndRegisterModules()),
+                new TaskLookupService(taskRepository, new CaffeineConfig().taskByOwnerAndIdCache()));
+
+        // what Spring's @Transactional proxy does in the application
+        ProxyFactory proxy = new ProxyFactory(target);
+        proxy.setProxyTargetClass(true);
+        proxy.addAdvice(new TransactionInterceptor(
+                (TransactionManager) new DataSourceTransactionManager(counting),
+                new AnnotationTransactionAttributeSource()));
+        taskService = (TaskService) proxy.getProxy();
+    }
+
+    private static <T> T assertOneConnection(Supplier<T> call) {
+        checkouts.set(0);
+        handles.set(0);
+        T result = call.get();
+        assertThat(checkouts).as("pool checkouts").hasValue(1);
+        assertThat(handles).as("Jdbi handles").hasValue(1);
+        return result;
+    }
+
+    private static TaskResponse createTask(String title) {
+        return assertOneConnection(
+                () -> taskService.createTask(OWNER_ID, new CreateTaskRequest(title, null, TaskPriority.MEDIUM, null)));
+    }
+
+    @Test
+    @DisplayName("single-task writes: the task statement and its outbox event share one connection")
+    void writes_useOneConnection() {
+        long id = createTask("write me").id();
+
+        assertOneConnection(() -> taskService.updateTask(
+                OWNER_ID, id, new UpdateTaskRequest("renamed", null, TaskStatus.OPEN, TaskPriority.HIGH, null)));
+        TaskResponse current = assertOneConnection(() -> taskService.getTask(OWNER_ID, id));
+        assertOneConnection(() -> taskService.patchTask(
+                OWNER_ID, id, new PatchTaskRequest(current.version(), "patched", null, null, null, null)));
+        assertOneConnection(
+                () -> taskService.updateTaskStatus(OWNER_ID, id, new UpdateTaskStatusRequest(TaskStatus.COMPLETED)));
+        assertOneConnection(() -> {
+            taskService.deleteTask(OWNER_ID, id);
+            return null;
+        });
+    }
+
+    @Test
+    @DisplayName("a stale patch (UPDATE miss, then lookup for the 409) runs on one connection")
+    void stalePatch_usesOneConnection() {
+        long id = createTask("patch me").id();
+
+        ResponseStatusException conflict = assertOneConnection(() -> catchThrowableOfType(
+                () -> taskService.patchTask(OWNER_ID, id, new PatchTaskRequest(99L, "late", null, null, null, null)),
+                ResponseStatusException.class));
+        assertThat(conflict.getStatusCode().value()).isEqualTo(409);
+    }
+
+    @Test
+    @DisplayName("batch writes and listings (count + page) run on one connection")
+    void batchAndListing_useOneConnection() {
+        assertOneConnection(() -> taskService.createTasks(
+                OWNER_ID,
+                List.of(
+                        new CreateTaskRequest("b1", null, TaskPriority.LOW, null),
+                        new CreateTaskRequest("b2", null, TaskPriority.LOW, null))));
+
+        assertThat(assertOneConnection(() -> taskService.listTasksForUser(OWNER_ID, PageRequest.of(0, 10)))
+                        .totalElements())
+                .isGreaterThanOrEqualTo(2);
+    }
+}
@@ -0,0 +1,253 @@
+package org.example.service;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import org.example.dto.BatchItemResult;
+import org.example.dto.BatchResponse;
+import org.example.dto.BatchUpdateTaskStatusRequest;
+import org.example.dto.CreateTaskRequest;
+import org.example.dto.PatchTaskRequest;
+import org.example.dto.TaskResponse;
+import org.example.kafka.event.TaskRemovalReason;
+import org.example.kafka.producer.TaskEventProducer;
+import org.example.model.Task;
+import org.example.model.TaskPatch;
+import org.example.model.TaskPriority;
+import org.example.model.TaskStatus;
+import org.example.repository.TaskRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.*;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+/** Unit tests for TaskService. */
+@ExtendWith(MockitoExtension.class)
+class TaskServiceTest {
+
+    private static final long OWNER_ID = 1L;
+    private static final long TASK_ID = 42L;
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private TaskEventProducer taskEventProducer;
+
+    @Mock
+    private TaskLookupService taskLookupService;
+
+    @InjectMocks
+    private TaskService taskService;
+
+    @Captor
+    private ArgumentCaptor<List<Task>> taskList;
+
+    private Task storedTask(long version, TaskStatus status) {
+        Task task = new Task();
+        task.setId(TASK_ID);
+        task.setOwnerId(OWNER_ID);
+        task.setTitle("renamed");
+        task.setStatus(status);
+        task.setVersion(version);
+        return task;
+    }
+
+    // ---------- patchTask ----------
+
+    @Test
+    @DisplayName("patchTask(): writes only supplied fields and returns the new version")
+    void patchTask_shouldPassOnlySuppliedFields() {
+        when(taskRepository.patchTask(eq(TASK_ID), eq(OWNER_ID), eq(3L), any(), any()))
+                .thenReturn(Optional.of(storedTask(4L, TaskStatus.OPEN)));
+
+        TaskResponse response =
+                taskService.patchTask(OWNER_ID, TASK_ID, new PatchTaskRequest(3L, "renamed", null, null, null, null));
+
+        assertThat(response.version()).isEqualTo(4L);
+        ArgumentCaptor<TaskPatch> patch = ArgumentCaptor.forClass(TaskPatch.class);
+        verify(taskRepository).patchTask(eq(TASK_ID), eq(OWNER_ID), eq(3L), patch.capture(), any());
+        assertThat(patch.getValue()).isEqualTo(new TaskPatch("renamed", null, null, null, null));
+        verify(taskEventProducer).publishTaskUpdated(any());
+        verify(taskLookupService).evict(OWNER_ID, TASK_ID);
+    }
+
+    @Test
+    @DisplayName("patchTask(): stale version -> 409 CONFLICT, no event")
+    void patchTask_whenVersionStale_shouldThrowConflict() {
+        when(taskRepository.patchTask(anyLong(), anyLong(), anyLong(), any(), any()))
+                .thenReturn(Optional.empty());
+        when(taskRepository.findTaskByIdAndOwner(TASK_ID, OWNER_ID))
+                .thenReturn(Optional.of(storedTask(5L, TaskStatus.OPEN)));
+
+        assertThatThrownBy(() -> taskService.patchTask(
+                        OWNER_ID, TASK_ID, new PatchTaskRequest(3L, null, null, TaskStatus.COMPLETED, null, null)))
+                .isInstanceOf(ResponseStatusException.class)
+                .extracting(ex -> ((ResponseStatusException) ex).getStatusCode())
+                .isEqualTo(HttpStatus.CONFLICT);
+        verifyNoInteractions(taskEventProducer);
+    }
+
+    @Test
+    @DisplayName("patchTask(): missing task -> 404 NOT_FOUND")
+    void patchTask_whenTaskMissing_shouldThrowNotFound() {
+        when(taskRepository.patchTask(anyLong(), anyLong(), anyLong(), any(), any()))
+                .thenReturn(Optional.empty());
+        when(taskRepository.findTaskByIdAndOwner(TASK_ID, OWNER_ID)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() ->
+                        taskService.patchTask(OWNER_ID, TASK_ID, new PatchTaskRequest(3L, "x", null, null, null, null)))
+                .isInstanceOf(ResponseStatusException.class)
+                .extracting(ex -> ((ResponseStatusException) ex).getStatusCode())
+                .isEqualTo(HttpStatus.NOT_FOUND);
+    }
+
+    @Test
+    @DisplayName("patchTask(): missing version -> IllegalArgumentException (400)")
+    void patchTask_whenVersionMissing_shouldReject() {
+        assertThatThrownBy(() -> taskService.patchTask(
+                        OWNER_ID, TASK_ID, new PatchTaskRequest(null, "x", null, null, null, null)))
+                .isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(taskRepository);
+    }
+
+    // ---------- batch operations ----------
+
+    private static Task task(long id) {
+        Task task = new Task();
+        task.setId(id);
+        task.setOwnerId(OWNER_ID);
+        return task;
+    }
+
+    @Test
+    @DisplayName("createTasks(): invalid items fail in place, valid ones are inserted in one batch in request order")
+    void createTasks_shouldReportInvalidItemsAndKeepOrder() {
+        when(taskRepository.createTasks(anyList())).thenAnswer(inv -> {
+            List<Task> tasks = inv.getArgument(0);
+            for (int i = 0; i < tasks.size(); i++) {
+                tasks.get(i).setId(100L + i);
+            }
+            return tasks;
+        });
+
+        BatchResponse response = taskService.createTasks(
+                OWNER_ID,
+                Arrays.asList(
+                        new CreateTaskRequest("first", null, TaskPriority.HIGH, null),
+                        new CreateTaskRequest(" ", null, TaskPriority.LOW, null),
+                        null,
+                        new CreateTaskRequest("x".repeat(256), null, TaskPriority.LOW, null),
+                        new CreateTaskRequest("no priority", null, null, null),
+                        new CreateTaskRequest("second", "d", TaskPriority.MEDIUM, null)));
+
+        assertThat(response.requested()).isEqualTo(6);
+        assertThat(response.succeeded()).isEqualTo(2);
+        assertThat(response.failed()).isEqualTo(4);
+        assertThat(response.results())
+                .containsExactly(
+                        BatchItemResult.ok(0, 100L),
+                        BatchItemResult.failed(1, null, "title is required"),
+                        BatchItemResult.failed(2, null, "title is required"),
+                        BatchItemResult.failed(3, null, "title must be at most 255 characters"),
+                        BatchItemResult.failed(4, null, "priority is required"),
+                        BatchItemResult.ok(5, 101L));
+
+        verify(taskRepository).createTasks(taskList.capture());
+        List<Task> inserted = taskList.getValue();
+        assertThat(inserted).extracting(Task::getTitle).containsExactly("first", "second");
+        assertThat(inserted).allSatisfy(t -> {
+            assertThat(t.getOwnerId()).isEqualTo(OWNER_ID);
+            assertThat(t.getStatus()).isEqualTo(TaskStatus.OPEN);
+        });
+        verify(taskEventProducer).publishTaskCreatedBatch(inserted);
+    }
+
+    @Test
+    @DisplayName("createTasks(): no valid item -> nothing is inserted or published")
+    void createTasks_whenAllInvalid_shouldNotTouchRepository() {
+        BatchResponse response =
+                taskService.createTasks(OWNER_ID, List.of(new CreateTaskRequest(null, null, TaskPriority.LOW, null)));
+
+        assertThat(response.failed()).isEqualTo(1);
+        verifyNoInteractions(taskRepository, taskEventProducer);
+    }
+
+    @Test
+    @DisplayName("updateTaskStatuses(): missing fields and unknown ids fail per item, results stay in request order")
+    void updateTaskStatuses_shouldReportMissingFieldsAndNotFound() {
+        when(taskRepository.updateTaskStatuses(eq(OWNER_ID), anyList(), anyList(), any()))
+                .thenReturn(List.of(task(30L), task(10L)));
+
+        BatchResponse response = taskService.updateTaskStatuses(
+                OWNER_ID,
+                Arrays.asList(
+                        new BatchUpdateTaskStatusRequest(10L, TaskStatus.COMPLETED),
+                        new BatchUpdateTaskStatusRequest(null, TaskStatus.OPEN),
+                        new BatchUpdateTaskStatusRequest(20L, TaskStatus.IN_PROGRESS),
+                        new BatchUpdateTaskStatusRequest(25L, null),
+                        null,
+                        new BatchUpdateTaskStatusRequest(30L, TaskStatus.OPEN)));
+
+        assertThat(response.results())
+                .containsExactly(
+                        BatchItemResult.ok(0, 10L),
+                        BatchItemResult.failed(1, null, "id is required"),
+                        BatchItemResult.failed(2, 20L, "Task not found"),
+                        BatchItemResult.failed(3, 25L, "status is required"),
+                        BatchItemResult.failed(4, null, "id is required"),
+                        BatchItemResult.ok(5, 30L));
+        verify(taskRepository)
+                .updateTaskStatuses(
+                        eq(OWNER_ID),
+                        eq(List.of(10L, 20L, 30L)),
+                        eq(List.of(TaskStatus.COMPLETED, TaskStatus.IN_PROGRESS, TaskStatus.OPEN)),
+                        any());
+        verify(taskLookupService).evict(OWNER_ID, 10L);
+        verify(taskLookupService).evict(OWNER_ID, 30L);
+        verifyNoMoreInteractions(taskLookupService);
+    }
+
+    @Test
+    @DisplayName("deleteTasks(): null and unknown ids fail per item, only deleted tasks are evicted and published")
+    void deleteTasks_shouldReportNotFoundInRequestOrder() {
+        List<Task> deleted = List.of(task(7L));
+        when(taskRepository.deleteTasks(OWNER_ID, List.of(5L, 7L))).thenReturn(deleted);
+
+        BatchResponse response = taskService.deleteTasks(OWNER_ID, Arrays.asList(5L, null, 7L));
+
+        assertThat(response.results())
+                .containsExactly(
+                        BatchItemResult.failed(0, 5L, "Task not found"),
+                        BatchItemResult.failed(1, null, "id is required"),
+                        BatchItemResult.ok(2, 7L));
+        verify(taskLookupService).evict(OWNER_ID, 7L);
+        verifyNoMoreInteractions(taskLookupService);
+        verify(taskEventProducer).publishTaskRemovedBatch(deleted, TaskRemovalReason.DELETED);
+    }
+
+    @Test
+    @DisplayName("batch operations: empty or more than 1000 items -> IllegalArgumentException (400)")
+    void batchOperations_shouldEnforceSizeLimit() {
+        List<Long> tooMany = new ArrayList<>(Collections.nCopies(1001, 1L));
+
+        assertThatThrownBy(() -> taskService.deleteTasks(OWNER_ID, tooMany))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> taskService.deleteTasks(OWNER_ID, List.of()))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> taskService.createTasks(OWNER_ID, null)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> taskService.updateTaskStatuses(
+                        OWNER_ID, Collections.nCopies(1001, new BatchUpdateTaskStatusRequest(1L, TaskStatus.OPEN))))
+                .isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(taskRepository, taskEventProducer);
+    }
+}
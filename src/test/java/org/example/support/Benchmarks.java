@@ -0,0 +1,42 @@
+package org.example.support;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/** Latency sampling for the opt-in benchmarks; results are reported through each test's logger. */
+public final class Benchmarks {
+
+    private static final int WARM_UP = 20;
+
+    private Benchmarks() {}
+
+    /** Sorted latencies in nanoseconds of {@code iterations} calls, after 20 unmeasured warm-up calls. */
+    public static long[] measure(int iterations, Runnable call) {
+        return measure(WARM_UP, iterations, i -> call.run());
+    }
+
+    /** Like {@link #measure(int, Runnable)}; {@code call} gets the iteration, e.g. to vary its arguments. */
+    public static long[] measure(int warmUp, int iterations, IntConsumer call) {
+        for (int i = 0; i < warmUp; i++) {
+            call.accept(i);
+        }
+        long[] nanos = new long[iterations];
+        for (int i = 0; i < iterations; i++) {
+            long start = System.nanoTime();
+            call.accept(i);
+            nanos[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(nanos);
+        return nanos;
+    }
+
+    /** The given percentile of sorted nanosecond latencies, in milliseconds. */
+    public static double p(long[] sortedNanos, int percentile) {
+        return sortedNanos[Math.min(sortedNanos.length - 1, sortedNanos.length * percentile / 100)] / 1_000_000.0;
+    }
+
+    /** {@code p50=…ms p95=…ms} of sorted nanosecond latencies, for log messages. */
+    public static String percentiles(long[] sortedNanos) {
+        return String.format("p50=%.3fms p95=%.3fms", p(sortedNanos, 50), p(sortedNanos, 95));
+    }
+}
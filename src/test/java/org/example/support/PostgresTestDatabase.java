@@ -0,0 +1,77 @@
+package org.example.support;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import java.util.function.Consumer;
+import javax.sql.DataSource;
+import org.example.config.JdbiConfig;
+import org.flywaydb.core.Flyway;
+import org.jdbi.v3.core.Jdbi;
+import org.postgresql.ds.PGSimpleDataSource;
+
+/**
+ * Opt-in PostgreSQL fixture for tests that need the real planner (EXPLAIN checks, benchmarks).
+ *
+ * <p>Tests using it are annotated with {@code @EnabledIfEnvironmentVariable(named = "TMS_IT_JDBC_URL",
+ * matches = ".+")} and are skipped otherwise, e.g.:
+ *
+ * <pre>
+ * TMS_IT_JDBC_URL=jdbc:postgresql://localhost:5433/tmsdb_dev TMS_IT_USER=tmsuser TMS_IT_PASSWORD=tmspass mvn test
+ * </pre>
+ *
+ * <p>Everything runs inside a dedicated {@code tms_it} schema that is dropped and re-migrated with
+ * the Flyway scripts from {@code db/migration}, so the target database's own tables are untouched.
+ */
+public final class PostgresTestDatabase {
+
+    public static final String URL_ENV = "TMS_IT_JDBC_URL";
+
+    private static final String SCHEMA = "tms_it";
+
+    private PostgresTestDatabase() {}
+
+    /** Fresh, fully migrated schema. */
+    public static DataSource migratedDataSource() {
+        PGSimpleDataSource dataSource = driverDataSource();
+
+        Flyway flyway = Flyway.configure()
+                .dataSource(dataSource)
+                .schemas(SCHEMA)
+                .locations("classpath:db/migration")
+                .cleanDisabled(false)
+                .load();
+        flyway.clean();
+        flyway.migrate();
+
+        return pooled(dataSource);
+    }
+
+    /** Another pool over the schema {@link #migratedDataSource()} set up, with adjusted driver settings. */
+    public static DataSource dataSource(Consumer<PGSimpleDataSource> driverSettings) {
+        PGSimpleDataSource dataSource = driverDataSource();
+        driverSettings.accept(dataSource);
+        return pooled(dataSource);
+    }
+
+    /** Jdbi configured exactly like the application's. */
+    public static Jdbi jdbi(DataSource dataSource) {
+        return new JdbiConfig().jdbi(dataSource);
+    }
+
+    private static PGSimpleDataSource driverDataSource() {
+        PGSimpleDataSource dataSource = new PGSimpleDataSource();
+        dataSource.setURL(System.getenv(URL_ENV));
+        dataSource.setUser(System.getenv().getOrDefault("TMS_IT_USER", "tmsuser"));
+        dataSource.setPassword(System.getenv().getOrDefault("TMS_IT_PASSWORD", "tmspass"));
+        dataSource.setCurrentSchema(SCHEMA);
+        return dataSource;
+    }
+
+    private static DataSource pooled(PGSimpleDataSource dataSource) {
+        // pooled like the application, so measurements are not dominated by connection setup
+        HikariConfig pool = new HikariConfig();
+        pool.setDataSource(dataSource);
+        pool.setMaximumPoolSize(4);
+        return new HikariDataSource(pool);
+    }
+}